@@ -0,0 +1,87 @@
+package com.ucrmp.apigateway.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gateway token handling per secured request. fourParses is what the
+ * AuthenticationFilter used to do: isTokenValid, extractUserId,
+ * extractUsername and extractRoles, each building a parser, decoding the
+ * secret and verifying the HMAC again. verifyOnce is JwtService.verify.
+ * Compare time and gc.alloc.rate.norm per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private String secret;
+    private String token;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        secret = Base64.getEncoder().encodeToString(key);
+        jwtService = new JwtService(secret);
+
+        // Shaped like auth-service's tokens
+        token = Jwts.builder()
+                .setClaims(Map.of("userId", UUID.randomUUID().toString(), "roles", List.of("ROLE_EMPLOYEE")))
+                .setSubject("jane.doe@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24)))
+                .signWith(Keys.hmacShaKeyFor(key), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public void fourParses(Blackhole blackhole) {
+        blackhole.consume(legacyClaim(Claims::getExpiration).before(new Date()));
+        blackhole.consume(UUID.fromString(legacyClaim(claims -> claims.get("userId", String.class))));
+        blackhole.consume(legacyClaim(Claims::getSubject));
+        blackhole.consume(legacyClaim(claims -> claims.get("roles", List.class)));
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    // The previous JwtService.extractClaim: new parser and decoded key on every call
+    private <T> T legacyClaim(Function<Claims, T> resolver) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return resolver.apply(claims);
+    }
+}
@@ -1,7 +1,8 @@
 package com.ucrmp.apigateway.config;
 
 import com.ucrmp.apigateway.filter.AuthenticationFilter;
-import com.ucrmp.apigateway.service.JwtService;
+import com.ucrmp.apigateway.service.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -12,17 +13,26 @@ public class GatewayConfig {
 
     // 1. Inject the FILTER'S dependencies, not the filter itself
     private final RouterValidator routerValidator;
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokens;
 
-    public GatewayConfig(RouterValidator routerValidator, JwtService jwtService) {
+    // Downstream addresses; the defaults are the K8s service names.
+    // Overridden when the services run elsewhere (e.g. the local load-test stack).
+    private final String authServiceUri;
+    private final String claimServiceUri;
+
+    public GatewayConfig(RouterValidator routerValidator, VerifiedTokenCache verifiedTokens,
+                         @Value("${app.routes.auth-service-uri:http://auth-service:8081}") String authServiceUri,
+                         @Value("${app.routes.claim-service-uri:http://claim-service:8082}") String claimServiceUri) {
         this.routerValidator = routerValidator;
-        this.jwtService = jwtService;
+        this.verifiedTokens = verifiedTokens;
+        this.authServiceUri = authServiceUri;
+        this.claimServiceUri = claimServiceUri;
     }
 
     // 2. Create the AuthenticationFilter as a @Bean here
     @Bean
     public AuthenticationFilter authenticationFilter() {
-        return new AuthenticationFilter(routerValidator, jwtService);
+        return new AuthenticationFilter(routerValidator, verifiedTokens);
     }
 
     // 3. Define the routes and use the filter bean
@@ -34,12 +44,12 @@ public class GatewayConfig {
                 .route("auth-service", r -> r.path("/api/v1/auth/**")
                         // STOP using lb:// (Eureka)
                         // START using http://<service-name>:<port> (K8s DNS)
-                        .uri("http://auth-service:8081")) 
+                        .uri(authServiceUri))
                 
                 // --- Route 2: Claim Service (Direct K8s DNS) ---
                 .route("claim-service", r -> r.path("/api/v1/claims/**")
                         .filters(f -> f.filter(authenticationFilter().apply(new AuthenticationFilter.Config())))
-                        .uri("http://claim-service:8082"))
+                        .uri(claimServiceUri))
                 
                 .build();
     }
@@ -1,7 +1,9 @@
 package com.ucrmp.apigateway.filter;
 
 import com.ucrmp.apigateway.config.RouterValidator;
-import com.ucrmp.apigateway.service.JwtService;
+import com.ucrmp.apigateway.service.JwtPrincipal;
+import com.ucrmp.apigateway.service.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -11,19 +13,16 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.UUID;
-
 // This class has NO @Component. It is created as a @Bean in GatewayConfig.
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
     private final RouterValidator validator;
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokens;
     
-    public AuthenticationFilter(RouterValidator validator, JwtService jwtService) {
+    public AuthenticationFilter(RouterValidator validator, VerifiedTokenCache verifiedTokens) {
         super(Config.class);
         this.validator = validator;
-        this.jwtService = jwtService;
+        this.verifiedTokens = verifiedTokens;
     }
 
     @Override
@@ -46,29 +45,23 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
                 String token = authHeader.substring(7);
 
-                // 3. Validate the token
+                // 3. Validate the token and read its claims (cached per token until it expires)
+                JwtPrincipal principal;
                 try {
-                    if (!jwtService.isTokenValid(token)) {
-                        return this.onError(exchange, "Token is not valid", HttpStatus.UNAUTHORIZED);
-                    }
-                } catch (Exception e) {
-                    // This catches expired tokens, malformed tokens, etc.
+                    principal = verifiedTokens.verify(token);
+                } catch (JwtException | IllegalArgumentException e) {
+                    // This catches expired tokens, malformed tokens, bad signatures, etc.
                     return this.onError(exchange, "Token validation failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
                 }
 
-                // 4. Token is valid! Extract claims and add them as headers
-                UUID userId = jwtService.extractUserId(token);
-                String userEmail = jwtService.extractUsername(token);
-                List<String> roles = jwtService.extractRoles(token);
-
-                // 5. Mutate the request to add new headers
+                // 4. Token is valid! Mutate the request to add the claims as headers
                 ServerHttpRequest newRequest = request.mutate()
-                        .header("X-User-Id", userId.toString())
-                        .header("X-User-Email", userEmail)
+                        .header("X-User-Id", principal.userId().toString())
+                        .header("X-User-Email", principal.email())
                         
                         // --- THIS IS THE FIX ---
                         // We now correctly add the roles as a comma-separated string
-                        .header("X-User-Roles", String.join(",", roles))
+                        .header("X-User-Roles", String.join(",", principal.roles()))
                         // -----------------------
                         
                         .build();
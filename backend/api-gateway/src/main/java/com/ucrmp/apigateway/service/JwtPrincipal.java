@@ -0,0 +1,16 @@
+package com.ucrmp.apigateway.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Who a verified token belongs to: everything the gateway forwards to the
+ * services as X-User-* headers, plus when the token stops being valid.
+ */
+public record JwtPrincipal(UUID userId, String email, List<String> roles, Instant expiresAt) {
+
+    public JwtPrincipal {
+        roles = List.copyOf(roles);
+    }
+}
@@ -1,71 +1,56 @@
 package com.ucrmp.apigateway.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
-import java.util.Date;
 import java.util.List;
 import java.util.UUID;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String SECRET_KEY;
+    // Built once: the parser is immutable and thread-safe, and holds the
+    // decoded HMAC key, so a request costs one parse and one signature check
+    private final JwtParser parser;
 
-    // --- Token Validation and Parsing Methods ---
-    public boolean isTokenValid(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            // Log the exception (e.g., malformed token, signature invalid)
-            return false;
-        }
+    public JwtService(@Value("${app.jwt.secret}") String secretKey) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public UUID extractUserId(String token) {
-        String userIdStr = extractClaim(token, claims -> claims.get("userId", String.class));
-        return UUID.fromString(userIdStr);
-    }
+    /**
+     * Verifies the signature and expiry of a token and reads its claims in
+     * a single parse. Throws a JwtException for any token that is not valid
+     * (bad signature, expired, malformed, missing claims).
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
-    @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
-        return extractClaim(token, claims -> claims.get("roles", List.class));
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String userId = claims.get("userId", String.class);
+        String email = claims.getSubject();
+        if (userId == null || email == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token is missing the userId, subject or expiration claim");
+        }
+        try {
+            return new JwtPrincipal(UUID.fromString(userId), email, roles(claims),
+                    claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Token userId is not a UUID", e);
+        }
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static List<String> roles(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream().map(String::valueOf).toList();
     }
-}
\ No newline at end of file
+}
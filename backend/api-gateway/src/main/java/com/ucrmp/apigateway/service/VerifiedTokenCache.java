@@ -0,0 +1,169 @@
+package com.ucrmp.apigateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers tokens JwtService has already verified, so the many requests a
+ * dashboard session makes with one bearer token skip the parse and HMAC
+ * check on the Netty event loop.
+ *
+ * Entries are keyed by the SHA-256 of the whole token (signature included),
+ * so only the exact bytes that were verified hit, and the cache holds no
+ * usable tokens. Each entry expires at its token's exp, and a hit is
+ * checked against the clock as well, so an expired token is never accepted.
+ * Failed verifications are not cached. Reads are lock-free (Caffeine) and
+ * the size is bounded by an estimate of the bytes held.
+ *
+ * Metrics: cache.gets{cache=jwt.verified,result=hit|miss}, cache.size and
+ * cache.evictions for the hit rate; gateway.jwt.verify for the time spent
+ * verifying on misses; gateway.jwt.verify.saved for the verification time
+ * the hits saved (hits times the mean verification time).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Key, node, principal, UUID, Instant and list overhead; strings are added per entry
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final JwtService jwtService;
+    private final Clock clock;
+    private final Cache<TokenDigest, JwtPrincipal> cache;
+    private final Timer verifyTimer;
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final DoubleAdder savedSeconds = new DoubleAdder();
+
+    @Autowired
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.jwt.cache.max-size:16MB}") DataSize maxSize) {
+        this(jwtService, meterRegistry, maxSize, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(JwtService jwtService, MeterRegistry meterRegistry, DataSize maxSize,
+                       Clock clock, Ticker ticker) {
+        this.jwtService = jwtService;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((TokenDigest digest, JwtPrincipal principal) -> weigh(principal))
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+        this.verifyTimer = Timer.builder("gateway.jwt.verify")
+                .description("Time spent verifying tokens that were not cached")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.jwt.verify.saved", savedSeconds, DoubleAdder::sum)
+                .description("Estimated verification time saved by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The principal of a valid token, from the cache when this exact token
+     * was verified before and has not expired. Throws a JwtException for an
+     * invalid token, like JwtService.verify.
+     */
+    public JwtPrincipal verify(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        JwtPrincipal cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(clock.instant())) {
+                savedSeconds.add(meanVerifySeconds());
+                return cached;
+            }
+            cache.invalidate(digest);
+        }
+
+        long start = System.nanoTime();
+        JwtPrincipal principal = jwtService.verify(token);
+        long elapsed = System.nanoTime() - start;
+        verifyTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        verifications.increment();
+        verifyNanos.add(elapsed);
+
+        cache.put(digest, principal);
+        return principal;
+    }
+
+    private double meanVerifySeconds() {
+        long count = verifications.sum();
+        return count == 0 ? 0 : verifyNanos.sum() / (double) count / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static int weigh(JwtPrincipal principal) {
+        int bytes = ENTRY_OVERHEAD_BYTES + 2 * principal.email().length();
+        for (String role : principal.roles()) {
+            bytes += 48 + 2 * role.length();
+        }
+        return bytes;
+    }
+
+    // An entry lives until its token's exp, and is never extended
+    private record UntilTokenExpiry(Clock clock) implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest digest, JwtPrincipal principal, long currentTime) {
+            // Whole seconds, rounded down: an entry may leave early, never late
+            long seconds = Duration.between(clock.instant(), principal.expiresAt()).getSeconds();
+            return TimeUnit.SECONDS.toNanos(Math.max(0, seconds));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest digest, JwtPrincipal principal, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(digest, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest digest, JwtPrincipal principal, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // SHA-256 of the token as four longs: cheap equals/hashCode, 32 bytes of state
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        static TokenDigest of(String token) {
+            ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.ucrmp.apigateway.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private final byte[] key = randomKey();
+
+    private final JwtService jwtService = new JwtService(Base64.getEncoder().encodeToString(key));
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void verify_ValidToken_ReturnsThePrincipal() {
+        // --- Arrange ---
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        String token = token(claims(), expiresAt, key);
+
+        // --- Act ---
+        JwtPrincipal principal = jwtService.verify(token);
+
+        // --- Assert ---
+        assertEquals(userId, principal.userId());
+        assertEquals("jane.doe@example.com", principal.email());
+        assertEquals(List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"), principal.roles());
+        assertEquals(expiresAt, principal.expiresAt());
+    }
+
+    @Test
+    void verify_ExpiredToken_Throws() {
+        // --- Arrange ---
+        String token = token(claims(), Instant.now().minus(1, ChronoUnit.MINUTES), key);
+
+        // --- Act & Assert ---
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void verify_TokenSignedWithAnotherKey_Throws() {
+        // --- Arrange ---
+        String token = token(claims(), Instant.now().plus(1, ChronoUnit.HOURS), randomKey());
+
+        // --- Act & Assert ---
+        assertThrows(SignatureException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void verify_TokenWithoutUserId_Throws() {
+        // --- Arrange ---
+        Map<String, Object> claims = claims();
+        claims.remove("userId");
+        String token = token(claims, Instant.now().plus(1, ChronoUnit.HOURS), key);
+
+        // --- Act & Assert ---
+        assertThrows(JwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void verify_TokenWithoutRoles_ReturnsNoRoles() {
+        // --- Arrange ---
+        Map<String, Object> claims = claims();
+        claims.remove("roles");
+        String token = token(claims, Instant.now().plus(1, ChronoUnit.HOURS), key);
+
+        // --- Act ---
+        JwtPrincipal principal = jwtService.verify(token);
+
+        // --- Assert ---
+        assertEquals(List.of(), principal.roles());
+    }
+
+    private Map<String, Object> claims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId.toString());
+        claims.put("roles", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"));
+        return claims;
+    }
+
+    private static String token(Map<String, Object> claims, Instant expiresAt, byte[] key) {
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("jane.doe@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(key), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+}
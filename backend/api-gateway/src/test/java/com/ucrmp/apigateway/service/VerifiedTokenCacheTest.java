@@ -0,0 +1,135 @@
+package com.ucrmp.apigateway.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-01T10:00:00Z"));
+
+    @Test
+    void verify_SameTokenTwice_VerifiesOnce() {
+        // --- Arrange ---
+        VerifiedTokenCache cache = cache(DataSize.ofMegabytes(1));
+        JwtPrincipal principal = principal(clock.instant().plus(Duration.ofMinutes(10)));
+        when(jwtService.verify("token-a")).thenReturn(principal);
+
+        // --- Act ---
+        JwtPrincipal first = cache.verify("token-a");
+        JwtPrincipal second = cache.verify("token-a");
+
+        // --- Assert ---
+        assertSame(principal, first);
+        assertSame(principal, second);
+        verify(jwtService, times(1)).verify("token-a");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("gateway.jwt.verify").timer().count());
+    }
+
+    @Test
+    void verify_AfterTheTokenExpires_VerifiesAgain() {
+        // --- Arrange ---
+        VerifiedTokenCache cache = cache(DataSize.ofMegabytes(1));
+        when(jwtService.verify("token-a"))
+                .thenReturn(principal(clock.instant().plus(Duration.ofMinutes(10))))
+                .thenThrow(new ExpiredJwtException(null, null, "expired"));
+        cache.verify("token-a");
+
+        // --- Act ---
+        clock.advance(Duration.ofMinutes(10).plusSeconds(1));
+
+        // --- Assert ---
+        assertThrows(ExpiredJwtException.class, () -> cache.verify("token-a"));
+        verify(jwtService, times(2)).verify("token-a");
+    }
+
+    @Test
+    void verify_InvalidToken_IsNotCached() {
+        // --- Arrange ---
+        VerifiedTokenCache cache = cache(DataSize.ofMegabytes(1));
+        when(jwtService.verify("forged")).thenThrow(new MalformedJwtException("bad"));
+
+        // --- Act & Assert ---
+        assertThrows(MalformedJwtException.class, () -> cache.verify("forged"));
+        assertThrows(MalformedJwtException.class, () -> cache.verify("forged"));
+        verify(jwtService, times(2)).verify("forged");
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void verify_ManyTokens_StaysWithinTheSizeBound() {
+        // --- Arrange ---
+        VerifiedTokenCache cache = cache(DataSize.ofKilobytes(4));
+        JwtPrincipal principal = principal(clock.instant().plus(Duration.ofMinutes(10)));
+        when(jwtService.verify(anyString())).thenReturn(principal);
+
+        // --- Act ---
+        for (int i = 0; i < 1000; i++) {
+            cache.verify("token-" + i);
+        }
+
+        // --- Assert ---
+        assertTrue(cache.estimatedSize() <= 4096 / 256, "entries: " + cache.estimatedSize());
+    }
+
+    private VerifiedTokenCache cache(DataSize maxSize) {
+        // The cache's ticker follows the test clock
+        return new VerifiedTokenCache(jwtService, meterRegistry, maxSize, clock,
+                () -> clock.instant().toEpochMilli() * 1_000_000);
+    }
+
+    private static JwtPrincipal principal(Instant expiresAt) {
+        return new JwtPrincipal(UUID.randomUUID(), "jane.doe@example.com", List.of("ROLE_EMPLOYEE"), expiresAt);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
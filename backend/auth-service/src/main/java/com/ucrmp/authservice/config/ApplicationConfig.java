@@ -1,10 +1,17 @@
 package com.ucrmp.authservice.config;
 
 import com.ucrmp.authservice.repository.UserRepository;
+import com.ucrmp.authservice.service.AuthenticatedUser;
+import com.ucrmp.authservice.service.BoundedPasswordEncoder;
+import com.ucrmp.authservice.service.PasswordUpgradeService;
+import com.ucrmp.authservice.service.UserDetailsCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +21,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.stream.Collectors;
 
@@ -26,11 +34,37 @@ public class ApplicationConfig {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Cache-first user lookups, for the JWT filter's database mode.
+     */
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsService userDetailsService(UserDetailsCache userDetailsCache) {
+        CachingUserDetailsService cachingUserDetailsService = new CachingUserDetailsService(databaseUserDetailsService());
+        cachingUserDetailsService.setUserCache(userDetailsCache);
+        return cachingUserDetailsService;
+    }
+
+    /**
+     * Logins check the cache first too; the provider retries a password
+     * mismatch against a fresh database load in case the entry was stale.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsCache userDetailsCache,
+                                                         PasswordEncoder passwordEncoder,
+                                                         PasswordUpgradeService passwordUpgradeService) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        authProvider.setUserDetailsService(databaseUserDetailsService());
+        authProvider.setUserCache(userDetailsCache);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehashes a user's password at login when it is below the current cost
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService);
+        return authProvider;
+    }
+
+    private UserDetailsService databaseUserDetailsService() {
         return username -> {
-            // 1. Fetch User from DB
-            com.ucrmp.authservice.entity.User user = userRepository.findByEmail(username)
+            // 1. Fetch User and their roles from DB in one query
+            com.ucrmp.authservice.entity.User user = userRepository.findWithRolesByEmail(username)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
 
             // 2. Map Roles to Authorities
@@ -38,30 +72,34 @@ public class ApplicationConfig {
                     .map(role -> new SimpleGrantedAuthority(role.getName()))
                     .collect(Collectors.toList());
 
-            // 3. Return Spring Security User object
-            return new org.springframework.security.core.userdetails.User(
+            // 3. Return our Spring Security user, which also carries the user id
+            return new AuthenticatedUser(
+                    user.getId(),
                     user.getEmail(),
-                    user.getPasswordHash(), // Assuming this is your getter for the password
+                    user.getPasswordHash(),
                     authorities
             );
         };
     }
 
-    @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt at app.auth.bcrypt.strength, run on a bounded pool of its own
+     * (see BoundedPasswordEncoder). By default the pool leaves one core free
+     * for everything else, health probes included.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.auth.bcrypt.strength:10}") int strength,
+                                           @Value("${app.auth.password-hashing.threads:0}") int threads,
+                                           @Value("${app.auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.auth.password-hashing.retry-after:PT1S}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry,
+                poolSize, queueCapacity, retryAfter);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +12,7 @@ import com.ucrmp.authservice.entity.Role;
 import com.ucrmp.authservice.entity.User;
 import com.ucrmp.authservice.repository.RoleRepository;
 import com.ucrmp.authservice.repository.UserRepository;
+import com.ucrmp.authservice.service.RolesChangedEvent;
 
 import java.util.Set;
 
@@ -23,6 +25,7 @@ public class DataSeeder implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- NEW: Read admin credentials from application.properties ---
     @Value("${app.admin.email}")
@@ -34,10 +37,12 @@ public class DataSeeder implements CommandLineRunner {
     // --- NEW: Updated Constructor ---
     public DataSeeder(RoleRepository roleRepository,
                         UserRepository userRepository,
-                        PasswordEncoder passwordEncoder) {
+                        PasswordEncoder passwordEncoder,
+                        ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,6 +54,7 @@ public class DataSeeder implements CommandLineRunner {
             Role employeeRole = new Role("ROLE_EMPLOYEE");
             roleRepository.save(adminRole);
             roleRepository.save(employeeRole);
+            eventPublisher.publishEvent(new RolesChangedEvent());
             log.info("Default roles seeded.");
         } else {
             log.info("Roles table already populated. Skipping role seeding.");
@@ -28,7 +28,8 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             
             .authorizeHttpRequests(auth -> auth
-                // 1. ALLOW ALL AUTH ENDPOINTS
+                // 1. ALLOW ALL AUTH ENDPOINTS, except revoking your own tokens
+                .requestMatchers("/api/v1/auth/tokens/revoke").authenticated()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 
                 // 2. ALLOW ERROR PAGE (Fixes 403 on crashes)
@@ -44,6 +44,17 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Revokes every token the caller holds, including the one used for this
+     * request. Requires authentication (see SecurityConfig).
+     */
+    @PostMapping("/tokens/revoke")
+    public ResponseEntity<Void> revokeTokens(Authentication authentication) {
+        log.info("Received POST request for /tokens/revoke by user: {}", authentication.getName());
+        authService.revokeTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * A secured test endpoint to verify JWT authentication.
      */
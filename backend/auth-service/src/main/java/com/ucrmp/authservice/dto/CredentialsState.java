@@ -0,0 +1,10 @@
+package com.ucrmp.authservice.dto;
+
+import java.time.Instant;
+
+/**
+ * When a user's credentials last changed; null if they never have.
+ * Read by UserRepository.findCredentialsStateById.
+ */
+public record CredentialsState(Instant changedAt) {
+}
@@ -0,0 +1,19 @@
+package com.ucrmp.authservice.exception;
+
+import java.time.Duration;
+
+// Thrown when the password hashing pool and its queue are full; the
+// GlobalExceptionHandler turns it into a 503 with a Retry-After header
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
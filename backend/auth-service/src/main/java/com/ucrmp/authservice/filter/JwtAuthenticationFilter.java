@@ -1,11 +1,16 @@
 package com.ucrmp.authservice.filter;
 
+import com.ucrmp.authservice.service.CredentialsChangeCache;
+import com.ucrmp.authservice.service.JwtPrincipal;
 import com.ucrmp.authservice.service.JwtService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,12 +23,30 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * How a bearer token becomes an Authentication (app.jwt.authentication-mode).
+     */
+    public enum Mode {
+        // Principal and roles straight from the verified claims, plus the cached
+        // CredentialsChangeCache check: no user or roles query per request
+        STATELESS,
+        // Loads the user and their roles from the database on every request
+        DATABASE
+    }
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final CredentialsChangeCache credentialsChangeCache;
+    private final Mode mode;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   CredentialsChangeCache credentialsChangeCache,
+                                   @Value("${app.jwt.authentication-mode:stateless}") Mode mode) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.credentialsChangeCache = credentialsChangeCache;
+        this.mode = mode;
     }
 
     @Override
@@ -43,35 +66,65 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 3. Extract the token (the string after "Bearer ")
         final String jwt = authHeader.substring(7);
 
-        // 4. Extract the user's email from the token
-        final String userEmail = jwtService.extractUsername(jwt);
+        // 4. Authenticate unless an earlier filter already has
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = mode == Mode.STATELESS
+                    ? authenticateFromClaims(jwt)
+                    : authenticateFromDatabase(jwt);
 
-        // 5. Check if email exists and if user is not already authenticated
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            // 6. Load the user's details from the database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-            // 7. Validate the token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                
-                // 8. If valid, create an authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null, // We don't need credentials
-                        userDetails.getAuthorities()
-                );
-                
+            if (authToken != null) {
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
 
-                // 9. Set the authentication in the SecurityContext
+                // 5. Set the authentication in the SecurityContext
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
-        
-        // 10. Pass the request to the next filter
+
+        // 6. Pass the request to the next filter
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the authentication from the token alone. An invalid, expired or
+     * revoked token leaves the request anonymous, so secured endpoints reject it.
+     */
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(String jwt) {
+        JwtPrincipal principal;
+        try {
+            principal = jwtService.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!credentialsChangeCache.isCurrent(principal)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null, // We don't need credentials
+                principal.roles().stream().map(SimpleGrantedAuthority::new).toList()
+        );
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(String jwt) {
+        // Extract the user's email from the token
+        final String userEmail = jwtService.extractUsername(jwt);
+        if (userEmail == null) {
+            return null;
+        }
+
+        // Load the user's details from the database
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+
+        // Validate the token
+        if (!jwtService.isTokenValid(jwt, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null, // We don't need credentials
+                userDetails.getAuthorities()
+        );
+    }
+}
@@ -2,8 +2,11 @@ package com.ucrmp.authservice.handler;
 
 import com.ucrmp.authservice.dto.ErrorResponse;
 import com.ucrmp.authservice.exception.EmailAlreadyExistsException;
+import com.ucrmp.authservice.exception.PasswordHashingBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -45,6 +48,37 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    // Password hashing pool saturated (login storm): ask the client to come back shortly
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(
+            PasswordHashingBusyException ex,
+            WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
+    // DaoAuthenticationProvider wraps errors thrown while it loads the user,
+    // which includes its first timing-attack dummy hash
+    @ExceptionHandler(InternalAuthenticationServiceException.class)
+    public ResponseEntity<ErrorResponse> handleInternalAuthenticationServiceException(
+            InternalAuthenticationServiceException ex,
+            WebRequest request) {
+
+        if (ex.getCause() instanceof PasswordHashingBusyException busy) {
+            return handlePasswordHashingBusyException(busy, request);
+        }
+        return handleGlobalException(ex, request);
+    }
+
     // A fallback handler for all other RuntimeExceptions
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(
@@ -1,7 +1,12 @@
 package com.ucrmp.authservice.repository;
 
+import com.ucrmp.authservice.dto.CredentialsState;
 import com.ucrmp.authservice.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +18,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     // Spring Data JPA will automatically create the query for this method
     // based on its name: "find by email"
     Optional<User> findByEmail(String email);
+
+    // The user and their roles in one query, for authentication
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    // Rehash-on-login (PasswordUpgradeService); not a credentials change
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.email = :email")
+    int updatePasswordHashByEmail(@Param("email") String email, @Param("passwordHash") String passwordHash);
+
+    // Only the revocation timestamp: no roles join, no password hash
+    @Query("SELECT new com.ucrmp.authservice.dto.CredentialsState(u.credentialsChangedAt) FROM User u WHERE u.id = :id")
+    Optional<CredentialsState> findCredentialsStateById(@Param("id") UUID id);
 }
\ No newline at end of file
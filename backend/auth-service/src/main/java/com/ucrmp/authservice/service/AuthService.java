@@ -8,4 +8,6 @@ public interface AuthService {
     void registerUser(RegisterRequest registerRequest);
 
     LoginResponse loginUser(LoginRequest loginRequest); 
+
+    void revokeTokens(String email);
 }
\ No newline at end of file
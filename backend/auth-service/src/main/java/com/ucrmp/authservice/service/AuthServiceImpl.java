@@ -13,15 +13,17 @@ import com.ucrmp.authservice.exception.EmailAlreadyExistsException;
 import com.ucrmp.authservice.repository.RoleRepository;
 import com.ucrmp.authservice.repository.UserRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -37,6 +39,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Create a logger instance for this class
     private static final Logger log = LoggerFactory.getLogger(AuthServiceImpl.class);
@@ -46,12 +49,14 @@ public class AuthServiceImpl implements AuthService {
                            RoleRepository roleRepository,
                            PasswordEncoder passwordEncoder,
                            AuthenticationManager authenticationManager,
-                           JwtService jwtService) {
+                           JwtService jwtService,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -87,6 +92,7 @@ public class AuthServiceImpl implements AuthService {
 
         // Step 5: Save the fully prepared User entity to the database.
         userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserChangedEvent(newUser.getId(), newUser.getEmail()));
         log.info("User registered successfully: {}", newUser.getEmail());
     }
 
@@ -106,37 +112,41 @@ public class AuthServiceImpl implements AuthService {
                 )
         );
 
-        // Step 2: If authentication is successful, fetch our full User entity.
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found after authentication"));
+        // Step 2: If authentication is successful, the principal is the user
+        // it loaded (or found in the UserDetailsCache); no second query.
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
 
         // Step 3: Extract details for the token.
-        UUID userId = user.getId();
-        String username = user.getEmail();
-        Collection<? extends GrantedAuthority> authorities = buildUserDetails(user).getAuthorities();
+        UUID userId = user.getUserId();
+        String username = user.getUsername();
+        Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
 
         // Step 4: Generate a JWT token with custom claims (User ID and Roles).
         String token = jwtService.generateToken(userId, username, authorities);
 
-        log.info("Login successful, token generated for user: {}", user.getEmail());
+        log.info("Login successful, token generated for user: {}", username);
         
         // Step 5: Return the token.
         return new LoginResponse(token);
     }
 
     /**
-     * Helper method to convert our custom User entity into Spring Security's
-     * UserDetails object.
+     * Signs the user out everywhere: every token issued before now stops
+     * being accepted in stateless mode (see CredentialsChangeCache).
      */
-    private UserDetails buildUserDetails(User user) {
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPasswordHash())
-                .authorities(
-                    user.getRoles().stream()
-                        .map(role -> role.getName())
-                        .toArray(String[]::new)
-                )
-                .build();
+    @Override
+    public void revokeTokens(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found: " + email));
+
+        // Token iat has whole-second precision, so a token issued earlier in
+        // this second carries this second as its iat: the cutoff is the next
+        // second. A login later in this same second gets an already revoked
+        // token and has to be retried.
+        user.setCredentialsChangedAt(Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1));
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+
+        log.info("Revoked all tokens issued before now for user: {}", email);
     }
-}
\ No newline at end of file
+}
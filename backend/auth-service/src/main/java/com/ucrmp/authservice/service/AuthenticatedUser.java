@@ -0,0 +1,27 @@
+package com.ucrmp.authservice.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A Spring Security user that also carries our user id, so code holding the
+ * authenticated principal (e.g. AuthServiceImpl.loginUser) needs no second
+ * lookup to issue a token.
+ */
+public class AuthenticatedUser extends User {
+
+    private final UUID userId;
+
+    public AuthenticatedUser(UUID userId, String email, String passwordHash,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(email, passwordHash, authorities);
+        this.userId = userId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+}
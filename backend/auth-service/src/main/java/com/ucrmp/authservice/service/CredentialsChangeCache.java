@@ -0,0 +1,77 @@
+package com.ucrmp.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ucrmp.authservice.dto.CredentialsState;
+import com.ucrmp.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The revocation check for stateless authentication: a token is still good
+ * if its user exists and it was issued at or after the user's
+ * credentials_changed_at, which is rounded up to a whole second because iat
+ * has no fraction. The timestamps are cached per user, so a busy user
+ * costs one primary-key lookup per TTL rather than one per request.
+ *
+ * A change made on this instance takes effect once its UserChangedEvent commits;
+ * one made on another replica is picked up within the TTL.
+ */
+@Component
+public class CredentialsChangeCache {
+
+    private final LoadingCache<UUID, Optional<CredentialsState>> states;
+
+    @Autowired
+    public CredentialsChangeCache(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.jwt.credentials-cache.ttl:PT30S}") Duration ttl,
+                                  @Value("${app.jwt.credentials-cache.max-size:100000}") long maxSize) {
+        this(userRepository, meterRegistry, ttl, maxSize, Ticker.systemTicker());
+    }
+
+    CredentialsChangeCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                           Duration ttl, long maxSize, Ticker ticker) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build(userRepository::findCredentialsStateById);
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "jwt.credentials");
+    }
+
+    /**
+     * False if the token's user no longer exists, or changed their
+     * credentials after the token was issued.
+     */
+    public boolean isCurrent(JwtPrincipal principal) {
+        Optional<CredentialsState> state = states.get(principal.userId());
+        if (state.isEmpty()) {
+            return false;
+        }
+        return state.get().changedAt() == null || !principal.issuedAt().isBefore(state.get().changedAt());
+    }
+
+    /**
+     * Drops the cached state of a user whose credentials just changed.
+     * Call after the change is committed.
+     */
+    public void invalidate(UUID userId) {
+        states.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
@@ -0,0 +1,24 @@
+package com.ucrmp.authservice.service;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The user a verified token speaks for, read from its claims alone. This is
+ * the Authentication principal in stateless mode (see JwtAuthenticationFilter);
+ * getName() is the email, like the username of a database-loaded user.
+ */
+public record JwtPrincipal(UUID userId, String email, List<String> roles, Instant issuedAt, Instant expiresAt)
+        implements Principal {
+
+    public JwtPrincipal {
+        roles = List.copyOf(roles);
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
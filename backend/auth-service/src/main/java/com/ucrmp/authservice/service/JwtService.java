@@ -1,7 +1,9 @@
 package com.ucrmp.authservice.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -14,6 +16,7 @@ import java.security.Key;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
@@ -22,9 +25,16 @@ import java.util.stream.Collectors;
 @Service
 public class JwtService {
 
-    // Inject the secret key from application.properties
-    @Value("${app.jwt.secret}")
-    private String SECRET_KEY;
+    // Decoded once from app.jwt.secret; the parser is immutable and thread-safe
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${app.jwt.secret}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
 
     // --- Token Generation ---
  // --- Token Generation ---
@@ -49,7 +59,7 @@ public class JwtService {
                 .setSubject(username) // This is the user's email
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // 24 hours
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -76,17 +86,30 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies a token's signature and expiry and reads all of its claims in
+     * one parse. Throws a JwtException for any token that is not valid,
+     * including one missing the userId, subject, iat or exp claim.
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = extractAllClaims(token);
+
+        String userId = claims.get("userId", String.class);
+        if (userId == null || claims.getSubject() == null
+                || claims.getIssuedAt() == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token is missing the userId, subject, iat or exp claim");
+        }
+        List<?> roles = claims.get("roles", List.class);
+        try {
+            return new JwtPrincipal(UUID.fromString(userId), claims.getSubject(),
+                    roles == null ? List.of() : roles.stream().map(String::valueOf).toList(),
+                    claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Token userId is not a UUID", e);
+        }
     }
 
-    // --- Helper Method ---
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.ucrmp.authservice.service;
+
+import com.ucrmp.authservice.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rehash-on-login. After a successful login DaoAuthenticationProvider asks
+ * the PasswordEncoder whether the stored hash is weaker than the configured
+ * cost (app.auth.bcrypt.strength); if so it rehashes the password the user
+ * just typed and hands the new hash to updatePassword. Raising the cost
+ * therefore needs no reset: each user is migrated on their next login.
+ *
+ * This is not a credentials change: existing tokens stay valid.
+ */
+@Service
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PasswordUpgradeService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHashByEmail(user.getUsername(), newPassword);
+        log.info("Upgraded the password hash of user: {}", user.getUsername());
+
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) user;
+        // Drops the cached user and its old hash once this commits
+        eventPublisher.publishEvent(new UserChangedEvent(authenticatedUser.getUserId(), user.getUsername()));
+        return new AuthenticatedUser(authenticatedUser.getUserId(), user.getUsername(), newPassword,
+                user.getAuthorities());
+    }
+}
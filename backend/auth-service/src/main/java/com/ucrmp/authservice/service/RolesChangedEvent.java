@@ -0,0 +1,4 @@
+package com.ucrmp.authservice.service;
+
+// Published when the roles table changes; every cached user's authorities may be stale
+public record RolesChangedEvent() {}
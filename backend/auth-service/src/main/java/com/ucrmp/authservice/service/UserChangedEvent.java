@@ -0,0 +1,7 @@
+package com.ucrmp.authservice.service;
+
+import java.util.UUID;
+
+// Published when a user's credentials, roles or profile change; the caches
+// keyed by that user drop their entry once the change has committed
+public record UserChangedEvent(UUID userId, String email) {}
@@ -0,0 +1,99 @@
+package com.ucrmp.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recently loaded users, by email, so logins and database-mode filter passes
+ * skip the user and roles queries. Plugged into Spring Security as its
+ * UserCache (see ApplicationConfig). On a password mismatch against a cached
+ * user, DaoAuthenticationProvider reloads the user from the database and
+ * checks again, so a stale entry never locks anyone out.
+ *
+ * Entries are immutable snapshots and every read returns a new
+ * AuthenticatedUser. Spring Security erases the password of the user it
+ * authenticates, and that must not reach the cached copy.
+ *
+ * A user is dropped when a UserChangedEvent for them commits; everyone is
+ * dropped on a RolesChangedEvent. Changes made on another replica, or
+ * directly in the database, are picked up within the TTL.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final Cache<String, Snapshot> users;
+
+    @Autowired
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${app.auth.user-cache.ttl:PT1M}") Duration ttl,
+                            @Value("${app.auth.user-cache.max-size:10000}") long maxSize) {
+        this(meterRegistry, ttl, maxSize, Ticker.systemTicker());
+    }
+
+    UserDetailsCache(MeterRegistry meterRegistry, Duration ttl, long maxSize, Ticker ticker) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "auth.users");
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        Snapshot snapshot = users.getIfPresent(username);
+        return snapshot == null ? null : snapshot.toUser();
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        // Only our own users carry the id a cached copy must keep
+        if (user instanceof AuthenticatedUser authenticatedUser && user.getPassword() != null) {
+            users.put(user.getUsername(), Snapshot.of(authenticatedUser));
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        removeUserFromCache(event.email());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        users.invalidateAll();
+    }
+
+    private record Snapshot(UUID userId, String email, String passwordHash, List<String> roles) {
+
+        static Snapshot of(AuthenticatedUser user) {
+            return new Snapshot(user.getUserId(), user.getUsername(), user.getPassword(),
+                    user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        }
+
+        AuthenticatedUser toUser() {
+            return new AuthenticatedUser(userId, email, passwordHash,
+                    roles.stream().map(SimpleGrantedAuthority::new).toList());
+        }
+    }
+}
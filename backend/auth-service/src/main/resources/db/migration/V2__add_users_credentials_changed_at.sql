@@ -0,0 +1,4 @@
+-- V2__add_users_credentials_changed_at.sql
+-- Tokens issued before a user's credentials_changed_at are no longer accepted.
+-- NULL until the user first changes their password or revokes their tokens.
+ALTER TABLE users ADD COLUMN credentials_changed_at TIMESTAMP NULL;
@@ -0,0 +1,132 @@
+package com.ucrmp.authservice.filter;
+
+import com.ucrmp.authservice.service.CredentialsChangeCache;
+import com.ucrmp.authservice.service.JwtPrincipal;
+import com.ucrmp.authservice.service.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private CredentialsChangeCache credentialsChangeCache;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ValidToken_AuthenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+        // --- Arrange ---
+        JwtPrincipal principal = principal();
+        when(jwtService.verify("token-a")).thenReturn(principal);
+        when(credentialsChangeCache.isCurrent(principal)).thenReturn(true);
+
+        // --- Act ---
+        filter(JwtAuthenticationFilter.Mode.STATELESS).doFilter(request("token-a"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // --- Assert ---
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(principal, authentication.getPrincipal());
+        assertEquals("jane.doe@example.com", authentication.getName());
+        assertEquals(List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessMode_RevokedToken_LeavesTheRequestAnonymous() throws Exception {
+        // --- Arrange ---
+        JwtPrincipal principal = principal();
+        when(jwtService.verify("token-a")).thenReturn(principal);
+        when(credentialsChangeCache.isCurrent(principal)).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        // --- Act ---
+        filter(JwtAuthenticationFilter.Mode.STATELESS).doFilter(request("token-a"),
+                new MockHttpServletResponse(), chain);
+
+        // --- Assert ---
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest(), "the request should continue down the chain");
+    }
+
+    @Test
+    void statelessMode_ExpiredToken_LeavesTheRequestAnonymous() throws Exception {
+        // --- Arrange ---
+        when(jwtService.verify("token-a")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        // --- Act ---
+        filter(JwtAuthenticationFilter.Mode.STATELESS).doFilter(request("token-a"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // --- Assert ---
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(credentialsChangeCache);
+    }
+
+    @Test
+    void databaseMode_ValidToken_AuthenticatesTheLoadedUser() throws Exception {
+        // --- Arrange ---
+        UserDetails userDetails = User.withUsername("jane.doe@example.com")
+                .password("hash")
+                .authorities("ROLE_EMPLOYEE")
+                .build();
+        when(jwtService.extractUsername("token-a")).thenReturn("jane.doe@example.com");
+        when(userDetailsService.loadUserByUsername("jane.doe@example.com")).thenReturn(userDetails);
+        when(jwtService.isTokenValid("token-a", userDetails)).thenReturn(true);
+
+        // --- Act ---
+        filter(JwtAuthenticationFilter.Mode.DATABASE).doFilter(request("token-a"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        // --- Assert ---
+        assertSame(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(credentialsChangeCache);
+    }
+
+    private JwtAuthenticationFilter filter(JwtAuthenticationFilter.Mode mode) {
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, credentialsChangeCache, mode);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/hello");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static JwtPrincipal principal() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        return new JwtPrincipal(UUID.randomUUID(), "jane.doe@example.com", List.of("ROLE_EMPLOYEE", "ROLE_ADMIN"),
+                now, now.plus(1, ChronoUnit.HOURS));
+    }
+}
@@ -1,20 +1,35 @@
 package com.ucrmp.authservice.service;
 
 // Import all the necessary classes
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ucrmp.authservice.dto.CredentialsState;
+import com.ucrmp.authservice.dto.LoginRequest;
+import com.ucrmp.authservice.dto.LoginResponse;
 import com.ucrmp.authservice.dto.RegisterRequest;
 import com.ucrmp.authservice.entity.Role;
 import com.ucrmp.authservice.entity.User;
 import com.ucrmp.authservice.repository.RoleRepository;
 import com.ucrmp.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +49,12 @@ class AuthServiceImplTest {
     private RoleRepository roleRepository;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     // --- The Class Under Test (The Pilot) ---
 
@@ -113,4 +134,73 @@ class AuthServiceImplTest {
         //  was NEVER called." This is crucial.
         verify(userRepository, never()).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void revokeTokens_StampsTheChangeAndPublishesIt() {
+        // 1. ARRANGE
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        Instant before = Instant.now().minusSeconds(1);
+
+        // 2. ACT
+        authService.revokeTokens("test@example.com");
+
+        // 3. ASSERT
+        // The change is stamped in whole seconds, like a token's iat,
+        // and announced to the caches once it is saved.
+        assertNotNull(user.getCredentialsChangedAt());
+        assertEquals(0, user.getCredentialsChangedAt().getNano());
+        assertTrue(user.getCredentialsChangedAt().isAfter(before));
+        InOrder inOrder = inOrder(userRepository, eventPublisher);
+        inOrder.verify(userRepository).save(user);
+        inOrder.verify(eventPublisher).publishEvent(new UserChangedEvent(user.getId(), "test@example.com"));
+    }
+
+    @Test
+    void revokeTokens_TokenIssuedEarlierInTheSameSecond_IsRejected() {
+        // 1. ARRANGE
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        // Issued just before the revocation; iat drops the fraction of the second
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        JwtPrincipal token = new JwtPrincipal(user.getId(), "test@example.com", List.of("ROLE_EMPLOYEE"),
+                issuedAt, issuedAt.plusSeconds(3600));
+
+        // 2. ACT
+        authService.revokeTokens("test@example.com");
+
+        // 3. ASSERT
+        when(userRepository.findCredentialsStateById(user.getId()))
+                .thenReturn(Optional.of(new CredentialsState(user.getCredentialsChangedAt())));
+        CredentialsChangeCache cache = new CredentialsChangeCache(userRepository, new SimpleMeterRegistry(),
+                Duration.ofSeconds(30), 1000, Ticker.systemTicker());
+        assertFalse(cache.isCurrent(token));
+    }
+
+    @Test
+    void loginUser_ReusesTheAuthenticatedPrincipal() {
+        // 1. ARRANGE
+        // The authentication manager hands back the user it loaded.
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("test@example.com");
+        loginRequest.setPassword("password123");
+        UUID userId = UUID.randomUUID();
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"));
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "test@example.com", "hashed_password", authorities);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+        when(jwtService.generateToken(eq(userId), eq("test@example.com"), any())).thenReturn("jwt-token");
+
+        // 2. ACT
+        LoginResponse response = authService.loginUser(loginRequest);
+
+        // 3. ASSERT
+        // The token comes from the principal: the user is not queried again.
+        assertEquals("jwt-token", response.getToken());
+        verifyNoInteractions(userRepository);
+    }
+}
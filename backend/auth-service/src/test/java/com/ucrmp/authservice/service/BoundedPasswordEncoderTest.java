@@ -0,0 +1,123 @@
+package com.ucrmp.authservice.service;
+
+import com.ucrmp.authservice.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnThePoolAndAreTimed() {
+        // --- Arrange ---
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, Duration.ofSeconds(1));
+
+        // --- Act ---
+        String hash = encoder.encode("password123");
+
+        // --- Assert ---
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_PoolAndQueueFull_RejectsImmediately() throws Exception {
+        // --- Arrange ---
+        // One thread, one queue slot, and a delegate that blocks until released
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), meterRegistry, 1, 1, Duration.ofSeconds(2));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        awaitGauge("auth.password.hash.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitGauge("auth.password.hash.queue.depth", 1);
+
+        // --- Act ---
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+
+        // --- Assert ---
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+        release.countDown();
+        assertEquals("hashed-a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed-b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_DelegateThrows_RethrowsTheSameException() {
+        // --- Arrange ---
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("too long");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(failing, meterRegistry, 1, 1, Duration.ofSeconds(1));
+
+        // --- Act & Assert ---
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("a"));
+    }
+
+    @Test
+    void upgradeEncoding_HashBelowTheConfiguredCost_IsUpgraded() {
+        // --- Arrange ---
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), meterRegistry, 1, 1, Duration.ofSeconds(1));
+
+        // --- Act & Assert ---
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != value) {
+            assertTrue(System.nanoTime() < deadline, name + " never reached " + value);
+            Thread.sleep(5);
+        }
+    }
+}
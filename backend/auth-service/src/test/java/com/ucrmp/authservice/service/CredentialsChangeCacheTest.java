@@ -0,0 +1,108 @@
+package com.ucrmp.authservice.service;
+
+import com.ucrmp.authservice.dto.CredentialsState;
+import com.ucrmp.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialsChangeCacheTest {
+
+    private static final Instant ISSUED_AT = Instant.parse("2024-06-01T10:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final UUID userId = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void isCurrent_TokenIssuedAfterTheChange_IsAccepted() {
+        // --- Arrange ---
+        CredentialsChangeCache cache = cache();
+        when(userRepository.findCredentialsStateById(userId))
+                .thenReturn(Optional.of(new CredentialsState(ISSUED_AT.minusSeconds(60))));
+
+        // --- Act & Assert ---
+        assertTrue(cache.isCurrent(token(ISSUED_AT)));
+        assertTrue(cache.isCurrent(token(ISSUED_AT.minusSeconds(60))), "same second as the change");
+        assertFalse(cache.isCurrent(token(ISSUED_AT.minusSeconds(61))));
+    }
+
+    @Test
+    void isCurrent_UserWithoutChanges_IsAccepted() {
+        // --- Arrange ---
+        CredentialsChangeCache cache = cache();
+        when(userRepository.findCredentialsStateById(userId)).thenReturn(Optional.of(new CredentialsState(null)));
+
+        // --- Act & Assert ---
+        assertTrue(cache.isCurrent(token(ISSUED_AT)));
+    }
+
+    @Test
+    void isCurrent_DeletedUser_IsRejected() {
+        // --- Arrange ---
+        CredentialsChangeCache cache = cache();
+        when(userRepository.findCredentialsStateById(userId)).thenReturn(Optional.empty());
+
+        // --- Act & Assert ---
+        assertFalse(cache.isCurrent(token(ISSUED_AT)));
+    }
+
+    @Test
+    void isCurrent_RepeatedChecks_QueryOncePerTtl() {
+        // --- Arrange ---
+        CredentialsChangeCache cache = cache();
+        when(userRepository.findCredentialsStateById(userId)).thenReturn(Optional.of(new CredentialsState(null)));
+
+        // --- Act ---
+        for (int i = 0; i < 100; i++) {
+            cache.isCurrent(token(ISSUED_AT));
+        }
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.isCurrent(token(ISSUED_AT));
+
+        // --- Assert ---
+        verify(userRepository, times(2)).findCredentialsStateById(userId);
+    }
+
+    @Test
+    void invalidate_AfterARevocation_RejectsOlderTokensImmediately() {
+        // --- Arrange ---
+        CredentialsChangeCache cache = cache();
+        when(userRepository.findCredentialsStateById(userId))
+                .thenReturn(Optional.of(new CredentialsState(null)))
+                .thenReturn(Optional.of(new CredentialsState(ISSUED_AT.plusSeconds(1))));
+        assertTrue(cache.isCurrent(token(ISSUED_AT)));
+
+        // --- Act ---
+        cache.invalidate(userId);
+
+        // --- Assert ---
+        assertFalse(cache.isCurrent(token(ISSUED_AT)));
+    }
+
+    private CredentialsChangeCache cache() {
+        return new CredentialsChangeCache(userRepository, new SimpleMeterRegistry(),
+                Duration.ofSeconds(30), 1000, nanos::get);
+    }
+
+    private JwtPrincipal token(Instant issuedAt) {
+        return new JwtPrincipal(userId, "jane.doe@example.com", List.of("ROLE_EMPLOYEE"),
+                issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ucrmp.authservice.service;
+
+import com.ucrmp.authservice.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradeServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @Test
+    void updatePassword_StoresTheNewHashAndEvictsTheCachedUser() {
+        // --- Arrange ---
+        UUID userId = UUID.randomUUID();
+        AuthenticatedUser user = new AuthenticatedUser(userId, "jane.doe@example.com", "$2a$04$old",
+                List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+
+        // --- Act ---
+        UserDetails upgraded = passwordUpgradeService.updatePassword(user, "$2a$12$new");
+
+        // --- Assert ---
+        verify(userRepository).updatePasswordHashByEmail("jane.doe@example.com", "$2a$12$new");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(userId, "jane.doe@example.com"));
+        AuthenticatedUser authenticatedUser = assertInstanceOf(AuthenticatedUser.class, upgraded);
+        assertEquals(userId, authenticatedUser.getUserId());
+        assertEquals("$2a$12$new", authenticatedUser.getPassword());
+        assertEquals(user.getAuthorities(), authenticatedUser.getAuthorities());
+    }
+}
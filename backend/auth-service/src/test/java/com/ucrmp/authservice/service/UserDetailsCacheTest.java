@@ -0,0 +1,107 @@
+package com.ucrmp.authservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final UserDetailsCache cache = new UserDetailsCache(new SimpleMeterRegistry(),
+            Duration.ofMinutes(1), 1000, nanos::get);
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void getUserFromCache_AfterPut_ReturnsAnEqualCopy() {
+        // --- Arrange ---
+        cache.putUserInCache(user());
+
+        // --- Act ---
+        UserDetails cached = cache.getUserFromCache("jane.doe@example.com");
+
+        // --- Assert ---
+        AuthenticatedUser user = assertInstanceOf(AuthenticatedUser.class, cached);
+        assertEquals(userId, user.getUserId());
+        assertEquals("hash", user.getPassword());
+        assertEquals(List.of("ROLE_EMPLOYEE"),
+                user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void getUserFromCache_AfterTheCallerErasesCredentials_StillHasThePassword() {
+        // --- Arrange ---
+        cache.putUserInCache(user());
+        AuthenticatedUser first = (AuthenticatedUser) cache.getUserFromCache("jane.doe@example.com");
+
+        // --- Act ---
+        // What ProviderManager does to the principal after a login
+        first.eraseCredentials();
+
+        // --- Assert ---
+        assertEquals("hash", cache.getUserFromCache("jane.doe@example.com").getPassword());
+    }
+
+    @Test
+    void putUserInCache_SpringUser_IsNotCached() {
+        // --- Act ---
+        cache.putUserInCache(User.withUsername("jane.doe@example.com").password("hash").authorities("ROLE_EMPLOYEE").build());
+
+        // --- Assert ---
+        assertNull(cache.getUserFromCache("jane.doe@example.com"));
+    }
+
+    @Test
+    void onUserChanged_EvictsThatUserOnly() {
+        // --- Arrange ---
+        cache.putUserInCache(user());
+        cache.putUserInCache(new AuthenticatedUser(UUID.randomUUID(), "john.roe@example.com", "hash", List.of()));
+
+        // --- Act ---
+        cache.onUserChanged(new UserChangedEvent(userId, "jane.doe@example.com"));
+
+        // --- Assert ---
+        assertNull(cache.getUserFromCache("jane.doe@example.com"));
+        assertNotNull(cache.getUserFromCache("john.roe@example.com"));
+    }
+
+    @Test
+    void onRolesChanged_EvictsEveryone() {
+        // --- Arrange ---
+        cache.putUserInCache(user());
+
+        // --- Act ---
+        cache.onRolesChanged(new RolesChangedEvent());
+
+        // --- Assert ---
+        assertNull(cache.getUserFromCache("jane.doe@example.com"));
+    }
+
+    @Test
+    void getUserFromCache_AfterTheTtl_Misses() {
+        // --- Arrange ---
+        cache.putUserInCache(user());
+
+        // --- Act ---
+        nanos.addAndGet(Duration.ofMinutes(1).plusSeconds(1).toNanos());
+
+        // --- Assert ---
+        assertNull(cache.getUserFromCache("jane.doe@example.com"));
+    }
+
+    private AuthenticatedUser user() {
+        return new AuthenticatedUser(userId, "jane.doe@example.com", "hash",
+                List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ucrmp.claimservice.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of List<ClaimResponse>, at the sizes the API
+ * returns: a single claim, a default page, a full page, and an unpaged
+ * history. The ObjectMapper is configured the way Spring Boot configures
+ * it (JavaTimeModule, ISO dates).
+ *
+ * toStream writes to a stream the way the servlet response is written;
+ * toBytes also builds the whole document in memory, which shows up in the
+ * gc profiler's allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimListSerializationBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    public int size;
+
+    private ObjectWriter listWriter;
+    private List<ClaimResponse> claims;
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(new TypeReference<List<ClaimResponse>>() {});
+
+        UUID userId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.now();
+        claims = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ClaimResponse response = new ClaimResponse();
+            response.setId(UUID.randomUUID());
+            response.setUserId(userId);
+            response.setClaimType(ClaimType.TRAVEL);
+            response.setAmount(new BigDecimal("125.40"));
+            response.setStatus(ClaimStatus.SUBMITTED);
+            response.setDescription("Benchmark claim " + i);
+            response.setCreatedAt(createdAt.minusMinutes(i));
+            response.setMetadata("{\"hotelName\":\"Hotel " + i + "\",\"flightNumber\":\"BA" + i + "\"}");
+            response.setVersion(0L);
+            claims.add(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws Exception {
+        return listWriter.writeValueAsBytes(claims);
+    }
+
+    @Benchmark
+    public void toStream() throws Exception {
+        listWriter.writeValue(discard, claims);
+    }
+}
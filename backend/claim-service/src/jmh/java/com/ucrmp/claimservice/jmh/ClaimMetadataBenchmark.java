@@ -0,0 +1,71 @@
+package com.ucrmp.claimservice.jmh;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.service.ClaimMetadataHandler;
+import com.ucrmp.claimservice.service.ClaimMetadataRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metadata step of every claim write (what ClaimServiceImpl's
+ * validateAndConvertMetadata delegates to), for each ClaimType: bind the
+ * request JSON to the type's record, validate it, serialize it for storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimMetadataBenchmark {
+
+    // A typical valid request payload per claim type
+    private static final Map<ClaimType, String> PAYLOADS = Map.of(
+            ClaimType.TRAVEL, "{\"hotelName\":\"Grand Hotel Berlin\",\"flightNumber\":\"LH1234\"}",
+            ClaimType.MEDICAL, "{\"hospitalName\":\"St. Mary's\",\"prescriptionNumber\":\"RX-20931\"}",
+            ClaimType.MEAL, "{\"restaurantName\":\"Trattoria Roma\",\"attendees\":4}",
+            ClaimType.OFFICE_SUPPLIES, "{\"vendorName\":\"Staples\",\"items\":\"2x toner, 5x notebooks\"}",
+            ClaimType.OTHER, "{\"notes\":\"Conference badge reprint\"}");
+
+    @Param
+    public ClaimType claimType;
+
+    private ValidatorFactory validatorFactory;
+    private ClaimMetadataHandler<?> handler;
+    private JsonNode requestMetadata;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        handler = new ClaimMetadataRegistry(objectMapper, validatorFactory.getValidator()).handlerFor(claimType);
+        requestMetadata = objectMapper.readTree(PAYLOADS.get(claimType));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public String validateAndConvert() throws Exception {
+        return handler.validateAndSerialize(requestMetadata);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ucrmp.claimservice.jmh;
+
+import com.ucrmp.claimservice.dto.ClaimMetadata;
+import com.ucrmp.claimservice.model.ClaimType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of the ClaimMetadata records on their own, for a valid
+ * and an invalid instance of each type. Invalid records are the expensive
+ * case: every violation builds its message. OTHER metadata is free-form
+ * and has no constraints, so it is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimMetadataValidationBenchmark {
+
+    @Param({"TRAVEL", "MEDICAL", "MEAL", "OFFICE_SUPPLIES"})
+    public ClaimType claimType;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ClaimMetadata valid;
+    private ClaimMetadata invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        switch (claimType) {
+            case TRAVEL -> {
+                valid = new ClaimMetadata.TravelMetadata("Grand Hotel Berlin", "LH1234");
+                invalid = new ClaimMetadata.TravelMetadata("", null);
+            }
+            case MEDICAL -> {
+                valid = new ClaimMetadata.MedicalMetadata("St. Mary's", "RX-20931");
+                invalid = new ClaimMetadata.MedicalMetadata(" ", "RX");
+            }
+            case MEAL -> {
+                valid = new ClaimMetadata.MealMetadata("Trattoria Roma", 4);
+                invalid = new ClaimMetadata.MealMetadata(null, 0);
+            }
+            case OFFICE_SUPPLIES -> {
+                valid = new ClaimMetadata.OfficeSuppliesMetadata("Staples", "2x toner, 5x notebooks");
+                invalid = new ClaimMetadata.OfficeSuppliesMetadata("", "x".repeat(501));
+            }
+            default -> throw new IllegalArgumentException("No constraints to validate for " + claimType);
+        }
+        if (!validator.validate(valid).isEmpty() || validator.validate(invalid).isEmpty()) {
+            throw new IllegalStateException("Fixtures for " + claimType + " do not match the constraints");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClaimMetadata>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClaimMetadata>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,104 @@
+package com.ucrmp.claimservice.jmh;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ucrmp.claimservice.dto.ClaimMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata handling per claim, before and after the zero-reparse change.
+ *
+ * Write side: ObjectMapper.treeToValue + writeValueAsString versus cached
+ * ObjectReader/ObjectWriter for the typed record.
+ * Read side: parse the stored column into a JsonNode and serialize it again
+ * versus emitting the stored string with @JsonRawValue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataPipelineBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JsonNode requestMetadata;
+    private String storedMetadata;
+
+    private ObjectReader travelReader;
+    private ObjectWriter travelWriter;
+    private ObjectWriter treeResponseWriter;
+    private ObjectWriter rawResponseWriter;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        storedMetadata = "{\"hotelName\":\"Grand Hotel Berlin\",\"flightNumber\":\"LH1234\"}";
+        requestMetadata = objectMapper.readTree(storedMetadata);
+
+        travelReader = objectMapper.readerFor(ClaimMetadata.TravelMetadata.class);
+        travelWriter = objectMapper.writerFor(ClaimMetadata.TravelMetadata.class);
+        treeResponseWriter = objectMapper.writerFor(TreeResponse.class);
+        rawResponseWriter = objectMapper.writerFor(RawResponse.class);
+    }
+
+    // --- Write side ---
+
+    @Benchmark
+    public String writeWithObjectMapper() throws Exception {
+        ClaimMetadata.TravelMetadata metadata =
+                objectMapper.treeToValue(requestMetadata, ClaimMetadata.TravelMetadata.class);
+        return objectMapper.writeValueAsString(metadata);
+    }
+
+    @Benchmark
+    public String writeWithCachedReaderWriter() throws Exception {
+        ClaimMetadata.TravelMetadata metadata = travelReader.readValue(requestMetadata);
+        return travelWriter.writeValueAsString(metadata);
+    }
+
+    // --- Read side ---
+
+    @Benchmark
+    public String readByReparsingColumn() throws Exception {
+        return treeResponseWriter.writeValueAsString(new TreeResponse(objectMapper.readTree(storedMetadata)));
+    }
+
+    @Benchmark
+    public String readRawColumn() throws Exception {
+        return rawResponseWriter.writeValueAsString(new RawResponse(storedMetadata));
+    }
+
+    // Minimal responses holding only the metadata, so the read-side numbers
+    // isolate the metadata cost from the rest of ClaimResponse
+    public static class TreeResponse {
+        private final JsonNode metadata;
+
+        TreeResponse(JsonNode metadata) { this.metadata = metadata; }
+
+        public JsonNode getMetadata() { return metadata; }
+    }
+
+    public static class RawResponse {
+        private final String metadata;
+
+        RawResponse(String metadata) { this.metadata = metadata; }
+
+        @JsonRawValue
+        public String getMetadata() { return metadata; }
+    }
+}
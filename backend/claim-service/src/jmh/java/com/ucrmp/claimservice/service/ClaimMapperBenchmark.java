@@ -0,0 +1,67 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimView;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim to ClaimResponse mapping, from the entity (writes, export) and from
+ * the ClaimView projection (list reads). Lives in the service package
+ * because ClaimMapper is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimMapperBenchmark {
+
+    private Claim claim;
+    private ClaimView view;
+
+    @Setup
+    public void setUp() {
+        claim = new Claim();
+        claim.setId(UUID.randomUUID());
+        claim.setUserId(UUID.randomUUID());
+        claim.setClaimType(ClaimType.TRAVEL);
+        claim.setAmount(new BigDecimal("125.40"));
+        claim.setStatus(ClaimStatus.SUBMITTED);
+        claim.setDescription("Flight to the Berlin office");
+        claim.setCreatedAt(LocalDateTime.now());
+        claim.setMetadata("{\"hotelName\":\"Grand Hotel Berlin\",\"flightNumber\":\"LH1234\"}");
+        claim.setVersion(0L);
+
+        view = new ClaimView(claim.getId(), claim.getUserId(), claim.getClaimType(), claim.getAmount(),
+                claim.getStatus(), claim.getDescription(), claim.getCreatedAt(), claim.getMetadata(),
+                claim.getVersion());
+    }
+
+    @Benchmark
+    public ClaimResponse mapEntity() {
+        return ClaimMapper.toResponse(claim);
+    }
+
+    @Benchmark
+    public ClaimResponse mapView() {
+        return ClaimMapper.toResponse(view);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ucrmp.claimservice.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process caches. Sizes and TTLs are set through
+ * spring.cache.caffeine.spec in application.properties.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * First page of each user's claims, keyed by user ID.
+     * Evict it whenever one of the user's claims is created or changes status.
+     */
+    public static final String USER_CLAIMS = "userClaims";
+
+    // Replaces Boot's CaffeineCacheManager, built from the same spring.cache.*
+    // properties. Evictions made inside a transaction wait for the commit, so a
+    // reader cannot re-cache the old page between the evict and the commit.
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeineCacheManager.setCacheSpecification(spec);
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ucrmp.claimservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs: outbox relay and cleanup, claim stream feed and heartbeats,
+// receipt processing/blob/upload sweeps, nightly claim summary rebuild.
+// They share spring.task.scheduling.pool.size threads, so keep every job short
+// or hand its slow part to an executor of its own (as ClaimEventStreamRegistry
+// does with its socket writes).
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,120 @@
+package com.ucrmp.claimservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that blocked while pinned to their carrier thread,
+ * typically a blocking call inside a synchronized block (a JDBC driver, a
+ * connection pool, our own code). A pinned thread holds a carrier for the
+ * whole wait, so enough of them starve every other virtual thread.
+ *
+ * Listens to the JFR jdk.VirtualThreadPinned event in-process. Every event
+ * is recorded in the jvm.threads.virtual.pinned timer, tagged with the
+ * first non-JDK class on the stack; the full stack is logged once per such
+ * class. Only active with spring.threads.virtual.enabled=true.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // Bounds the log output and the tag cardinality if something pins everywhere
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private static final String OTHER_SITE = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning.threshold:PT20MS}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void record(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames().stream()
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+        String site = pinnedSite(frames);
+        if (!reportedSites.contains(site) && reportedSites.size() >= MAX_REPORTED_SITES) {
+            site = OTHER_SITE;
+        }
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms in {}; further pins here are only counted. Stack:\n\t{}",
+                    event.getDuration().toMillis(), site, String.join("\n\t", frames));
+        }
+    }
+
+    // The first frame outside the JDK: the code that blocked while pinned
+    static String pinnedSite(List<String> frames) {
+        return frames.stream()
+                .map(frame -> frame.substring(0, Math.max(frame.lastIndexOf('.'), 0)))
+                .filter(type -> !type.isEmpty() && !isJdkClass(type))
+                .findFirst()
+                .orElse(OTHER_SITE);
+    }
+
+    private static boolean isJdkClass(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")
+                || type.startsWith("com.sun.");
+    }
+
+    // "com.example.Type.method:line"
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
@@ -1,17 +1,33 @@
 package com.ucrmp.claimservice.controller;
 
+import com.ucrmp.claimservice.dto.BatchCreateClaimRequest;
+import com.ucrmp.claimservice.dto.BatchCreateClaimResponse;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionRequest;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionResponse;
+import com.ucrmp.claimservice.dto.ClaimPageResponse;
 import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimStatsResponse;
 import com.ucrmp.claimservice.dto.CreateClaimRequest;
+import com.ucrmp.claimservice.dto.StatusTransitionRequest;
+import com.ucrmp.claimservice.exception.ClaimAccessDeniedException;
 import com.ucrmp.claimservice.service.ClaimService;
+import com.ucrmp.claimservice.service.ClaimSummaryService;
+import com.ucrmp.claimservice.service.ClaimWorkflowService;
+import com.ucrmp.claimservice.service.ReviewQueueService;
+import com.ucrmp.claimservice.stream.ClaimEventStreamRegistry;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 // IMPORT: This is the new import
 import org.springframework.web.bind.annotation.RequestHeader; 
 // DELETE: import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,9 +38,21 @@ public class ClaimController {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimController.class);
     private final ClaimService claimService;
+    private final ClaimSummaryService claimSummaryService;
+    private final ClaimWorkflowService claimWorkflowService;
+    private final ReviewQueueService reviewQueueService;
+    private final ClaimEventStreamRegistry claimEventStreams;
 
-    public ClaimController(ClaimService claimService) {
+    public ClaimController(ClaimService claimService,
+                           ClaimSummaryService claimSummaryService,
+                           ClaimWorkflowService claimWorkflowService,
+                           ReviewQueueService reviewQueueService,
+                           ClaimEventStreamRegistry claimEventStreams) {
         this.claimService = claimService;
+        this.claimSummaryService = claimSummaryService;
+        this.claimWorkflowService = claimWorkflowService;
+        this.reviewQueueService = reviewQueueService;
+        this.claimEventStreams = claimEventStreams;
     }
 
     /**
@@ -44,16 +72,160 @@ public class ClaimController {
     }
 
     /**
-     * Gets all claims for the user.
+     * Creates many claims for the user in one request.
+     * Every item is validated on its own; valid items are saved and invalid
+     * ones are reported with their errors. Returns 201 when every item was
+     * created and 207 (Multi-Status) when at least one failed.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateClaimResponse> createClaims(
+            @Valid @RequestBody BatchCreateClaimRequest request,
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        log.info("Received request to create {} claims for user ID: {}", request.getClaims().size(), userId);
+        BatchCreateClaimResponse response = claimService.createClaims(request.getClaims(), userId);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * Moves one claim to a new status (reviewers only).
+     * Send the claim's "version" as "expectedVersion" to make sure nobody
+     * changed it in the meantime; a stale version or a status change that the
+     * workflow does not allow returns 409.
+     */
+    @PatchMapping("/{claimId}/status")
+    public ResponseEntity<ClaimResponse> changeClaimStatus(
+            @PathVariable UUID claimId,
+            @Valid @RequestBody StatusTransitionRequest request,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        requireReviewer(roles);
+        log.info("Received request from user ID {} to change status of claim {}", userId, claimId);
+        return ResponseEntity.ok(claimWorkflowService.changeStatus(claimId, request, userId));
+    }
+
+    /**
+     * Moves many claims to the same status in one request (reviewers only).
+     * Claims that are missing or cannot make the transition are reported per
+     * item. Returns 200 when every claim was updated and 207 (Multi-Status)
+     * otherwise.
+     */
+    @PostMapping("/status/batch")
+    public ResponseEntity<BatchStatusTransitionResponse> changeClaimStatuses(
+            @Valid @RequestBody BatchStatusTransitionRequest request,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        requireReviewer(roles);
+        log.info("Received request from user ID {} to change status of {} claims", userId, request.getClaimIds().size());
+        BatchStatusTransitionResponse response = claimWorkflowService.changeStatuses(request, userId);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    /**
+     * Leases the next UNDER_REVIEW claims to the calling reviewer (oldest first).
+     * Concurrent reviewers always get disjoint claims. A lease that is not
+     * finished (status change) or released before it expires goes back to the
+     * queue. "size" defaults to 10 and is capped at 50.
+     */
+    @PostMapping("/review-queue/lease")
+    public ResponseEntity<List<ClaimResponse>> leaseClaimsForReview(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles,
+            @RequestParam(required = false) Integer size) {
+
+        requireReviewer(roles);
+        log.info("Received review queue lease request from user ID: {}", userId);
+        return ResponseEntity.ok(reviewQueueService.leaseNext(userId, size));
+    }
+
+    /**
+     * Hands a leased claim back to the review queue.
+     */
+    @PostMapping("/review-queue/{claimId}/release")
+    public ResponseEntity<Void> releaseClaimFromReview(
+            @PathVariable UUID claimId,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        requireReviewer(roles);
+        reviewQueueService.release(claimId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private void requireReviewer(String roles) {
+        if (!GatewayRoles.isReviewer(roles)) {
+            throw new ClaimAccessDeniedException("This operation is only available to reviewers");
+        }
+    }
+
+    /**
+     * Gets one page of the user's claims, newest first.
      * The user's ID is injected from the "X-User-Id" header.
+     * Pass the "nextCursor" of the previous page as "cursor" to continue;
+     * "size" is capped at 100.
      */
     @GetMapping
-    public ResponseEntity<List<ClaimResponse>> getClaimsForUser(
+    public ResponseEntity<ClaimPageResponse> getClaimsForUser(
             // UPDATED: Read the User ID from the header
-            @RequestHeader("X-User-Id") UUID userId) {
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
-        log.info("Received request to get all claims for user ID: {}", userId);
-        List<ClaimResponse> claims = claimService.getClaimsByUserId(userId);
-        return ResponseEntity.ok(claims);
+        log.info("Received request to get claims for user ID: {}", userId);
+        ClaimPageResponse page = claimService.getClaimPage(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Gets the user's claim count and total amount, overall and broken down
+     * by status and by type. Served from a pre-aggregated table, so the
+     * response size does not grow with the number of claims.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ClaimStatsResponse> getClaimStats(
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        log.info("Received request to get claim stats for user ID: {}", userId);
+        return ResponseEntity.ok(claimSummaryService.getStats(userId));
+    }
+
+    /**
+     * Streams the user's full claim history as newline-delimited JSON.
+     * Rows are written as they are read from the database, so this works
+     * for any history size without holding it in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClaims(
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        log.info("Received request to export claims for user ID: {}", userId);
+        StreamingResponseBody body = out -> claimService.exportClaims(userId, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"claims-" + userId + ".ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams changes to the user's claims as Server-Sent Events, so the
+     * dashboard does not have to poll. Each event is named after its type
+     * (CLAIM_CREATED, CLAIM_STATUS_CHANGED), carries the claim event as JSON
+     * and has the outbox sequence as its id. The stream closes after
+     * app.claims.stream.timeout; clients reconnect and reload the list.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamClaimEvents(
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        log.info("Opening claim event stream for user ID: {}", userId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // Tells the nginx ingress not to buffer the stream
+                .header("X-Accel-Buffering", "no")
+                .body(claimEventStreams.subscribe(userId));
     }
-}
\ No newline at end of file
+}
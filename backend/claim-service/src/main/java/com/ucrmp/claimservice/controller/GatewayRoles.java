@@ -0,0 +1,20 @@
+package com.ucrmp.claimservice.controller;
+
+import java.util.Arrays;
+import java.util.Set;
+
+// Reads the comma-separated "X-User-Roles" header added by the API Gateway
+final class GatewayRoles {
+
+    // Roles allowed to review claims
+    private static final Set<String> REVIEWER_ROLES = Set.of("ROLE_ADMIN", "ROLE_MANAGER");
+
+    private GatewayRoles() {
+    }
+
+    static boolean isReviewer(String rolesHeader) {
+        return rolesHeader != null && Arrays.stream(rolesHeader.split(","))
+                .map(String::trim)
+                .anyMatch(REVIEWER_ROLES::contains);
+    }
+}
@@ -0,0 +1,180 @@
+package com.ucrmp.claimservice.controller;
+
+import com.ucrmp.claimservice.dto.ReceiptResponse;
+import com.ucrmp.claimservice.dto.ReceiptUploadResponse;
+import com.ucrmp.claimservice.dto.StartReceiptUploadRequest;
+import com.ucrmp.claimservice.service.ReceiptService;
+import com.ucrmp.claimservice.service.ReceiptUploadService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/claims/{claimId}/receipts")
+public class ReceiptController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptController.class);
+    private final ReceiptService receiptService;
+    private final ReceiptUploadService receiptUploadService;
+
+    public ReceiptController(ReceiptService receiptService, ReceiptUploadService receiptUploadService) {
+        this.receiptService = receiptService;
+        this.receiptUploadService = receiptUploadService;
+    }
+
+    /**
+     * Attaches a receipt (PDF, JPEG, PNG or WebP) to one of the user's claims.
+     * The multipart part is spooled to disk by the container and streamed
+     * from there into receipt storage, so large scans never sit in the heap.
+     * "duplicate" in the response tells whether the same file was seen before.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReceiptResponse> uploadReceipt(
+            @PathVariable UUID claimId,
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader("X-User-Id") UUID userId) throws IOException {
+
+        log.info("Received receipt upload for claim {} from user ID: {} ({} bytes)", claimId, userId, file.getSize());
+        ReceiptResponse response = receiptService.upload(
+                claimId, userId, file.getOriginalFilename(), file.getContentType(), file.getInputStream());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReceiptResponse>> getReceipts(
+            @PathVariable UUID claimId,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        return ResponseEntity.ok(receiptService.getReceipts(claimId, userId, GatewayRoles.isReviewer(roles)));
+    }
+
+    /**
+     * Downloads a receipt. Returning the file as a Resource lets Spring answer
+     * "Range" requests with 206 Partial Content and copy only the requested
+     * regions straight from the file, a buffer at a time.
+     */
+    @GetMapping("/{receiptId}")
+    public ResponseEntity<Resource> downloadReceipt(
+            @PathVariable UUID claimId,
+            @PathVariable UUID receiptId,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        return toFileResponse(receiptService.download(claimId, receiptId, userId, GatewayRoles.isReviewer(roles)));
+    }
+
+    // Small JPEG preview for lists in the review UI
+    @GetMapping("/{receiptId}/thumbnail")
+    public ResponseEntity<Resource> downloadThumbnail(
+            @PathVariable UUID claimId,
+            @PathVariable UUID receiptId,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        return toFileResponse(receiptService.downloadRendition(claimId, receiptId, userId,
+                GatewayRoles.isReviewer(roles), ReceiptService.Rendition.THUMBNAIL));
+    }
+
+    // The receipt as a JPEG of bounded size, whatever image format was uploaded
+    @GetMapping("/{receiptId}/normalized")
+    public ResponseEntity<Resource> downloadNormalized(
+            @PathVariable UUID claimId,
+            @PathVariable UUID receiptId,
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader(value = "X-User-Roles", required = false) String roles) {
+
+        return toFileResponse(receiptService.downloadRendition(claimId, receiptId, userId,
+                GatewayRoles.isReviewer(roles), ReceiptService.Rendition.NORMALIZED));
+    }
+
+    private static ResponseEntity<Resource> toFileResponse(ReceiptService.ReceiptDownload download) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(download.fileName(), StandardCharsets.UTF_8)
+                        .build().toString())
+                .body(download.resource());
+    }
+
+    /**
+     * Removes a receipt from the user's claim. The stored file is kept while
+     * other receipts share the same content.
+     */
+    @DeleteMapping("/{receiptId}")
+    public ResponseEntity<Void> deleteReceipt(
+            @PathVariable UUID claimId,
+            @PathVariable UUID receiptId,
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        log.info("Received request to delete receipt {} of claim {} from user ID: {}", receiptId, claimId, userId);
+        receiptService.delete(claimId, receiptId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Starts a resumable upload for clients on unreliable connections. The
+     * response says how to split the file (chunkSize, chunkCount); the chunks
+     * are then PUT one by one and the upload completed.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ReceiptUploadResponse> startUpload(
+            @PathVariable UUID claimId,
+            @Valid @RequestBody StartReceiptUploadRequest request,
+            @RequestHeader("X-User-Id") UUID userId) throws IOException {
+
+        log.info("Received request to start a {} byte receipt upload for claim {} from user ID: {}",
+                request.getTotalSize(), claimId, userId);
+        return new ResponseEntity<>(receiptUploadService.startUpload(claimId, userId, request), HttpStatus.CREATED);
+    }
+
+    // After a dropped connection: which chunks still have to be sent
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ReceiptUploadResponse> getUpload(
+            @PathVariable UUID claimId,
+            @PathVariable UUID uploadId,
+            @RequestHeader("X-User-Id") UUID userId) {
+
+        return ResponseEntity.ok(receiptUploadService.getUpload(claimId, uploadId, userId));
+    }
+
+    /**
+     * Stores one chunk (the raw bytes as the request body). Chunks may arrive
+     * in any order, in parallel, and be re-sent; the body is streamed straight
+     * to its place in the file.
+     */
+    @PutMapping(value = "/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ReceiptUploadResponse> uploadChunk(
+            @PathVariable UUID claimId,
+            @PathVariable UUID uploadId,
+            @PathVariable int index,
+            @RequestHeader("X-User-Id") UUID userId,
+            InputStream content) throws IOException {
+
+        return ResponseEntity.ok(receiptUploadService.uploadChunk(claimId, uploadId, userId, index, content));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<ReceiptResponse> completeUpload(
+            @PathVariable UUID claimId,
+            @PathVariable UUID uploadId,
+            @RequestHeader("X-User-Id") UUID userId) throws IOException {
+
+        log.info("Received request to complete receipt upload {} for claim {} from user ID: {}", uploadId, claimId, userId);
+        return new ResponseEntity<>(receiptUploadService.completeUpload(claimId, uploadId, userId), HttpStatus.CREATED);
+    }
+}
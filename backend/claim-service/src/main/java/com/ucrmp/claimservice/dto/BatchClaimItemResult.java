@@ -0,0 +1,32 @@
+package com.ucrmp.claimservice.dto;
+
+import java.util.List;
+
+public class BatchClaimItemResult {
+
+    // Position of the item in the submitted batch
+    private int index;
+    private ClaimResponse claim;
+    private List<String> errors;
+
+    public static BatchClaimItemResult succeeded(int index, ClaimResponse claim) {
+        BatchClaimItemResult result = new BatchClaimItemResult();
+        result.index = index;
+        result.claim = claim;
+        result.errors = List.of();
+        return result;
+    }
+
+    public static BatchClaimItemResult failed(int index, List<String> errors) {
+        BatchClaimItemResult result = new BatchClaimItemResult();
+        result.index = index;
+        result.errors = errors;
+        return result;
+    }
+
+    // --- Getters ---
+    public int getIndex() { return index; }
+    public ClaimResponse getClaim() { return claim; }
+    public List<String> getErrors() { return errors; }
+    public boolean isSuccess() { return claim != null; }
+}
@@ -0,0 +1,19 @@
+package com.ucrmp.claimservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BatchCreateClaimRequest {
+
+    // Items are NOT cascaded with @Valid on purpose: each one is validated
+    // separately so a bad item is reported instead of failing the whole batch.
+    @NotEmpty(message = "At least one claim is required")
+    @Size(max = 500, message = "A batch can contain up to 500 claims")
+    private List<CreateClaimRequest> claims;
+
+    // --- Getters and Setters ---
+    public List<CreateClaimRequest> getClaims() { return claims; }
+    public void setClaims(List<CreateClaimRequest> claims) { this.claims = claims; }
+}
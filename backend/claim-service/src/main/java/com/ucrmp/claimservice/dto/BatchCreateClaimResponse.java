@@ -0,0 +1,21 @@
+package com.ucrmp.claimservice.dto;
+
+import java.util.List;
+
+public class BatchCreateClaimResponse {
+
+    private int created;
+    private int failed;
+    private List<BatchClaimItemResult> results;
+
+    public BatchCreateClaimResponse(List<BatchClaimItemResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(BatchClaimItemResult::isSuccess).count();
+        this.failed = results.size() - created;
+    }
+
+    // --- Getters ---
+    public int getCreated() { return created; }
+    public int getFailed() { return failed; }
+    public List<BatchClaimItemResult> getResults() { return results; }
+}
@@ -0,0 +1,30 @@
+package com.ucrmp.claimservice.dto;
+
+import com.ucrmp.claimservice.model.ClaimStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BatchStatusTransitionRequest {
+
+    @NotEmpty(message = "At least one claim ID is required")
+    @Size(max = 500, message = "A batch can contain up to 500 claims")
+    private List<UUID> claimIds;
+
+    @NotNull(message = "Target status is required")
+    private ClaimStatus status;
+
+    @Size(max = 2000, message = "Comment can be up to 2000 characters")
+    private String comment;
+
+    // --- Getters and Setters ---
+    public List<UUID> getClaimIds() { return claimIds; }
+    public void setClaimIds(List<UUID> claimIds) { this.claimIds = claimIds; }
+    public ClaimStatus getStatus() { return status; }
+    public void setStatus(ClaimStatus status) { this.status = status; }
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
@@ -0,0 +1,22 @@
+package com.ucrmp.claimservice.dto;
+
+import java.util.List;
+
+public class BatchStatusTransitionResponse {
+
+    private int updated;
+    private int failed;
+    // One result per requested claim ID, in request order
+    private List<BatchClaimItemResult> results;
+
+    public BatchStatusTransitionResponse(List<BatchClaimItemResult> results) {
+        this.results = results;
+        this.updated = (int) results.stream().filter(BatchClaimItemResult::isSuccess).count();
+        this.failed = results.size() - updated;
+    }
+
+    // --- Getters ---
+    public int getUpdated() { return updated; }
+    public int getFailed() { return failed; }
+    public List<BatchClaimItemResult> getResults() { return results; }
+}
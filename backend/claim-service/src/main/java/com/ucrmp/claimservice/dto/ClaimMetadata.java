@@ -1,12 +1,19 @@
 package com.ucrmp.claimservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 // This is a "sealed interface." It strictly defines
 // which types of metadata are allowed in our system.
+// Every ClaimType has exactly one variant, registered in ClaimMetadataRegistry.
 public sealed interface ClaimMetadata
-    permits ClaimMetadata.TravelMetadata, ClaimMetadata.MedicalMetadata {
+    permits ClaimMetadata.TravelMetadata, ClaimMetadata.MedicalMetadata,
+            ClaimMetadata.MealMetadata, ClaimMetadata.OfficeSuppliesMetadata,
+            ClaimMetadata.OtherMetadata {
 
     // --- Contract 1: TRAVEL ---
     // A 'record' is a modern, simple data class.
@@ -28,4 +35,31 @@ public sealed interface ClaimMetadata
         @Size(min = 5, message = "Prescription number must be at least 5 characters") 
         String prescriptionNumber
     ) implements ClaimMetadata {}
-}
\ No newline at end of file
+
+    // --- Contract 3: MEAL ---
+    // Every field is optional: MEAL claims were accepted without metadata
+    // checks before, and clients still send them that way
+    record MealMetadata(
+        String restaurantName,
+
+        @Positive(message = "Number of attendees must be positive")
+        Integer attendees
+    ) implements ClaimMetadata {}
+
+    // --- Contract 4: OFFICE_SUPPLIES ---
+    // Optional fields, for the same reason as MEAL
+    record OfficeSuppliesMetadata(
+        String vendorName,
+
+        @Size(max = 500, message = "Item list can be up to 500 characters")
+        String items
+    ) implements ClaimMetadata {}
+
+    // --- Contract 5: OTHER ---
+    // Free-form: any JSON is accepted and stored as sent
+    record OtherMetadata(@JsonValue JsonNode content) implements ClaimMetadata {
+
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        public OtherMetadata {}
+    }
+}
@@ -0,0 +1,23 @@
+package com.ucrmp.claimservice.dto;
+
+import java.util.List;
+
+public class ClaimPageResponse {
+
+    private List<ClaimResponse> content;
+
+    // Opaque continuation token; null when this is the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ClaimPageResponse(List<ClaimResponse> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // --- Getters ---
+    public List<ClaimResponse> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+}
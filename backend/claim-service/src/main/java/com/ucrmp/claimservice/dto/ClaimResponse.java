@@ -1,7 +1,6 @@
 package com.ucrmp.claimservice.dto;
 
-// --- NEW IMPORT ---
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import com.ucrmp.claimservice.model.ClaimStatus;
 import com.ucrmp.claimservice.model.ClaimType;
 
@@ -19,9 +18,13 @@ public class ClaimResponse {
     private String description;
     private LocalDateTime createdAt;
 
-    // --- FIELD TYPE CHANGED ---
-    private JsonNode metadata;
-    // --------------------------
+    // The metadata column already holds validated JSON, so it is written into
+    // the response verbatim instead of being parsed into a JsonNode per claim
+    @JsonRawValue
+    private String metadata;
+
+    // Send back as "expectedVersion" when changing the status
+    private Long version;
 
     // --- Getters and Setters ---
     public UUID getId() { return id; }
@@ -39,8 +42,8 @@ public class ClaimResponse {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
-    // --- GETTER/SETTER TYPE CHANGED ---
-    public JsonNode getMetadata() { return metadata; }
-    public void setMetadata(JsonNode metadata) { this.metadata = metadata; }
-    // ----------------------------------
+    public String getMetadata() { return metadata; }
+    public void setMetadata(String metadata) { this.metadata = metadata; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
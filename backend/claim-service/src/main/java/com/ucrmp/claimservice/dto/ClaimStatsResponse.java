@@ -0,0 +1,45 @@
+package com.ucrmp.claimservice.dto;
+
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Dashboard statistics for one user, read from the claim_summaries table
+public class ClaimStatsResponse {
+
+    private long totalCount;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private Map<ClaimStatus, Bucket> byStatus = new EnumMap<>(ClaimStatus.class);
+    private Map<ClaimType, Bucket> byType = new EnumMap<>(ClaimType.class);
+
+    // Adds one summary row to the totals and both breakdowns
+    public void add(ClaimStatus status, ClaimType claimType, long count, BigDecimal amount) {
+        totalCount += count;
+        totalAmount = totalAmount.add(amount);
+        byStatus.computeIfAbsent(status, s -> new Bucket()).add(count, amount);
+        byType.computeIfAbsent(claimType, t -> new Bucket()).add(count, amount);
+    }
+
+    // --- Getters ---
+    public long getTotalCount() { return totalCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public Map<ClaimStatus, Bucket> getByStatus() { return byStatus; }
+    public Map<ClaimType, Bucket> getByType() { return byType; }
+
+    public static class Bucket {
+
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(amount);
+        }
+
+        public long getCount() { return count; }
+        public BigDecimal getAmount() { return amount; }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ucrmp.claimservice.dto;
+
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Read-only projection of a claim row, built by JPQL constructor expressions.
+// It is never managed by the persistence context, so reads that use it skip
+// entity hydration, snapshotting and dirty checking entirely.
+public record ClaimView(
+        UUID id,
+        UUID userId,
+        ClaimType claimType,
+        BigDecimal amount,
+        ClaimStatus status,
+        String description,
+        LocalDateTime createdAt,
+        String metadata,
+        Long version
+) {}
@@ -0,0 +1,43 @@
+package com.ucrmp.claimservice.dto;
+
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReceiptResponse {
+
+    private UUID id;
+    private UUID claimId;
+    private String fileName;
+    private String contentType;
+    private long sizeBytes;
+    private String sha256;
+    // True when the same file had already been uploaded (to any claim)
+    private boolean duplicate;
+    private LocalDateTime uploadedAt;
+    private ReceiptProcessingStatus processingStatus;
+    private boolean thumbnailAvailable;
+
+    // --- Getters and Setters ---
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getClaimId() { return claimId; }
+    public void setClaimId(UUID claimId) { this.claimId = claimId; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public boolean isDuplicate() { return duplicate; }
+    public void setDuplicate(boolean duplicate) { this.duplicate = duplicate; }
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+    public ReceiptProcessingStatus getProcessingStatus() { return processingStatus; }
+    public void setProcessingStatus(ReceiptProcessingStatus processingStatus) { this.processingStatus = processingStatus; }
+    public boolean isThumbnailAvailable() { return thumbnailAvailable; }
+    public void setThumbnailAvailable(boolean thumbnailAvailable) { this.thumbnailAvailable = thumbnailAvailable; }
+}
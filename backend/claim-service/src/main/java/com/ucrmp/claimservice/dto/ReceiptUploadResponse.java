@@ -0,0 +1,37 @@
+package com.ucrmp.claimservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class ReceiptUploadResponse {
+
+    private UUID id;
+    private UUID claimId;
+    private String fileName;
+    private long totalSize;
+    // Every chunk is chunkSize bytes except possibly the last
+    private int chunkSize;
+    private int chunkCount;
+    // What a resuming client still has to send
+    private List<Integer> missingChunks;
+    private LocalDateTime expiresAt;
+
+    // --- Getters and Setters ---
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getClaimId() { return claimId; }
+    public void setClaimId(UUID claimId) { this.claimId = claimId; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public long getTotalSize() { return totalSize; }
+    public void setTotalSize(long totalSize) { this.totalSize = totalSize; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public int getChunkCount() { return chunkCount; }
+    public void setChunkCount(int chunkCount) { this.chunkCount = chunkCount; }
+    public List<Integer> getMissingChunks() { return missingChunks; }
+    public void setMissingChunks(List<Integer> missingChunks) { this.missingChunks = missingChunks; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
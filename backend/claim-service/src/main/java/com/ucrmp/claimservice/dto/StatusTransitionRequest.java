@@ -0,0 +1,25 @@
+package com.ucrmp.claimservice.dto;
+
+import com.ucrmp.claimservice.model.ClaimStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class StatusTransitionRequest {
+
+    @NotNull(message = "Target status is required")
+    private ClaimStatus status;
+
+    @Size(max = 2000, message = "Comment can be up to 2000 characters")
+    private String comment;
+
+    // Optional: the "version" the caller last saw; the change is refused if the claim has moved on
+    private Long expectedVersion;
+
+    // --- Getters and Setters ---
+    public ClaimStatus getStatus() { return status; }
+    public void setStatus(ClaimStatus status) { this.status = status; }
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+    public Long getExpectedVersion() { return expectedVersion; }
+    public void setExpectedVersion(Long expectedVersion) { this.expectedVersion = expectedVersion; }
+}
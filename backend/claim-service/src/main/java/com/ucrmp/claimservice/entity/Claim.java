@@ -48,6 +48,18 @@ public class Claim {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Review queue lease: who is working on this claim, and until when
+    @Column(name = "reviewer_id")
+    private UUID reviewerId;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Optimistic lock: concurrent status changes to the same claim fail instead of overwriting each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // --- Constructors ---
     public Claim() {
     }
@@ -75,4 +87,10 @@ public class Claim {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public UUID getReviewerId() { return reviewerId; }
+    public void setReviewerId(UUID reviewerId) { this.reviewerId = reviewerId; }
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.ucrmp.claimservice.entity;
+
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Number and total amount of one user's claims with a given status and type.
+ * Rows are only written through ClaimSummaryRepository's upserts; the entity
+ * is used for reads.
+ */
+@Entity
+@Table(name = "claim_summaries")
+public class ClaimSummary {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "claim_count", nullable = false)
+    private long claimCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    // --- Constructors ---
+    public ClaimSummary() {
+    }
+
+    // --- Getters ---
+    public Key getId() { return id; }
+    public long getClaimCount() { return claimCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "user_id", nullable = false)
+        private UUID userId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private ClaimStatus status;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "claim_type", nullable = false)
+        private ClaimType claimType;
+
+        public Key() {
+        }
+
+        public Key(UUID userId, ClaimStatus status, ClaimType claimType) {
+            this.userId = userId;
+            this.status = status;
+            this.claimType = claimType;
+        }
+
+        public UUID getUserId() { return userId; }
+        public ClaimStatus getStatus() { return status; }
+        public ClaimType getClaimType() { return claimType; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && status == key.status && claimType == key.claimType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, status, claimType);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ucrmp.claimservice.entity;
 
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
 import jakarta.persistence.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
@@ -27,9 +28,40 @@ public class Receipt {
     @Column(name = "file_url", nullable = false, length = 1024)
     private String fileUrl;
 
+    // Content address of the stored file; null for receipts stored before deduplication
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
     @Column(name = "uploaded_at", updatable = false, nullable = false)
     private LocalDateTime uploadedAt;
 
+    // --- Post-processing (see ReceiptProcessingServiceImpl) ---
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", nullable = false, length = 20)
+    private ReceiptProcessingStatus processingStatus = ReceiptProcessingStatus.PENDING;
+
+    @Column(name = "processing_attempts", nullable = false)
+    private int processingAttempts;
+
+    // When the job may be retried, or when a running attempt's claim lapses
+    @Column(name = "processing_next_attempt_at")
+    private LocalDateTime processingNextAttemptAt;
+
+    @Column(name = "processing_error", length = 500)
+    private String processingError;
+
+    @Column(name = "thumbnail_sha256", length = 64)
+    private String thumbnailSha256;
+
+    @Column(name = "normalized_sha256", length = 64)
+    private String normalizedSha256;
+
     // Automatically set the timestamp before saving
     @PrePersist
     protected void onCreate() {
@@ -49,6 +81,24 @@ public class Receipt {
     public void setFileName(String fileName) { this.fileName = fileName; }
     public String getFileUrl() { return fileUrl; }
     public void setFileUrl(String fileUrl) { this.fileUrl = fileUrl; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
     public LocalDateTime getUploadedAt() { return uploadedAt; }
     public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+    public ReceiptProcessingStatus getProcessingStatus() { return processingStatus; }
+    public void setProcessingStatus(ReceiptProcessingStatus processingStatus) { this.processingStatus = processingStatus; }
+    public int getProcessingAttempts() { return processingAttempts; }
+    public void setProcessingAttempts(int processingAttempts) { this.processingAttempts = processingAttempts; }
+    public LocalDateTime getProcessingNextAttemptAt() { return processingNextAttemptAt; }
+    public void setProcessingNextAttemptAt(LocalDateTime processingNextAttemptAt) { this.processingNextAttemptAt = processingNextAttemptAt; }
+    public String getProcessingError() { return processingError; }
+    public void setProcessingError(String processingError) { this.processingError = processingError; }
+    public String getThumbnailSha256() { return thumbnailSha256; }
+    public void setThumbnailSha256(String thumbnailSha256) { this.thumbnailSha256 = thumbnailSha256; }
+    public String getNormalizedSha256() { return normalizedSha256; }
+    public void setNormalizedSha256(String normalizedSha256) { this.normalizedSha256 = normalizedSha256; }
 }
\ No newline at end of file
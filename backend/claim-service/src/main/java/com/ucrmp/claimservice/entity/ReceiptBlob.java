@@ -0,0 +1,39 @@
+package com.ucrmp.claimservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored receipt file, identified by the SHA-256 of its bytes.
+ * refCount is the number of Receipt rows pointing at it; rows at zero are
+ * removed (with their file) by the blob sweep. Counts are only changed
+ * through ReceiptBlobRepository's update statements.
+ */
+@Entity
+@Table(name = "receipt_blobs")
+public class ReceiptBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // --- Constructors ---
+    public ReceiptBlob() {
+    }
+
+    // --- Getters ---
+    public String getSha256() { return sha256; }
+    public long getSizeBytes() { return sizeBytes; }
+    public int getRefCount() { return refCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
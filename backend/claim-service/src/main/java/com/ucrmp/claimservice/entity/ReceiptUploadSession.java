@@ -0,0 +1,119 @@
+package com.ucrmp.claimservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A resumable receipt upload in progress. The file is split into chunkCount
+ * chunks of chunkSize bytes (the last one may be shorter); receivedChunks is
+ * a bitmap of the chunks already written to storage.
+ */
+@Entity
+@Table(name = "receipt_upload_sessions")
+public class ReceiptUploadSession {
+
+    public enum Status {
+        // Accepting chunks
+        OPEN,
+        // All chunks are in and the file is being turned into a receipt
+        COMPLETING
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "claim_id", nullable = false)
+    private UUID claimId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    @Column(name = "received_chunks", nullable = false, length = 1024)
+    private byte[] receivedChunks = new byte[0];
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.OPEN;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // --- Constructors ---
+    public ReceiptUploadSession() {
+    }
+
+    // --- Chunk bookkeeping ---
+    public long chunkOffset(int index) {
+        return (long) index * chunkSize;
+    }
+
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, totalSize - chunkOffset(index));
+    }
+
+    public void markReceived(int index) {
+        BitSet received = BitSet.valueOf(receivedChunks);
+        received.set(index);
+        receivedChunks = received.toByteArray();
+    }
+
+    public List<Integer> getMissingChunks() {
+        BitSet received = BitSet.valueOf(receivedChunks);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = received.nextClearBit(0); i < chunkCount; i = received.nextClearBit(i + 1)) {
+            missing.add(i);
+        }
+        return missing;
+    }
+
+    public boolean isComplete() {
+        return BitSet.valueOf(receivedChunks).cardinality() == chunkCount;
+    }
+
+    // --- Getters and Setters ---
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getClaimId() { return claimId; }
+    public void setClaimId(UUID claimId) { this.claimId = claimId; }
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+    public long getTotalSize() { return totalSize; }
+    public void setTotalSize(long totalSize) { this.totalSize = totalSize; }
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+    public int getChunkCount() { return chunkCount; }
+    public void setChunkCount(int chunkCount) { this.chunkCount = chunkCount; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
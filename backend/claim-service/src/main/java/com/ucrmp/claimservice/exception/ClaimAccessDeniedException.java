@@ -0,0 +1,12 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.FORBIDDEN)
+public class ClaimAccessDeniedException extends RuntimeException {
+
+    public ClaimAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The claim was changed by someone else since the caller read it
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ClaimVersionConflictException extends RuntimeException {
+
+    public ClaimVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// A chunk index outside the upload, or a chunk of the wrong length
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidReceiptChunkException extends RuntimeException {
+
+    public InvalidReceiptChunkException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The claim's current status does not allow the requested one
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
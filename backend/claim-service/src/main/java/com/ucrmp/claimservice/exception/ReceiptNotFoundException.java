@@ -0,0 +1,12 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ReceiptNotFoundException extends RuntimeException {
+
+    public ReceiptNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The resumable upload does not exist (any more) or belongs to someone else
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ReceiptUploadNotFoundException extends RuntimeException {
+
+    public ReceiptUploadNotFoundException(String message) {
+        super(message);
+    }
+}
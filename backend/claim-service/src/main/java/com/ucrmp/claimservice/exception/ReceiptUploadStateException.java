@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The upload is missing chunks, or is already being completed
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ReceiptUploadStateException extends RuntimeException {
+
+    public ReceiptUploadStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The claim is not leased to the reviewer acting on it
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ReviewLeaseException extends RuntimeException {
+
+    public ReviewLeaseException(String message) {
+        super(message);
+    }
+}
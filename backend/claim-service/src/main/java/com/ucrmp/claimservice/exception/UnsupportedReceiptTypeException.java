@@ -0,0 +1,12 @@
+package com.ucrmp.claimservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+public class UnsupportedReceiptTypeException extends RuntimeException {
+
+    public UnsupportedReceiptTypeException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,17 @@
 package com.ucrmp.claimservice.handler;
 
 import com.ucrmp.claimservice.dto.ErrorResponse;
+import com.ucrmp.claimservice.exception.ClaimAccessDeniedException;
 import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.ClaimVersionConflictException;
+import com.ucrmp.claimservice.exception.InvalidCursorException;
+import com.ucrmp.claimservice.exception.InvalidReceiptChunkException;
+import com.ucrmp.claimservice.exception.InvalidStatusTransitionException;
+import com.ucrmp.claimservice.exception.ReceiptNotFoundException;
+import com.ucrmp.claimservice.exception.ReceiptUploadNotFoundException;
+import com.ucrmp.claimservice.exception.ReceiptUploadStateException;
+import com.ucrmp.claimservice.exception.ReviewLeaseException;
+import com.ucrmp.claimservice.exception.UnsupportedReceiptTypeException;
 
 // --- NEW IMPORT ---
 import jakarta.validation.ConstraintViolationException;
@@ -9,10 +19,12 @@ import jakarta.validation.ConstraintViolationException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
@@ -35,6 +47,143 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Handler for receipts that do not exist on the given claim
+    @ExceptionHandler(ReceiptNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReceiptNotFoundException(
+            ReceiptNotFoundException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    // Handler for resumable uploads that expired, were completed or never existed
+    @ExceptionHandler(ReceiptUploadNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReceiptUploadNotFoundException(
+            ReceiptUploadNotFoundException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    // Handler for receipt files of a type we do not accept
+    @ExceptionHandler(UnsupportedReceiptTypeException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedReceiptTypeException(
+            UnsupportedReceiptTypeException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    // Handler for uploads over spring.servlet.multipart.max-file-size
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(
+            MaxUploadSizeExceededException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                LocalDateTime.now(),
+                "The uploaded file is too large",
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    // Handler for tampered or malformed pagination cursors
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Handler for chunks outside the upload or of the wrong length
+    @ExceptionHandler(InvalidReceiptChunkException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidReceiptChunkException(
+            InvalidReceiptChunkException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    // Handler for status changes that lose a race or break the workflow,
+    // and for completing uploads that are missing chunks
+    @ExceptionHandler({InvalidStatusTransitionException.class, ClaimVersionConflictException.class,
+            ReviewLeaseException.class, ReceiptUploadStateException.class})
+    public ResponseEntity<ErrorResponse> handleConflictException(
+            RuntimeException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Handler for @Version mismatches detected when the transaction flushes
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                LocalDateTime.now(),
+                "The claim was modified concurrently; reload it and try again",
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Handler for callers without the role an operation needs
+    @ExceptionHandler(ClaimAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleClaimAccessDeniedException(
+            ClaimAccessDeniedException ex, 
+            WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.FORBIDDEN.value(),
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
+    }
+
     // Handler for @Valid annotation failures
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
@@ -1,9 +1,19 @@
 package com.ucrmp.claimservice.model;
 
+// Workflow: SUBMITTED -> UNDER_REVIEW -> APPROVED | REJECTED, APPROVED -> PAID
 public enum ClaimStatus {
     SUBMITTED,
     UNDER_REVIEW,
     APPROVED,
     REJECTED,
-    PAID
-}
\ No newline at end of file
+    PAID;
+
+    public boolean canTransitionTo(ClaimStatus next) {
+        return switch (this) {
+            case SUBMITTED -> next == UNDER_REVIEW;
+            case UNDER_REVIEW -> next == APPROVED || next == REJECTED;
+            case APPROVED -> next == PAID;
+            case REJECTED, PAID -> false;
+        };
+    }
+}
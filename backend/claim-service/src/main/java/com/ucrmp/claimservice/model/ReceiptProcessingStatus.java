@@ -0,0 +1,13 @@
+package com.ucrmp.claimservice.model;
+
+// Thumbnail/normalization job state, kept on the receipts row:
+// PENDING -> PROCESSING -> DONE | SKIPPED, or back to PENDING for a retry
+// until the attempts run out (FAILED)
+public enum ReceiptProcessingStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    // Not an image ImageIO can render (PDF, WebP, oversized)
+    SKIPPED,
+    FAILED
+}
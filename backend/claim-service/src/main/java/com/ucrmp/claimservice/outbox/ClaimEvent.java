@@ -0,0 +1,43 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What downstream consumers are told about a claim. sequence is the outbox
+ * row id, assigned when the event is relayed: it orders events and lets a
+ * consumer resume after the last one it saw. eventId is stable across
+ * redeliveries, for consumers that deduplicate.
+ */
+public record ClaimEvent(long sequence,
+                         UUID eventId,
+                         ClaimEventType type,
+                         UUID claimId,
+                         UUID userId,
+                         ClaimType claimType,
+                         BigDecimal amount,
+                         ClaimStatus status,
+                         ClaimStatus previousStatus,
+                         LocalDateTime occurredAt) {
+
+    public static ClaimEvent created(Claim claim) {
+        return new ClaimEvent(0, UUID.randomUUID(), ClaimEventType.CLAIM_CREATED, claim.getId(), claim.getUserId(),
+                claim.getClaimType(), claim.getAmount(), claim.getStatus(), null, LocalDateTime.now());
+    }
+
+    public static ClaimEvent statusChanged(Claim claim, ClaimStatus previousStatus) {
+        return new ClaimEvent(0, UUID.randomUUID(), ClaimEventType.CLAIM_STATUS_CHANGED, claim.getId(),
+                claim.getUserId(), claim.getClaimType(), claim.getAmount(), claim.getStatus(), previousStatus,
+                LocalDateTime.now());
+    }
+
+    public ClaimEvent withSequence(long sequence) {
+        return new ClaimEvent(sequence, eventId, type, claimId, userId, claimType, amount, status, previousStatus,
+                occurredAt);
+    }
+}
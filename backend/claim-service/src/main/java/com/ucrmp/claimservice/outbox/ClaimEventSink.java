@@ -0,0 +1,14 @@
+package com.ucrmp.claimservice.outbox;
+
+import java.util.List;
+
+/**
+ * A destination for relayed claim events. Every sink bean receives every
+ * batch, in sequence order. Delivery is at least once: if any sink throws,
+ * the watermark does not move and the whole batch is offered to all sinks
+ * again, so sinks should tolerate repeats (ClaimEvent.eventId).
+ */
+public interface ClaimEventSink {
+
+    void publish(List<ClaimEvent> events) throws Exception;
+}
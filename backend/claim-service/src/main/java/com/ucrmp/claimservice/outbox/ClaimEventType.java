@@ -0,0 +1,6 @@
+package com.ucrmp.claimservice.outbox;
+
+public enum ClaimEventType {
+    CLAIM_CREATED,
+    CLAIM_STATUS_CHANGED
+}
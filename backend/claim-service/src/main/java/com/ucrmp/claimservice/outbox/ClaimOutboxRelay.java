@@ -0,0 +1,190 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Drains the outbox to every ClaimEventSink, in id order, a batch at a time.
+ * Each batch runs in one transaction holding the watermark row lock: read
+ * the rows after the watermark, hand them to the sinks, move the watermark.
+ * If a sink fails the transaction rolls back and the batch is retried on the
+ * next poll.
+ *
+ * Ids are allocated at insert but become visible at commit, so a row can
+ * appear after a higher id has already been seen. OutboxGapTracker decides
+ * when a gap in the ids is a rolled-back transaction and can be passed.
+ * Every skipped id is counted (claims.outbox.ids.skipped, by reason); one
+ * given up on after gap-timeout is also logged, since its event is lost if
+ * the transaction commits later.
+ *
+ * Relayed events are deleted after retention. Without any sink the
+ * watermark never moves and the rows only serve the stream feed, so they
+ * are deleted by age alone; with sinks, events still undelivered after
+ * max-retention (a sink down for that long) are deleted as well.
+ */
+@Component
+public class ClaimOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimOutboxRelay.class);
+
+    static final String RELAY_NAME = "default";
+
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    private final ClaimOutboxRepository outboxRepository;
+    private final List<ClaimEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader eventReader;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final OutboxGapTracker gapTracker;
+    private final Duration retention;
+    private final Duration maxRetention;
+    private final Timer deliveryLag;
+    private final DistributionSummary batchSizes;
+    private final Counter rolledBackIds;
+    private final Counter timedOutIds;
+
+    public ClaimOutboxRelay(ClaimOutboxRepository outboxRepository,
+                            List<ClaimEventSink> sinks,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.claims.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.claims.outbox.gap-timeout:PT2M}") Duration gapTimeout,
+                            @Value("${app.claims.outbox.retention:P3D}") Duration retention,
+                            @Value("${app.claims.outbox.max-retention:P30D}") Duration maxRetention) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventReader = objectMapper.readerFor(ClaimEvent.class);
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.gapTracker = new OutboxGapTracker(outboxRepository, gapTimeout);
+        this.retention = retention;
+        this.maxRetention = maxRetention;
+        this.deliveryLag = Timer.builder("claims.outbox.delivery.lag")
+                .description("Time from writing a claim event to handing it to the sinks")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("claims.outbox.batch.size")
+                .description("Events delivered per relay batch")
+                .register(meterRegistry);
+        this.rolledBackIds = Counter.builder("claims.outbox.ids.skipped")
+                .tag("reason", "rolled_back")
+                .description("Outbox ids the relay passed because their transaction rolled back")
+                .register(meterRegistry);
+        this.timedOutIds = Counter.builder("claims.outbox.ids.skipped")
+                .tag("reason", "timed_out")
+                .description("Outbox ids the relay stopped waiting for after gap-timeout")
+                .register(meterRegistry);
+    }
+
+    // Keeps going while batches come back full, so a backlog drains in one run
+    @Scheduled(fixedDelayString = "${app.claims.outbox.poll-interval}")
+    public void relay() {
+        if (sinks.isEmpty()) {
+            // Nothing to deliver to: leave the events for when a sink is configured
+            return;
+        }
+        Integer delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> relayBatch());
+        } while (delivered != null && delivered == batchSize);
+    }
+
+    int relayBatch() {
+        long watermark = outboxRepository.lockWatermark(RELAY_NAME);
+        List<long[]> gaps = new ArrayList<>();
+        List<ClaimOutboxRepository.OutboxRow> ready = gapTracker.readDeliverable(watermark, batchSize,
+                (firstId, lastId, timedOut) -> gaps.add(new long[]{firstId, lastId, timedOut ? 1 : 0}));
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        List<ClaimEvent> events = new ArrayList<>(ready.size());
+        for (ClaimOutboxRepository.OutboxRow row : ready) {
+            try {
+                events.add(eventReader.<ClaimEvent>readValue(row.payload()).withSequence(row.id()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable outbox event " + row.id(), e);
+            }
+        }
+        for (ClaimEventSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                log.warn("Sink {} failed on events {}..{}; the batch will be retried: {}",
+                        sink.getClass().getSimpleName(), ready.get(0).id(), ready.get(ready.size() - 1).id(), e.toString());
+                throw new IllegalStateException("Claim event delivery failed", e);
+            }
+        }
+        outboxRepository.updateWatermark(RELAY_NAME, ready.get(ready.size() - 1).id());
+
+        for (long[] gap : gaps) {
+            if (gap[2] == 1) {
+                log.warn("Skipped outbox ids {}..{}: not committed within {}; if their transaction commits later, "
+                        + "those claim events are never delivered", gap[0], gap[1], gapTimeout);
+                timedOutIds.increment(gap[1] - gap[0] + 1);
+            } else {
+                rolledBackIds.increment(gap[1] - gap[0] + 1);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ready.forEach(row -> deliveryLag.record(Duration.between(row.createdAt(), now)));
+        batchSizes.record(ready.size());
+        return ready.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.claims.outbox.cleanup-interval}")
+    public void deleteOldEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        if (sinks.isEmpty()) {
+            int deleted = deleteInBatches(() -> outboxRepository.deleteBefore(now.minus(retention), CLEANUP_BATCH_SIZE));
+            if (deleted > 0) {
+                log.info("Deleted {} claim events older than {} (no sinks configured)", deleted, retention);
+            }
+            return;
+        }
+
+        int relayed = deleteInBatches(() -> outboxRepository.deleteRelayedBefore(
+                outboxRepository.lockWatermark(RELAY_NAME), now.minus(retention), CLEANUP_BATCH_SIZE));
+        if (relayed > 0) {
+            log.info("Deleted {} relayed claim events older than {}", relayed, retention);
+        }
+        int expired = deleteInBatches(() -> outboxRepository.deleteBefore(now.minus(maxRetention), CLEANUP_BATCH_SIZE));
+        if (expired > 0) {
+            log.warn("Deleted {} claim events the sinks never took within {}", expired, maxRetention);
+        }
+    }
+
+    // Each batch in its own short transaction, until one comes back short
+    private int deleteInBatches(IntSupplier batch) {
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> batch.getAsInt());
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH_SIZE);
+        return total;
+    }
+}
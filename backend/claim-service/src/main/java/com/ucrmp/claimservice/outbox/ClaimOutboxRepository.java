@@ -0,0 +1,113 @@
+package com.ucrmp.claimservice.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plain JDBC access to the outbox: events are appended as one JDBC batch
+ * (a multi-row INSERT with rewriteBatchedStatements) and read back as raw
+ * rows, with no entities to track.
+ */
+@Repository
+public class ClaimOutboxRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimOutboxRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean openTransactionsUnreadable = new AtomicBoolean();
+
+    public ClaimOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<PendingEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO claim_outbox (claim_id, event_type, payload) VALUES (?, ?, ?)",
+                events, events.size(), (ps, event) -> {
+                    ps.setBytes(1, toBytes(event.claimId()));
+                    ps.setString(2, event.type().name());
+                    ps.setString(3, event.payload());
+                });
+    }
+
+    // Locks the relay's watermark row: one relay at a time, across nodes
+    public long lockWatermark(String relay) {
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT last_event_id FROM claim_outbox_relay WHERE name = ? FOR UPDATE", Long.class, relay);
+        return watermark == null ? 0 : watermark;
+    }
+
+    public void updateWatermark(String relay, long lastEventId) {
+        jdbcTemplate.update("UPDATE claim_outbox_relay SET last_event_id = ?, updated_at = CURRENT_TIMESTAMP(3) " +
+                "WHERE name = ?", lastEventId, relay);
+    }
+
+    public List<OutboxRow> findAfter(long watermark, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, payload, created_at FROM claim_outbox WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                watermark, limit);
+    }
+
+    // The database's current time, and when its oldest open transaction other
+    // than this connection's started (that same time if none is open). Empty
+    // if information_schema.innodb_trx cannot be read: it needs PROCESS.
+    public Optional<OpenTransactions> findOpenTransactions() {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(
+                    "SELECT NOW(3), COALESCE(MIN(trx_started), NOW(3)) FROM information_schema.innodb_trx " +
+                    "WHERE trx_mysql_thread_id <> CONNECTION_ID()",
+                    (rs, rowNum) -> new OpenTransactions(rs.getTimestamp(1).toLocalDateTime(),
+                            rs.getTimestamp(2).toLocalDateTime())));
+        } catch (DataAccessException e) {
+            if (openTransactionsUnreadable.compareAndSet(false, true)) {
+                log.warn("Cannot read information_schema.innodb_trx; outbox gaps will wait for gap-timeout: {}",
+                        e.getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM claim_outbox", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    // Only rows the relay is past; bounded so each delete stays short
+    public int deleteRelayedBefore(long watermark, LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM claim_outbox WHERE id <= ? AND created_at < ? ORDER BY id LIMIT ?",
+                watermark, Timestamp.valueOf(cutoff), limit);
+    }
+
+    // Every row written before the cutoff, relayed or not (idx_claim_outbox_created)
+    public int deleteBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM claim_outbox WHERE created_at < ? ORDER BY created_at LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    // Same byte order Hibernate uses for UUIDs in BINARY(16) columns
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public record PendingEvent(UUID claimId, ClaimEventType type, String payload) {}
+
+    public record OutboxRow(long id, String payload, LocalDateTime createdAt) {}
+
+    public record OpenTransactions(LocalDateTime now, LocalDateTime oldestStart) {}
+}
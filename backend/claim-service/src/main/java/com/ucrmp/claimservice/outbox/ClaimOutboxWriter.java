@@ -0,0 +1,45 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records claim events in the outbox. Must run inside the transaction that
+ * changes the claims, so an event exists exactly when its change committed.
+ */
+@Component
+public class ClaimOutboxWriter {
+
+    private final ClaimOutboxRepository outboxRepository;
+    private final ObjectWriter eventWriter;
+
+    public ClaimOutboxWriter(ClaimOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.eventWriter = objectMapper.writerFor(ClaimEvent.class);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<ClaimEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<ClaimOutboxRepository.PendingEvent> rows = new ArrayList<>(events.size());
+        for (ClaimEvent event : events) {
+            try {
+                rows.add(new ClaimOutboxRepository.PendingEvent(
+                        event.claimId(), event.type(), eventWriter.writeValueAsString(event)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize claim event " + event.eventId(), e);
+            }
+        }
+        outboxRepository.insertAll(rows);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends relayed events to a file as newline-delimited JSON, one write per
+ * batch. Enable with app.claims.outbox.sinks.file.path.
+ */
+@Component
+@ConditionalOnProperty(name = "app.claims.outbox.sinks.file.path")
+public class FileClaimEventSink implements ClaimEventSink {
+
+    private final Path path;
+    private final ObjectWriter lineWriter;
+
+    // Not synchronized: a virtual thread blocked on file I/O there would pin its carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    public FileClaimEventSink(@Value("${app.claims.outbox.sinks.file.path}") String path, ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.lineWriter = objectMapper.writerFor(ClaimEvent.class);
+    }
+
+    @Override
+    public void publish(List<ClaimEvent> events) throws IOException {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        for (ClaimEvent event : events) {
+            batch.write(lineWriter.writeValueAsBytes(event));
+            batch.write('\n');
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        appendLock.lock();
+        try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            batch.writeTo(out);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ucrmp.claimservice.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent relayed events in memory. Meant for tests and local
+ * debugging; enable with app.claims.outbox.sinks.memory.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.claims.outbox.sinks.memory.enabled", havingValue = "true")
+public class InMemoryClaimEventSink implements ClaimEventSink {
+
+    private final int capacity;
+    private final ArrayDeque<ClaimEvent> events = new ArrayDeque<>();
+
+    public InMemoryClaimEventSink(@Value("${app.claims.outbox.sinks.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<ClaimEvent> batch) {
+        for (ClaimEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<ClaimEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
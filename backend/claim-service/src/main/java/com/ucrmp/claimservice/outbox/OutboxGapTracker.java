@@ -0,0 +1,89 @@
+package com.ucrmp.claimservice.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads outbox rows in id order without skipping an id that may still
+ * commit. Ids are allocated at insert but become visible at commit, so a
+ * gap is either a transaction still in flight or one that rolled back.
+ *
+ * The transaction owning a gap started before the read that first saw the
+ * gap. Once information_schema.innodb_trx shows no open transaction that
+ * old, the owner has ended: had it committed, this read would see the row,
+ * so it rolled back and the gap is skipped. That takes about two polls.
+ * gap-timeout bounds the wait for a gap whose owner is still open, and is
+ * the only rule when innodb_trx cannot be read.
+ *
+ * Keeps the gap it is waiting on between reads, so each reader (the relay,
+ * each node's stream feed) owns one and uses it from a single thread.
+ */
+public class OutboxGapTracker {
+
+    private final ClaimOutboxRepository outboxRepository;
+    private final Duration gapTimeout;
+
+    // First missing id of the gap being waited on, and a database time by
+    // which a read had seen it (null until the read after the first one)
+    private long gapId = -1;
+    private LocalDateTime gapSeenBy;
+
+    public OutboxGapTracker(ClaimOutboxRepository outboxRepository, Duration gapTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * The leading rows after 'after' that can be delivered; each run of ids
+     * given up on goes to skipped.
+     */
+    public List<ClaimOutboxRepository.OutboxRow> readDeliverable(long after, int limit, SkippedIds skipped) {
+        // Checked before the read, so an owner that commits in between is seen by it
+        Optional<ClaimOutboxRepository.OpenTransactions> open = outboxRepository.findOpenTransactions();
+        LocalDateTime timeoutCutoff = LocalDateTime.now().minus(gapTimeout);
+
+        List<ClaimOutboxRepository.OutboxRow> rows = outboxRepository.findAfter(after, limit);
+        List<ClaimOutboxRepository.OutboxRow> ready = new ArrayList<>(rows.size());
+        long expected = after + 1;
+        for (ClaimOutboxRepository.OutboxRow row : rows) {
+            if (row.id() != expected) {
+                boolean timedOut = row.createdAt().isBefore(timeoutCutoff);
+                if (!timedOut && !ownerEnded(expected, open)) {
+                    break;
+                }
+                skipped.skipped(expected, row.id() - 1, timedOut);
+            }
+            ready.add(row);
+            expected = row.id() + 1;
+        }
+        return ready;
+    }
+
+    private boolean ownerEnded(long firstMissingId, Optional<ClaimOutboxRepository.OpenTransactions> open) {
+        if (open.isEmpty()) {
+            return false;
+        }
+        if (firstMissingId != gapId) {
+            gapId = firstMissingId;
+            gapSeenBy = null;
+            return false;
+        }
+        if (gapSeenBy == null) {
+            // The read that first saw the gap ran before this check
+            gapSeenBy = open.get().now();
+            return false;
+        }
+        // trx_started has whole seconds, so a transaction that started in
+        // the same second as gapSeenBy still counts as open
+        return open.get().oldestStart().isAfter(gapSeenBy);
+    }
+
+    @FunctionalInterface
+    public interface SkippedIds {
+        // timedOut: given up on after gap-timeout rather than seen rolled back
+        void skipped(long firstId, long lastId, boolean timedOut);
+    }
+}
@@ -1,11 +1,22 @@
 package com.ucrmp.claimservice.repository;
 
+import com.ucrmp.claimservice.dto.ClaimView;
 import com.ucrmp.claimservice.entity.Claim;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 // This 'extends' part is what gives you the .save() method
@@ -13,4 +24,74 @@ public interface ClaimRepository extends JpaRepository<Claim, UUID> {
     
     // This will find all claims submitted by a specific user
     List<Claim> findByUserId(UUID userId);
-}
\ No newline at end of file
+
+    // --- Read-only projections ---
+    // These select only the columns ClaimResponse needs and return ClaimView
+    // records instead of managed entities.
+    String CLAIM_VIEW_SELECT = "SELECT new com.ucrmp.claimservice.dto.ClaimView("
+            + "c.id, c.userId, c.claimType, c.amount, c.status, c.description, c.createdAt, c.metadata, c.version) "
+            + "FROM Claim c ";
+
+    @Query(CLAIM_VIEW_SELECT + "WHERE c.userId = :userId")
+    List<ClaimView> findViewsByUserId(@Param("userId") UUID userId);
+
+    // --- Keyset pagination (newest first) ---
+    // Both queries walk idx_claims_user_created_id, so page N costs the same as page 1.
+    // Only the page size comes from the Pageable; never pass a page number > 0.
+    @Query(CLAIM_VIEW_SELECT + "WHERE c.userId = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClaimView> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(CLAIM_VIEW_SELECT + """
+            WHERE c.userId = :userId
+              AND c.createdAt <= :createdAt
+              AND (c.createdAt < :createdAt OR c.id < :id)
+            ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    List<ClaimView> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") UUID id,
+                                          Pageable pageable);
+
+    // --- Streaming export ---
+    // Rows are pulled from a server-side cursor EXPORT_FETCH_SIZE at a time
+    // (needs useCursorFetch=true on the connection) instead of being buffered
+    // as one result set. The caller must consume the stream inside a
+    // transaction, close it, and detach each entity once it has been written.
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Claim c WHERE c.userId = :userId ORDER BY c.createdAt, c.id")
+    Stream<Claim> streamByUserId(@Param("userId") UUID userId);
+
+    // --- Review queue ---
+    // Locks up to :limit claimable UNDER_REVIEW rows, oldest first. SKIP LOCKED
+    // makes concurrent callers step over rows another transaction is leasing
+    // right now instead of waiting for it, so every caller gets a disjoint batch.
+    // A claim is claimable when nobody holds it or its lease has run out.
+    @Query(value = """
+            SELECT * FROM claims
+            WHERE status = 'UNDER_REVIEW'
+              AND (reviewer_id IS NULL OR lease_expires_at < :now)
+            ORDER BY created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Claim> lockClaimableForReview(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // The lease columns are written with bulk UPDATEs, which leave version alone:
+    // taking or returning a lease must not make a reviewer's expectedVersion stale.
+    // They bypass the persistence context, so claims already loaded in the same
+    // transaction keep their old lease values.
+    @Modifying
+    @Query("UPDATE Claim c SET c.reviewerId = :reviewerId, c.leaseExpiresAt = :expiresAt WHERE c.id IN :ids")
+    int lease(@Param("ids") Collection<UUID> ids,
+              @Param("reviewerId") UUID reviewerId,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE Claim c SET c.reviewerId = NULL, c.leaseExpiresAt = NULL WHERE c.id = :id AND c.reviewerId = :reviewerId")
+    int releaseLease(@Param("id") UUID id, @Param("reviewerId") UUID reviewerId);
+}
@@ -0,0 +1,101 @@
+package com.ucrmp.claimservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC for rebuilding claim_summaries one range of users at a time.
+ * A range is [from, to) on user_id; a null bound is open.
+ */
+@Repository
+public class ClaimSummaryRebuildRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaimSummaryRebuildRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The user that starts the next range of the given number of users, or
+    // null if the range from 'from' reaches the last user. A walk of the
+    // user_id index; it locks nothing.
+    public UUID findNextRangeStart(UUID from, int users) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT DISTINCT user_id FROM claims" + where(from, null, args)
+                + " ORDER BY user_id LIMIT 1 OFFSET ?";
+        args.add(users);
+        List<UUID> next = jdbcTemplate.query(sql, (rs, rowNum) -> toUuid(rs.getBytes(1)), args.toArray());
+        return next.isEmpty() ? null : next.get(0);
+    }
+
+    // Locks the range's summary rows and the gaps between them until the
+    // transaction ends, so upserts into the range wait
+    public void lockSummaries(UUID from, UUID to) {
+        List<Object> args = new ArrayList<>();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claim_summaries" + where(from, to, args) + " FOR UPDATE",
+                Long.class, args.toArray());
+    }
+
+    // A consistent (non-locking) read: claim writers are never blocked by it
+    public List<SummaryRow> aggregateClaims(UUID from, UUID to) {
+        List<Object> args = new ArrayList<>();
+        return jdbcTemplate.query(
+                "SELECT user_id, status, claim_type, COUNT(*), SUM(amount) FROM claims" + where(from, to, args)
+                        + " GROUP BY user_id, status, claim_type",
+                (rs, rowNum) -> new SummaryRow(toUuid(rs.getBytes(1)), rs.getString(2), rs.getString(3),
+                        rs.getLong(4), rs.getBigDecimal(5)),
+                args.toArray());
+    }
+
+    public int deleteSummaries(UUID from, UUID to) {
+        List<Object> args = new ArrayList<>();
+        return jdbcTemplate.update("DELETE FROM claim_summaries" + where(from, to, args), args.toArray());
+    }
+
+    public void insertSummaries(List<SummaryRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO claim_summaries (user_id, status, claim_type, claim_count, total_amount) " +
+                "VALUES (?, ?, ?, ?, ?)",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setBytes(1, toBytes(row.userId()));
+                    ps.setString(2, row.status());
+                    ps.setString(3, row.claimType());
+                    ps.setLong(4, row.claimCount());
+                    ps.setBigDecimal(5, row.totalAmount());
+                });
+    }
+
+    private static String where(UUID from, UUID to, List<Object> args) {
+        List<String> conditions = new ArrayList<>(2);
+        if (from != null) {
+            conditions.add("user_id >= ?");
+            args.add(toBytes(from));
+        }
+        if (to != null) {
+            conditions.add("user_id < ?");
+            args.add(toBytes(to));
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    // Same byte order Hibernate uses for UUIDs in BINARY(16) columns
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID toUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    public record SummaryRow(UUID userId, String status, String claimType, long claimCount, BigDecimal totalAmount) {}
+}
@@ -0,0 +1,34 @@
+package com.ucrmp.claimservice.repository;
+
+import com.ucrmp.claimservice.entity.ClaimSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClaimSummaryRepository extends JpaRepository<ClaimSummary, ClaimSummary.Key> {
+
+    List<ClaimSummary> findByIdUserId(UUID userId);
+
+    /**
+     * Adds a delta to one summary row, creating it if needed.
+     * A single statement, so concurrent writers for the same user cannot lose updates.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO claim_summaries (user_id, status, claim_type, claim_count, total_amount) " +
+                   "VALUES (:userId, :status, :claimType, :countDelta, :amountDelta) " +
+                   "ON DUPLICATE KEY UPDATE claim_count = claim_count + VALUES(claim_count), " +
+                   "total_amount = total_amount + VALUES(total_amount)",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("status") String status,
+                   @Param("claimType") String claimType,
+                   @Param("countDelta") long countDelta,
+                   @Param("amountDelta") BigDecimal amountDelta);
+}
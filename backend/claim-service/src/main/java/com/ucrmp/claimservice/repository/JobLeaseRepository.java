@@ -0,0 +1,34 @@
+package com.ucrmp.claimservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Leases in job_leases keep a scheduled job to one node at a time. Each
+ * statement runs on its own (autocommit), and expiry is judged by the
+ * database clock, so nodes with skewed clocks still agree.
+ */
+@Repository
+public class JobLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLeaseRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Takes the lease if it is free or expired, or extends it if owner already holds it
+    public boolean tryAcquire(String job, String owner, Duration lease) {
+        return jdbcTemplate.update(
+                "UPDATE job_leases SET owner = ?, locked_until = CURRENT_TIMESTAMP(3) + INTERVAL ? MICROSECOND " +
+                "WHERE name = ? AND (owner = ? OR locked_until < CURRENT_TIMESTAMP(3))",
+                owner, lease.toNanos() / 1000, job, owner) == 1;
+    }
+
+    public void release(String job, String owner) {
+        jdbcTemplate.update("UPDATE job_leases SET locked_until = CURRENT_TIMESTAMP(3) WHERE name = ? AND owner = ?",
+                job, owner);
+    }
+}
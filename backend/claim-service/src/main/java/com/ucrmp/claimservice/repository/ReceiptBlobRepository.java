@@ -0,0 +1,49 @@
+package com.ucrmp.claimservice.repository;
+
+import com.ucrmp.claimservice.entity.ReceiptBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReceiptBlobRepository extends JpaRepository<ReceiptBlob, String> {
+
+    /**
+     * Adds a reference to the blob, creating its row on first sight.
+     * Leaves the row locked until the transaction ends, which is what keeps
+     * the blob sweep from removing the file while it is being published.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO receipt_blobs (sha256, size_bytes, ref_count) VALUES (:sha256, :size, 1) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+           nativeQuery = true)
+    int addReference(@Param("sha256") String sha256, @Param("size") long size);
+
+    @Modifying
+    @Query(value = "UPDATE receipt_blobs SET ref_count = ref_count - 1 WHERE sha256 = :sha256", nativeQuery = true)
+    int removeReference(@Param("sha256") String sha256);
+
+    @Query(value = "SELECT ref_count FROM receipt_blobs WHERE sha256 = :sha256", nativeQuery = true)
+    int findRefCount(@Param("sha256") String sha256);
+
+    // Locks the blob's row, or the gap where it would be inserted, so an
+    // upload of the same bytes waits until the transaction ends
+    @Query(value = "SELECT COUNT(*) FROM receipt_blobs WHERE sha256 = :sha256 FOR UPDATE", nativeQuery = true)
+    int lockAndCount(@Param("sha256") String sha256);
+
+    // Candidates for the sweep: a plain read of idx_receipt_blobs_ref_count
+    // that locks nothing, so uploads never wait on it
+    @Query(value = "SELECT sha256 FROM receipt_blobs WHERE ref_count <= 0 LIMIT :limit", nativeQuery = true)
+    List<String> findUnreferencedHashes(@Param("limit") int limit);
+
+    // Locks one blob by primary key (a single record lock) if it is still
+    // unreferenced; a row a concurrent upload is re-referencing is skipped
+    @Query(value = "SELECT * FROM receipt_blobs WHERE sha256 = :sha256 AND ref_count <= 0 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<ReceiptBlob> lockIfUnreferenced(@Param("sha256") String sha256);
+}
@@ -1,11 +1,65 @@
 package com.ucrmp.claimservice.repository;
 
 import com.ucrmp.claimservice.entity.Receipt;
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ReceiptRepository extends JpaRepository<Receipt, UUID> {
-}
\ No newline at end of file
+
+    List<Receipt> findByClaim_IdOrderByUploadedAt(UUID claimId);
+
+    Optional<Receipt> findByIdAndClaim_Id(UUID id, UUID claimId);
+
+    // Deleting a receipt and storing its renditions lock the row, so one
+    // always sees the other's blob references
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Receipt r WHERE r.id = :id")
+    Optional<Receipt> findByIdForUpdate(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Receipt r WHERE r.id = :id AND r.claim.id = :claimId")
+    Optional<Receipt> findByIdAndClaimIdForUpdate(@Param("id") UUID id, @Param("claimId") UUID claimId);
+
+    // --- Post-processing jobs ---
+    // Claims a due job for one worker: exactly one concurrent caller gets 1.
+    // The lease (next attempt time) lets another worker take over if this one dies.
+    @Modifying
+    @Query("""
+            UPDATE Receipt r
+            SET r.processingStatus = :processing,
+                r.processingAttempts = r.processingAttempts + 1,
+                r.processingNextAttemptAt = :leaseUntil
+            WHERE r.id = :id
+              AND r.processingStatus IN (:pending, :processing)
+              AND (r.processingNextAttemptAt IS NULL OR r.processingNextAttemptAt <= :now)
+            """)
+    int claimForProcessing(@Param("id") UUID id,
+                           @Param("now") LocalDateTime now,
+                           @Param("leaseUntil") LocalDateTime leaseUntil,
+                           @Param("pending") ReceiptProcessingStatus pending,
+                           @Param("processing") ReceiptProcessingStatus processing);
+
+    @Query("""
+            SELECT r.id FROM Receipt r
+            WHERE r.processingStatus IN (:pending, :processing)
+              AND (r.processingNextAttemptAt IS NULL OR r.processingNextAttemptAt <= :now)
+            ORDER BY r.uploadedAt
+            """)
+    List<UUID> findIdsDueForProcessing(@Param("now") LocalDateTime now,
+                                       @Param("pending") ReceiptProcessingStatus pending,
+                                       @Param("processing") ReceiptProcessingStatus processing,
+                                       Pageable limit);
+}
@@ -0,0 +1,25 @@
+package com.ucrmp.claimservice.repository;
+
+import com.ucrmp.claimservice.entity.ReceiptUploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReceiptUploadSessionRepository extends JpaRepository<ReceiptUploadSession, UUID> {
+
+    // SELECT ... FOR UPDATE: serializes bitmap updates from parallel chunk uploads
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReceiptUploadSession s WHERE s.id = :id")
+    Optional<ReceiptUploadSession> findByIdForUpdate(@Param("id") UUID id);
+
+    List<ReceiptUploadSession> findTop100ByExpiresAtBefore(LocalDateTime now);
+}
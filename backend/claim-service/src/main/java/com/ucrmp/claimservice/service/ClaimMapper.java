@@ -0,0 +1,42 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimView;
+import com.ucrmp.claimservice.entity.Claim;
+
+// Entity/projection to response mapping shared by the claim services.
+// The stored metadata JSON is passed through as-is (see ClaimResponse#metadata).
+final class ClaimMapper {
+
+    private ClaimMapper() {
+    }
+
+    static ClaimResponse toResponse(Claim claim) {
+        ClaimResponse response = new ClaimResponse();
+        response.setId(claim.getId());
+        response.setUserId(claim.getUserId());
+        response.setClaimType(claim.getClaimType());
+        response.setAmount(claim.getAmount());
+        response.setStatus(claim.getStatus());
+        response.setDescription(claim.getDescription());
+        response.setCreatedAt(claim.getCreatedAt());
+        response.setMetadata(claim.getMetadata());
+        response.setVersion(claim.getVersion());
+        return response;
+    }
+
+    // Same mapping for the projection-based read path
+    static ClaimResponse toResponse(ClaimView view) {
+        ClaimResponse response = new ClaimResponse();
+        response.setId(view.id());
+        response.setUserId(view.userId());
+        response.setClaimType(view.claimType());
+        response.setAmount(view.amount());
+        response.setStatus(view.status());
+        response.setDescription(view.description());
+        response.setCreatedAt(view.createdAt());
+        response.setMetadata(view.metadata());
+        response.setVersion(view.version());
+        return response;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ucrmp.claimservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ucrmp.claimservice.dto.ClaimMetadata;
+import com.ucrmp.claimservice.model.ClaimType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Binds, validates and serializes the metadata of one ClaimType.
+ * Everything that can be resolved up front (reader, writer, constraint
+ * metadata) is resolved once here, so a call is one typed bind, one
+ * validation and one write.
+ */
+public final class ClaimMetadataHandler<T extends ClaimMetadata> {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimMetadataHandler.class);
+
+    private final ClaimType claimType;
+    private final Class<T> metadataType;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Validator validator;
+
+    // False when the record has no constraints at all, so validation can be skipped
+    private final boolean constrained;
+
+    public ClaimMetadataHandler(ClaimType claimType,
+                                Class<T> metadataType,
+                                ObjectMapper objectMapper,
+                                Validator validator) {
+        this.claimType = claimType;
+        this.metadataType = metadataType;
+        this.reader = objectMapper.readerFor(metadataType);
+        this.writer = objectMapper.writerFor(metadataType);
+        this.validator = validator;
+        // Asking for the descriptor makes the validator build and cache the
+        // constraint metadata now instead of on the first request
+        this.constrained = validator.getConstraintsForClass(metadataType).isBeanConstrained();
+    }
+
+    /**
+     * Binds the request metadata to the typed record, validates it and
+     * returns the JSON to store.
+     *
+     * @throws IOException if the tree does not fit the record
+     * @throws ConstraintViolationException if the record is invalid
+     */
+    public String validateAndSerialize(JsonNode metadataNode) throws IOException {
+        T metadata = reader.readValue(metadataNode);
+        if (metadata == null) {
+            throw new ConstraintViolationException("Validation failed: metadata is required", Set.of());
+        }
+        if (constrained) {
+            validate(metadata);
+        }
+        return writer.writeValueAsString(metadata);
+    }
+
+    private void validate(T metadata) {
+        Set<ConstraintViolation<T>> violations = validator.validate(metadata);
+        if (!violations.isEmpty()) {
+            String errorMessages = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", "));
+
+            log.warn("Metadata validation failed for {}: {}", claimType, errorMessages);
+            throw new ConstraintViolationException("Validation failed: " + errorMessages, violations);
+        }
+    }
+
+    public ClaimType getClaimType() { return claimType; }
+    public Class<T> getMetadataType() { return metadataType; }
+}
@@ -0,0 +1,46 @@
+package com.ucrmp.claimservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.dto.ClaimMetadata;
+import com.ucrmp.claimservice.model.ClaimType;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One ClaimMetadataHandler per ClaimType, looked up through an EnumMap.
+ * To support a new claim type, add its record to ClaimMetadata and register
+ * it here; the service code does not change. Startup fails if any ClaimType
+ * is left without a handler.
+ */
+@Component
+public class ClaimMetadataRegistry {
+
+    private final Map<ClaimType, ClaimMetadataHandler<?>> handlers = new EnumMap<>(ClaimType.class);
+
+    public ClaimMetadataRegistry(ObjectMapper objectMapper, Validator validator) {
+        register(new ClaimMetadataHandler<>(ClaimType.TRAVEL, ClaimMetadata.TravelMetadata.class, objectMapper, validator));
+        register(new ClaimMetadataHandler<>(ClaimType.MEDICAL, ClaimMetadata.MedicalMetadata.class, objectMapper, validator));
+        register(new ClaimMetadataHandler<>(ClaimType.MEAL, ClaimMetadata.MealMetadata.class, objectMapper, validator));
+        register(new ClaimMetadataHandler<>(ClaimType.OFFICE_SUPPLIES, ClaimMetadata.OfficeSuppliesMetadata.class, objectMapper, validator));
+        register(new ClaimMetadataHandler<>(ClaimType.OTHER, ClaimMetadata.OtherMetadata.class, objectMapper, validator));
+
+        for (ClaimType type : ClaimType.values()) {
+            if (!handlers.containsKey(type)) {
+                throw new IllegalStateException("No metadata handler registered for claim type " + type);
+            }
+        }
+    }
+
+    private void register(ClaimMetadataHandler<?> handler) {
+        if (handlers.putIfAbsent(handler.getClaimType(), handler) != null) {
+            throw new IllegalStateException("Duplicate metadata handler for claim type " + handler.getClaimType());
+        }
+    }
+
+    public ClaimMetadataHandler<?> handlerFor(ClaimType type) {
+        return handlers.get(type);
+    }
+}
@@ -1,8 +1,12 @@
 package com.ucrmp.claimservice.service;
 
+import com.ucrmp.claimservice.dto.BatchCreateClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimPageResponse;
 import com.ucrmp.claimservice.dto.ClaimResponse;
 import com.ucrmp.claimservice.dto.CreateClaimRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,5 +14,11 @@ public interface ClaimService {
 
     ClaimResponse createClaim(CreateClaimRequest request, UUID userId);
 
+    BatchCreateClaimResponse createClaims(List<CreateClaimRequest> requests, UUID userId);
+
     List<ClaimResponse> getClaimsByUserId(UUID userId);
+
+    ClaimPageResponse getClaimPage(UUID userId, String cursor, Integer size);
+
+    void exportClaims(UUID userId, OutputStream out) throws IOException;
 }
\ No newline at end of file
@@ -1,57 +1,190 @@
 package com.ucrmp.claimservice.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ucrmp.claimservice.dto.ClaimMetadata;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ucrmp.claimservice.config.CacheConfig;
+import com.ucrmp.claimservice.dto.BatchClaimItemResult;
+import com.ucrmp.claimservice.dto.BatchCreateClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimPageResponse;
 import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimView;
 import com.ucrmp.claimservice.dto.CreateClaimRequest;
 import com.ucrmp.claimservice.entity.Claim;
 import com.ucrmp.claimservice.model.ClaimStatus;
 import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimOutboxWriter;
 import com.ucrmp.claimservice.repository.ClaimRepository;
 
+import jakarta.persistence.EntityManager;
 // --- NEW IMPORTS ---
 import jakarta.validation.ConstraintViolation;
-import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 // -------------------
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set; // NEW IMPORT
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ClaimServiceImpl implements ClaimService {
 
     private static final Logger log = LoggerFactory.getLogger(ClaimServiceImpl.class);
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    // Keep in sync with spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int JDBC_BATCH_SIZE = 50;
+
     private final ClaimRepository claimRepository;
-    private final ObjectMapper objectMapper;
+
+    // One pre-built metadata handler per ClaimType
+    private final ClaimMetadataRegistry metadataRegistry;
+
+    // Dashboard totals, updated in the same transaction as every insert
+    private final ClaimSummaryService claimSummaryService;
+
+    // Claim events for downstream consumers, written with every insert
+    private final ClaimOutboxWriter claimOutbox;
+
+    // The export writer must not close the response stream after each line
+    private final ObjectWriter exportLineWriter;
     
     // --- NEW: Inject the Validator ---
     private final Validator validator;
 
+    // Used by the export to detach rows once they have been written
+    private final EntityManager entityManager;
+
     // --- NEW: Updated Constructor ---
     public ClaimServiceImpl(ClaimRepository claimRepository, 
                             ObjectMapper objectMapper, 
-                            Validator validator) { // Added validator
+                            Validator validator, // Added validator
+                            EntityManager entityManager,
+                            ClaimMetadataRegistry metadataRegistry,
+                            ClaimSummaryService claimSummaryService,
+                            ClaimOutboxWriter claimOutbox) {
         this.claimRepository = claimRepository;
-        this.objectMapper = objectMapper;
+        this.metadataRegistry = metadataRegistry;
+        this.claimSummaryService = claimSummaryService;
+        this.claimOutbox = claimOutbox;
+        this.exportLineWriter = objectMapper.writerFor(ClaimResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
         this.validator = validator; // Added this
+        this.entityManager = entityManager;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_CLAIMS, key = "#userId")
     public ClaimResponse createClaim(CreateClaimRequest request, UUID userId) {
         log.info("Creating new claim for user ID: {}", userId);
 
         String metadataJson = validateAndConvertMetadata(request.getClaimType(), request.getMetadata());
 
+        Claim savedClaim = claimRepository.save(newClaim(request, userId, metadataJson));
+        claimSummaryService.recordCreated(List.of(savedClaim));
+        claimOutbox.append(List.of(ClaimEvent.created(savedClaim)));
+
+        log.info("Successfully created claim with ID: {}", savedClaim.getId());
+        return ClaimMapper.toResponse(savedClaim);
+    }
+
+    /**
+     * Validates every item on its own and persists the valid ones in one
+     * transaction. Inserts go out as JDBC batches (hibernate.jdbc.batch_size);
+     * the persistence context is flushed and cleared every JDBC_BATCH_SIZE
+     * claims so it never holds the whole batch.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_CLAIMS, key = "#userId")
+    public BatchCreateClaimResponse createClaims(List<CreateClaimRequest> requests, UUID userId) {
+        log.info("Creating batch of {} claims for user ID: {}", requests.size(), userId);
+
+        BatchClaimItemResult[] results = new BatchClaimItemResult[requests.size()];
+        List<Claim> pending = new ArrayList<>(JDBC_BATCH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(JDBC_BATCH_SIZE);
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateClaimRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchClaimItemResult.failed(i, List.of("Claim must not be null"));
+                continue;
+            }
+
+            Set<ConstraintViolation<CreateClaimRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = BatchClaimItemResult.failed(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.toList()));
+                continue;
+            }
+
+            String metadataJson;
+            try {
+                metadataJson = validateAndConvertMetadata(request.getClaimType(), request.getMetadata());
+            } catch (RuntimeException e) {
+                results[i] = BatchClaimItemResult.failed(i, List.of(e.getMessage()));
+                continue;
+            }
+
+            pending.add(newClaim(request, userId, metadataJson));
+            pendingIndexes.add(i);
+            if (pending.size() == JDBC_BATCH_SIZE) {
+                persistBatch(pending, pendingIndexes, results);
+            }
+        }
+        persistBatch(pending, pendingIndexes, results);
+
+        BatchCreateClaimResponse response = new BatchCreateClaimResponse(Arrays.asList(results));
+        log.info("Batch for user ID {} finished: {} created, {} failed",
+                userId, response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    private void persistBatch(List<Claim> pending, List<Integer> pendingIndexes, BatchClaimItemResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        claimRepository.saveAll(pending);
+        claimSummaryService.recordCreated(pending);
+        claimOutbox.append(pending.stream().map(ClaimEvent::created).toList());
+        // Send this chunk as one JDBC batch, then drop it from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = BatchClaimItemResult.succeeded(index, ClaimMapper.toResponse(pending.get(i)));
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    private Claim newClaim(CreateClaimRequest request, UUID userId, String metadataJson) {
         Claim newClaim = new Claim();
         newClaim.setUserId(userId);
         newClaim.setClaimType(request.getClaimType());
@@ -59,99 +192,96 @@ public class ClaimServiceImpl implements ClaimService {
         newClaim.setDescription(request.getDescription());
         newClaim.setStatus(ClaimStatus.SUBMITTED);
         newClaim.setMetadata(metadataJson);
-
-        Claim savedClaim = claimRepository.save(newClaim);
-
-        log.info("Successfully created claim with ID: {}", savedClaim.getId());
-        return mapToClaimResponse(savedClaim);
+        return newClaim;
     }
 
+    // Reads go through ClaimView projections: no managed entities, no snapshots,
+    // and the read-only transaction lets Hibernate skip the flush at commit.
     @Override
+    @Transactional(readOnly = true)
     public List<ClaimResponse> getClaimsByUserId(UUID userId) {
         log.info("Fetching all claims for user ID: {}", userId);
-        List<Claim> claims = claimRepository.findByUserId(userId);
+        List<ClaimView> claims = claimRepository.findViewsByUserId(userId);
         return claims.stream()
-                     .map(this::mapToClaimResponse)
+                     .map(ClaimMapper::toResponse)
                      .collect(Collectors.toList());
     }
 
-    // --- UPDATED: Helper method to validate metadata ---
-    private String validateAndConvertMetadata(ClaimType type, JsonNode metadataNode) {
-        try {
-            Object metadataObject; // Use a generic object to hold the result
-            String metadataJson;
-
-            switch (type) {
-                case TRAVEL:
-                    ClaimMetadata.TravelMetadata travelData = 
-                        objectMapper.treeToValue(metadataNode, ClaimMetadata.TravelMetadata.class);
-                    metadataObject = travelData; // Store it
-                    metadataJson = objectMapper.writeValueAsString(travelData);
-                    break;
-
-                case MEDICAL:
-                    ClaimMetadata.MedicalMetadata medicalData = 
-                        objectMapper.treeToValue(metadataNode, ClaimMetadata.MedicalMetadata.class);
-                    metadataObject = medicalData; // Store it
-                    metadataJson = objectMapper.writeValueAsString(medicalData);
-                    break;
-
-                default:
-                    log.warn("No specific metadata validation for type: {}. Saving as-is.", type);
-                    return metadataNode.toString();
-            }
+    // Only the default first page is cached: it is what the dashboard polls.
+    // Writes to the user's claims evict it (see CacheConfig.USER_CLAIMS).
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_CLAIMS, key = "#userId", condition = "#cursor == null and #size == null")
+    public ClaimPageResponse getClaimPage(UUID userId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.info("Fetching claim page for user ID: {} (size {}, first page: {})", userId, pageSize, cursor == null);
 
-            // --- THIS IS THE FIX ---
-            // Manually trigger validation on the deserialized object
-            validateMetadata(metadataObject);
-            // -------------------------
+        // Ask for one extra row so we know whether another page exists
+        // without running a separate count query.
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<ClaimView> claims;
+        if (cursor == null) {
+            claims = claimRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            ClaimCursor position = ClaimCursor.decode(cursor);
+            claims = claimRepository.findPageByUserIdAfter(userId, position.createdAt(), position.id(), limit);
+        }
 
-            return metadataJson; // Return the validated JSON string
+        boolean hasMore = claims.size() > pageSize;
+        List<ClaimView> page = hasMore ? claims.subList(0, pageSize) : claims;
 
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse metadata: {}", e.getMessage());
-            throw new RuntimeException("Invalid metadata format for claim type " + type);
+        String nextCursor = null;
+        if (hasMore) {
+            ClaimView last = page.get(page.size() - 1);
+            nextCursor = new ClaimCursor(last.createdAt(), last.id()).encode();
         }
+
+        // Unmodifiable: the page may be cached and shared between requests
+        List<ClaimResponse> content = page.stream()
+                .map(ClaimMapper::toResponse)
+                .toList();
+        return new ClaimPageResponse(content, nextCursor);
     }
-    
-    // --- NEW: Helper method to run the validator ---
-    private <T> void validateMetadata(T metadataObject) {
-        // Use the injected validator to check the object
-        Set<ConstraintViolation<T>> violations = validator.validate(metadataObject);
-        
-        if (!violations.isEmpty()) {
-            // If there are errors, collect them and throw an exception
-            String errorMessages = violations.stream()
-                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                    .collect(Collectors.joining(", "));
-                    
-            log.warn("Metadata validation failed: {}", errorMessages);
-            // This is a specific, new exception we will now catch
-            throw new ConstraintViolationException("Validation failed: " + errorMessages, violations);
+
+    /**
+     * Writes every claim of the user to the stream as newline-delimited JSON.
+     * Rows come from a server-side cursor and are detached right after being
+     * written, so heap use stays flat no matter how many claims the user has.
+     * Must run inside the transaction that keeps the cursor open.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportClaims(UUID userId, OutputStream out) throws IOException {
+        log.info("Exporting claim history for user ID: {}", userId);
+
+        long written = 0;
+        try (Stream<Claim> claims = claimRepository.streamByUserId(userId)) {
+            Iterator<Claim> iterator = claims.iterator();
+            while (iterator.hasNext()) {
+                Claim claim = iterator.next();
+                exportLineWriter.writeValue(out, ClaimMapper.toResponse(claim));
+                out.write('\n');
+                entityManager.detach(claim);
+
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
         }
+        out.flush();
+        log.info("Exported {} claims for user ID: {}", written, userId);
     }
-    // -------------------------------------------------
-
-    // Updated to handle parsing the string back to a JsonNode
-    private ClaimResponse mapToClaimResponse(Claim claim) {
-        ClaimResponse response = new ClaimResponse();
-        response.setId(claim.getId());
-        response.setUserId(claim.getUserId());
-        response.setClaimType(claim.getClaimType());
-        response.setAmount(claim.getAmount());
-        response.setStatus(claim.getStatus());
-        response.setDescription(claim.getDescription());
-        response.setCreatedAt(claim.getCreatedAt());
-        
+
+    // Delegates to the handler registered for the claim type: one typed bind
+    // with a cached reader, one validation, one write. The result is what gets
+    // stored and later emitted verbatim on reads.
+    // Throws ConstraintViolationException if the metadata is invalid.
+    private String validateAndConvertMetadata(ClaimType type, JsonNode metadataNode) {
         try {
-            // Convert the metadata String from the DB back into a real JsonNode
-            JsonNode metadataNode = objectMapper.readTree(claim.getMetadata());
-            response.setMetadata(metadataNode);
-        } catch (Exception e) {
-            log.error("Failed to parse metadata from database for claim ID: {}", claim.getId(), e);
-            response.setMetadata(null);
+            return metadataRegistry.handlerFor(type).validateAndSerialize(metadataNode);
+        } catch (IOException e) {
+            log.error("Failed to parse metadata: {}", e.getMessage());
+            throw new RuntimeException("Invalid metadata format for claim type " + type);
         }
-        
-        return response;
     }
-}
\ No newline at end of file
+}
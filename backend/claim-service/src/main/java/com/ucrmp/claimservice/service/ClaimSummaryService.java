@@ -0,0 +1,31 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimStatsResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ClaimSummaryService {
+
+    // Must be called in the transaction that inserts the claims
+    void recordCreated(Collection<Claim> claims);
+
+    // Must be called in the transaction that changes the claim's status
+    default void recordStatusChange(Claim claim, ClaimStatus previousStatus) {
+        recordStatusChanges(List.of(new StatusChange(claim, previousStatus)));
+    }
+
+    // Must be called in the transaction that changes the claims' statuses
+    void recordStatusChanges(Collection<StatusChange> changes);
+
+    ClaimStatsResponse getStats(UUID userId);
+
+    // Recomputes every summary row from the claims table
+    void rebuild();
+
+    // A claim whose status was just changed from previousStatus to claim.getStatus()
+    record StatusChange(Claim claim, ClaimStatus previousStatus) {}
+}
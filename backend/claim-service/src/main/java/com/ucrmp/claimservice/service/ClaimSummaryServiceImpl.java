@@ -0,0 +1,186 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimStatsResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.entity.ClaimSummary;
+import com.ucrmp.claimservice.repository.ClaimSummaryRebuildRepository;
+import com.ucrmp.claimservice.repository.ClaimSummaryRepository;
+import com.ucrmp.claimservice.repository.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+public class ClaimSummaryServiceImpl implements ClaimSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimSummaryServiceImpl.class);
+
+    // Upserts always touch rows in primary-key order, as InnoDB stores them, so
+    // two transactions updating the same rows cannot deadlock on each other:
+    // user_id as unsigned big-endian bytes (BINARY(16)), then status and
+    // claim_type by their stored names, not by enum ordinal
+    private static final Comparator<ClaimSummary.Key> KEY_ORDER =
+            Comparator.comparing(ClaimSummary.Key::getUserId, ClaimSummaryServiceImpl::compareAsBinary)
+                      .thenComparing(key -> key.getStatus().name())
+                      .thenComparing(key -> key.getClaimType().name());
+
+    static final String REBUILD_JOB = "claim-summary-rebuild";
+
+    private final ClaimSummaryRepository claimSummaryRepository;
+    private final ClaimSummaryRebuildRepository rebuildRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkUsers;
+    private final Duration rebuildLease;
+
+    public ClaimSummaryServiceImpl(ClaimSummaryRepository claimSummaryRepository,
+                                   ClaimSummaryRebuildRepository rebuildRepository,
+                                   JobLeaseRepository jobLeaseRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.claims.summary.rebuild-chunk-users:500}") int rebuildChunkUsers,
+                                   @Value("${app.claims.summary.rebuild-lease:PT5M}") Duration rebuildLease) {
+        this.claimSummaryRepository = claimSummaryRepository;
+        this.rebuildRepository = rebuildRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildChunkUsers = rebuildChunkUsers;
+        this.rebuildLease = rebuildLease;
+    }
+
+    /**
+     * Collapses the claims into one delta per summary row, then applies
+     * each delta with a single upsert.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Claim> claims) {
+        Map<ClaimSummary.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Claim claim : claims) {
+            ClaimSummary.Key key = new ClaimSummary.Key(claim.getUserId(), claim.getStatus(), claim.getClaimType());
+            deltas.computeIfAbsent(key, k -> new Delta()).add(1, claim.getAmount());
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Moves each claim from its previous status row to its current one.
+     * Changes are collapsed first, so approving hundreds of claims costs a
+     * handful of upserts rather than two per claim.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(Collection<StatusChange> changes) {
+        Map<ClaimSummary.Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (StatusChange change : changes) {
+            Claim claim = change.claim();
+            if (change.previousStatus() == claim.getStatus()) {
+                continue;
+            }
+            deltas.computeIfAbsent(new ClaimSummary.Key(claim.getUserId(), change.previousStatus(), claim.getClaimType()),
+                    k -> new Delta()).add(-1, claim.getAmount().negate());
+            deltas.computeIfAbsent(new ClaimSummary.Key(claim.getUserId(), claim.getStatus(), claim.getClaimType()),
+                    k -> new Delta()).add(1, claim.getAmount());
+        }
+        deltas.forEach(this::apply);
+    }
+
+    private void apply(ClaimSummary.Key key, Delta delta) {
+        claimSummaryRepository.applyDelta(key.getUserId(), key.getStatus().name(), key.getClaimType().name(),
+                delta.count, delta.amount);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ClaimStatsResponse getStats(UUID userId) {
+        ClaimStatsResponse stats = new ClaimStatsResponse();
+        for (ClaimSummary summary : claimSummaryRepository.findByIdUserId(userId)) {
+            // Rows whose claims all moved to another status stay behind with zero counts
+            if (summary.getClaimCount() > 0) {
+                stats.add(summary.getId().getStatus(), summary.getId().getClaimType(),
+                        summary.getClaimCount(), summary.getTotalAmount());
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Reconciliation for drift (e.g. rows changed outside the service).
+     * Runs on one node at a time, under a lease in job_leases that is renewed
+     * after every chunk, and rebuilds rebuild-chunk-users users per
+     * transaction, so claim writers are held up for one short chunk at most.
+     */
+    @Override
+    @Scheduled(cron = "${app.claims.summary.rebuild-cron}")
+    public void rebuild() {
+        String owner = UUID.randomUUID().toString();
+        if (!jobLeaseRepository.tryAcquire(REBUILD_JOB, owner, rebuildLease)) {
+            log.info("Claim summary rebuild is already running on another node");
+            return;
+        }
+        long start = System.nanoTime();
+        int chunks = 0;
+        long rows = 0;
+        try {
+            UUID from = null;
+            do {
+                UUID chunkFrom = from;
+                UUID chunkTo = rebuildRepository.findNextRangeStart(chunkFrom, rebuildChunkUsers);
+                rows += transactionTemplate.execute(status -> rebuildChunk(chunkFrom, chunkTo));
+                chunks++;
+                from = chunkTo;
+                if (from != null && !jobLeaseRepository.tryAcquire(REBUILD_JOB, owner, rebuildLease)) {
+                    log.warn("Lost the claim summary rebuild lease after {} chunks; stopping", chunks);
+                    return;
+                }
+            } while (from != null);
+        } finally {
+            jobLeaseRepository.release(REBUILD_JOB, owner);
+        }
+        log.info("Rebuilt claim summaries: {} rows in {} chunks in {} ms",
+                rows, chunks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Locks the range's summary rows before reading any claims. The claims
+    // read is a consistent read, taken once those locks are held, and locks
+    // nothing: a claim writer that committed before it has its delta in the
+    // count, and one still in flight waits on the summary lock and applies
+    // its delta on top of the rebuilt row after this commit.
+    private int rebuildChunk(UUID from, UUID to) {
+        rebuildRepository.lockSummaries(from, to);
+        List<ClaimSummaryRebuildRepository.SummaryRow> rows = rebuildRepository.aggregateClaims(from, to);
+        rebuildRepository.deleteSummaries(from, to);
+        rebuildRepository.insertSummaries(rows);
+        return rows.size();
+    }
+
+    // UUID.compareTo compares signed longs; BINARY(16) compares unsigned bytes
+    private static int compareAsBinary(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(amount);
+        }
+    }
+}
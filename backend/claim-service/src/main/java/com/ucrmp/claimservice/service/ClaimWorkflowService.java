@@ -0,0 +1,15 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.BatchStatusTransitionRequest;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionResponse;
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.StatusTransitionRequest;
+
+import java.util.UUID;
+
+public interface ClaimWorkflowService {
+
+    ClaimResponse changeStatus(UUID claimId, StatusTransitionRequest request, UUID actorId);
+
+    BatchStatusTransitionResponse changeStatuses(BatchStatusTransitionRequest request, UUID actorId);
+}
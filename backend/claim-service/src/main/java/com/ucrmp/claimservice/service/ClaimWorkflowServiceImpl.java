@@ -0,0 +1,214 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.config.CacheConfig;
+import com.ucrmp.claimservice.dto.BatchClaimItemResult;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionRequest;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionResponse;
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.StatusTransitionRequest;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.entity.ClaimStatusHistory;
+import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.ClaimVersionConflictException;
+import com.ucrmp.claimservice.exception.InvalidStatusTransitionException;
+import com.ucrmp.claimservice.exception.ReviewLeaseException;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimOutboxWriter;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ClaimStatusHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves claims through the ClaimStatus state machine. Every change writes a
+ * history row, updates the claim summaries and records a claim event in the
+ * outbox, all in the same transaction.
+ * Claim.version guards against two reviewers changing the same claim at once:
+ * the losing transaction fails with an optimistic locking error (409).
+ * While a claim is leased from the review queue only the lease holder may
+ * change its status; anyone else gets a ReviewLeaseException (409).
+ */
+@Service
+public class ClaimWorkflowServiceImpl implements ClaimWorkflowService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimWorkflowServiceImpl.class);
+
+    private final ClaimRepository claimRepository;
+    private final ClaimStatusHistoryRepository claimStatusHistoryRepository;
+    private final ClaimSummaryService claimSummaryService;
+    private final CacheManager cacheManager;
+    private final ClaimOutboxWriter claimOutbox;
+
+    public ClaimWorkflowServiceImpl(ClaimRepository claimRepository,
+                                    ClaimStatusHistoryRepository claimStatusHistoryRepository,
+                                    ClaimSummaryService claimSummaryService,
+                                    CacheManager cacheManager,
+                                    ClaimOutboxWriter claimOutbox) {
+        this.claimRepository = claimRepository;
+        this.claimStatusHistoryRepository = claimStatusHistoryRepository;
+        this.claimSummaryService = claimSummaryService;
+        this.cacheManager = cacheManager;
+        this.claimOutbox = claimOutbox;
+    }
+
+    @Override
+    @Transactional
+    public ClaimResponse changeStatus(UUID claimId, StatusTransitionRequest request, UUID actorId) {
+        log.info("User {} is changing the status of claim {} to {}", actorId, claimId, request.getStatus());
+
+        Claim claim = claimRepository.findById(claimId)
+                .orElseThrow(() -> new ClaimNotFoundException("Claim not found with ID: " + claimId));
+
+        if (request.getExpectedVersion() != null && !request.getExpectedVersion().equals(claim.getVersion())) {
+            throw new ClaimVersionConflictException("Claim " + claimId + " was modified by someone else; reload it and try again");
+        }
+        if (leasedToSomeoneElse(claim, actorId, LocalDateTime.now())) {
+            throw new ReviewLeaseException(leaseError(claim));
+        }
+        ClaimStatus previousStatus = claim.getStatus();
+        if (!previousStatus.canTransitionTo(request.getStatus())) {
+            throw new InvalidStatusTransitionException(transitionError(previousStatus, request.getStatus()));
+        }
+
+        applyStatus(claim, request.getStatus());
+        claimStatusHistoryRepository.save(newHistory(claim, request.getComment(), actorId));
+        claimSummaryService.recordStatusChange(claim, previousStatus);
+        claimOutbox.append(List.of(ClaimEvent.statusChanged(claim, previousStatus)));
+        // Flush here so a concurrent change fails inside this call and the returned version is the new one
+        claimRepository.flush();
+        evictUserClaims(Set.of(claim.getUserId()));
+
+        return ClaimMapper.toResponse(claim);
+    }
+
+    /**
+     * Applies one target status to many claims in a single transaction.
+     * Claims are loaded with one IN query; the status updates and the history
+     * inserts go out as JDBC batches at the final flush. Missing claims and
+     * disallowed transitions are reported per item. A concurrent modification
+     * of any claim fails the whole batch (409) so it can be retried as a unit.
+     */
+    @Override
+    @Transactional
+    public BatchStatusTransitionResponse changeStatuses(BatchStatusTransitionRequest request, UUID actorId) {
+        List<UUID> claimIds = request.getClaimIds();
+        ClaimStatus target = request.getStatus();
+        log.info("User {} is changing the status of {} claims to {}", actorId, claimIds.size(), target);
+
+        Map<UUID, Claim> claimsById = new HashMap<>();
+        for (Claim claim : claimRepository.findAllById(new HashSet<>(claimIds))) {
+            claimsById.put(claim.getId(), claim);
+        }
+
+        BatchClaimItemResult[] results = new BatchClaimItemResult[claimIds.size()];
+        Map<Integer, Claim> changed = new HashMap<>();
+        List<ClaimStatusHistory> history = new ArrayList<>();
+        List<ClaimSummaryService.StatusChange> changes = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        Set<UUID> owners = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < claimIds.size(); i++) {
+            UUID claimId = claimIds.get(i);
+            if (claimId == null) {
+                results[i] = BatchClaimItemResult.failed(i, List.of("Claim ID must not be null"));
+                continue;
+            }
+            if (!seen.add(claimId)) {
+                results[i] = BatchClaimItemResult.failed(i, List.of("Duplicate claim ID: " + claimId));
+                continue;
+            }
+            Claim claim = claimsById.get(claimId);
+            if (claim == null) {
+                results[i] = BatchClaimItemResult.failed(i, List.of("Claim not found with ID: " + claimId));
+                continue;
+            }
+            if (leasedToSomeoneElse(claim, actorId, now)) {
+                results[i] = BatchClaimItemResult.failed(i, List.of(leaseError(claim)));
+                continue;
+            }
+            ClaimStatus previousStatus = claim.getStatus();
+            if (!previousStatus.canTransitionTo(target)) {
+                results[i] = BatchClaimItemResult.failed(i, List.of(transitionError(previousStatus, target)));
+                continue;
+            }
+
+            applyStatus(claim, target);
+            history.add(newHistory(claim, request.getComment(), actorId));
+            changes.add(new ClaimSummaryService.StatusChange(claim, previousStatus));
+            owners.add(claim.getUserId());
+            changed.put(i, claim);
+        }
+
+        if (!changed.isEmpty()) {
+            claimStatusHistoryRepository.saveAll(history);
+            claimSummaryService.recordStatusChanges(changes);
+            claimOutbox.append(changes.stream()
+                    .map(change -> ClaimEvent.statusChanged(change.claim(), change.previousStatus()))
+                    .toList());
+            claimRepository.flush();
+            evictUserClaims(owners);
+        }
+        // Mapped after the flush so the responses carry the new versions
+        changed.forEach((index, claim) -> results[index] = BatchClaimItemResult.succeeded(index, ClaimMapper.toResponse(claim)));
+
+        BatchStatusTransitionResponse response = new BatchStatusTransitionResponse(Arrays.asList(results));
+        log.info("Status batch by user {} finished: {} updated, {} failed",
+                actorId, response.getUpdated(), response.getFailed());
+        return response;
+    }
+
+    // A decided claim leaves the review queue, so any lease on it ends too
+    private static void applyStatus(Claim claim, ClaimStatus status) {
+        claim.setStatus(status);
+        claim.setReviewerId(null);
+        claim.setLeaseExpiresAt(null);
+    }
+
+    private static boolean leasedToSomeoneElse(Claim claim, UUID actorId, LocalDateTime now) {
+        return claim.getReviewerId() != null
+                && !claim.getReviewerId().equals(actorId)
+                && claim.getLeaseExpiresAt() != null
+                && claim.getLeaseExpiresAt().isAfter(now);
+    }
+
+    private static String leaseError(Claim claim) {
+        return "Claim " + claim.getId() + " is leased to another reviewer until " + claim.getLeaseExpiresAt();
+    }
+
+    private ClaimStatusHistory newHistory(Claim claim, String comment, UUID actorId) {
+        ClaimStatusHistory entry = new ClaimStatusHistory();
+        entry.setClaim(claim);
+        entry.setStatus(claim.getStatus());
+        entry.setChangedById(actorId);
+        entry.setComment(comment);
+        return entry;
+    }
+
+    private static String transitionError(ClaimStatus from, ClaimStatus to) {
+        return "Cannot change claim status from " + from + " to " + to;
+    }
+
+    // The cache is transaction-aware, so these evictions run after commit
+    private void evictUserClaims(Set<UUID> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_CLAIMS);
+        if (cache != null) {
+            userIds.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ucrmp.claimservice.service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Renders the images the review UI shows for a receipt: a normalized JPEG
+ * (RGB, longest side at most NORMALIZED_MAX_SIDE) and a thumbnail.
+ * Large scans are subsampled while they are decoded, so a 40-megapixel photo
+ * never becomes a 40-megapixel BufferedImage.
+ */
+final class ReceiptImageRenderer {
+
+    static final int NORMALIZED_MAX_SIDE = 2048;
+    static final int THUMBNAIL_MAX_SIDE = 320;
+
+    // Refuses decompression bombs before any pixel is decoded
+    static final long MAX_SOURCE_PIXELS = 200_000_000L;
+
+    static {
+        // Decode in memory rather than through ImageIO's temp files
+        ImageIO.setUseCache(false);
+    }
+
+    record Renditions(byte[] normalized, byte[] thumbnail) {}
+
+    private ReceiptImageRenderer() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if ImageIO cannot read the content or
+     *         the image is too large; retrying will not help
+     */
+    static Renditions render(InputStream content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Not an image format ImageIO can read");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IllegalArgumentException("Image is too large to render: " + width + "x" + height);
+                }
+
+                // Keep every step-th pixel: still at least NORMALIZED_MAX_SIDE on the longest side
+                int step = Math.max(1, Math.max(width, height) / NORMALIZED_MAX_SIDE);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage source = reader.read(0, param);
+
+                BufferedImage normalized = scale(source, NORMALIZED_MAX_SIDE);
+                BufferedImage thumbnail = scale(normalized, THUMBNAIL_MAX_SIDE);
+                return new Renditions(toJpeg(normalized), toJpeg(thumbnail));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Also flattens transparency onto white: JPEG has no alpha channel
+    static BufferedImage scale(BufferedImage source, int maxSide) {
+        double factor = Math.min(1.0, (double) maxSide / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ucrmp.claimservice.service;
+
+import java.util.UUID;
+
+/**
+ * Generates receipt thumbnails and normalized images off the request path.
+ * The receipts row holds the job state, so nothing is lost if the in-memory
+ * queue is full or the service restarts: the sweep submits it again.
+ */
+public interface ReceiptProcessingService {
+
+    // Queues the receipt; false if the queue is full (it stays PENDING)
+    boolean submit(UUID receiptId);
+
+    // Re-submits receipts that are pending, due for a retry or whose worker died
+    void submitDue();
+}
@@ -0,0 +1,271 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.entity.Receipt;
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
+import com.ucrmp.claimservice.repository.ReceiptBlobRepository;
+import com.ucrmp.claimservice.repository.ReceiptRepository;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Each job runs on its own virtual thread, but only `concurrency` of them
+ * decode images at a time (ImageIO work is CPU- and memory-bound) and at most
+ * `queue-capacity` more may wait. Past that, submit() refuses instead of
+ * blocking the caller; the receipt stays PENDING and the sweep submits it
+ * once there is room again.
+ *
+ * A job is claimed with a conditional UPDATE on its receipts row, so a
+ * receipt submitted twice (after commit and by the sweep, or on two nodes)
+ * is still processed once. Failures are retried with exponential backoff up
+ * to max-attempts.
+ */
+@Service
+public class ReceiptProcessingServiceImpl implements ReceiptProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptProcessingServiceImpl.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReceiptRepository receiptRepository;
+    private final ReceiptBlobRepository receiptBlobRepository;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Running plus waiting jobs; bounds the in-memory queue
+    private final Semaphore admission;
+    // Jobs allowed to decode at the same time
+    private final Semaphore workers;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rejected;
+
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration processingTimeout;
+
+    public ReceiptProcessingServiceImpl(ReceiptRepository receiptRepository,
+                                        ReceiptBlobRepository receiptBlobRepository,
+                                        ReceiptStorage receiptStorage,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.receipts.processing.concurrency:2}") int concurrency,
+                                        @Value("${app.receipts.processing.queue-capacity:100}") int queueCapacity,
+                                        @Value("${app.receipts.processing.max-attempts:5}") int maxAttempts,
+                                        @Value("${app.receipts.processing.retry-backoff:PT30S}") Duration retryBackoff,
+                                        @Value("${app.receipts.processing.timeout:PT5M}") Duration processingTimeout) {
+        this.receiptRepository = receiptRepository;
+        this.receiptBlobRepository = receiptBlobRepository;
+        this.receiptStorage = receiptStorage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.admission = new Semaphore(concurrency + queueCapacity);
+        this.workers = new Semaphore(concurrency);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.processingTimeout = processingTimeout;
+
+        Gauge.builder("receipts.processing.queue.depth", queued, AtomicInteger::get)
+                .description("Receipts waiting for a processing slot")
+                .register(meterRegistry);
+        Gauge.builder("receipts.processing.active", active, AtomicInteger::get)
+                .description("Receipts being processed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("receipts.processing.rejected")
+                .description("Submissions refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReceiptStored(ReceiptStoredEvent event) {
+        submit(event.receiptId());
+    }
+
+    @Override
+    public boolean submit(UUID receiptId) {
+        if (!inFlight.add(receiptId)) {
+            return true;
+        }
+        if (!admission.tryAcquire()) {
+            inFlight.remove(receiptId);
+            rejected.increment();
+            log.debug("Processing queue full, receipt {} left for the sweep", receiptId);
+            return false;
+        }
+        queued.incrementAndGet();
+        try {
+            executor.execute(() -> run(receiptId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            queued.decrementAndGet();
+            admission.release();
+            inFlight.remove(receiptId);
+            return false;
+        }
+    }
+
+    private void run(UUID receiptId) {
+        try {
+            workers.acquireUninterruptibly();
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            try {
+                process(receiptId);
+            } finally {
+                active.decrementAndGet();
+                workers.release();
+            }
+        } catch (RuntimeException e) {
+            log.error("Processing receipt {} failed unexpectedly", receiptId, e);
+        } finally {
+            admission.release();
+            inFlight.remove(receiptId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.receipts.processing.sweep-interval}")
+    public void submitDue() {
+        int room = admission.availablePermits();
+        if (room == 0) {
+            return;
+        }
+        List<UUID> due = receiptRepository.findIdsDueForProcessing(LocalDateTime.now(),
+                ReceiptProcessingStatus.PENDING, ReceiptProcessingStatus.PROCESSING, PageRequest.ofSize(room));
+        for (UUID receiptId : due) {
+            if (!submit(receiptId)) {
+                break;
+            }
+        }
+    }
+
+    void process(UUID receiptId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> receiptRepository.claimForProcessing(
+                receiptId, now, now.plus(processingTimeout),
+                ReceiptProcessingStatus.PENDING, ReceiptProcessingStatus.PROCESSING));
+        if (claimed == null || claimed == 0) {
+            // Done already, or another worker has it
+            return;
+        }
+        Receipt receipt = receiptRepository.findById(receiptId).orElse(null);
+        if (receipt == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            ReceiptImageRenderer.Renditions renditions;
+            try (InputStream in = receiptStorage.load(receipt.getFileUrl()).getInputStream()) {
+                renditions = ReceiptImageRenderer.render(in);
+            }
+            storeRenditions(receiptId, renditions);
+            outcome = "done";
+        } catch (IllegalArgumentException e) {
+            finish(receiptId, ReceiptProcessingStatus.SKIPPED, null, e.getMessage());
+            outcome = "skipped";
+        } catch (IOException | RuntimeException e) {
+            outcome = retryOrFail(receiptId, receipt.getProcessingAttempts(), e);
+        }
+        Timer.builder("receipts.processing.duration")
+                .description("Time to render one receipt's thumbnail and normalized image")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // Both images go through the content-addressed store, like uploads
+    private void storeRenditions(UUID receiptId, ReceiptImageRenderer.Renditions renditions) throws IOException {
+        ReceiptStorage.StagedFile normalized = receiptStorage.stage(new ByteArrayInputStream(renditions.normalized()));
+        ReceiptStorage.StagedFile thumbnail = receiptStorage.stage(new ByteArrayInputStream(renditions.thumbnail()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Receipt receipt = receiptRepository.findByIdForUpdate(receiptId).orElse(null);
+                // Deleted meanwhile, or finished by a worker that took over our lease
+                if (receipt == null || receipt.getProcessingStatus() == ReceiptProcessingStatus.DONE) {
+                    return;
+                }
+                receipt.setNormalizedSha256(publish(normalized));
+                receipt.setThumbnailSha256(publish(thumbnail));
+                receipt.setProcessingStatus(ReceiptProcessingStatus.DONE);
+                receipt.setProcessingNextAttemptAt(null);
+                receipt.setProcessingError(null);
+            });
+        } finally {
+            receiptStorage.discard(normalized);
+            receiptStorage.discard(thumbnail);
+        }
+    }
+
+    private String publish(ReceiptStorage.StagedFile staged) {
+        receiptBlobRepository.addReference(staged.sha256(), staged.size());
+        try {
+            receiptStorage.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store receipt rendition", e);
+        }
+        return staged.sha256();
+    }
+
+    private String retryOrFail(UUID receiptId, int attempts, Exception e) {
+        if (attempts >= maxAttempts) {
+            log.warn("Giving up on receipt {} after {} attempts: {}", receiptId, attempts, e.toString());
+            finish(receiptId, ReceiptProcessingStatus.FAILED, null, e.toString());
+            return "failed";
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+        log.info("Processing receipt {} failed (attempt {}), retrying in {}: {}", receiptId, attempts, backoff, e.toString());
+        finish(receiptId, ReceiptProcessingStatus.PENDING, LocalDateTime.now().plus(backoff), e.toString());
+        return "retry";
+    }
+
+    private void finish(UUID receiptId, ReceiptProcessingStatus status, LocalDateTime nextAttemptAt, String error) {
+        transactionTemplate.executeWithoutResult(tx -> receiptRepository.findById(receiptId).ifPresent(receipt -> {
+            receipt.setProcessingStatus(status);
+            receipt.setProcessingNextAttemptAt(nextAttemptAt);
+            receipt.setProcessingError(error == null || error.length() <= MAX_ERROR_LENGTH
+                    ? error : error.substring(0, MAX_ERROR_LENGTH));
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Unfinished jobs keep their lease and are picked up after it lapses
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ReceiptResponse;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface ReceiptService {
+
+    ReceiptResponse upload(UUID claimId, UUID userId, String fileName, String contentType, InputStream content)
+            throws IOException;
+
+    // Publishes an already staged file and records it as a receipt of the
+    // claim; access must have been checked by the caller
+    ReceiptResponse attach(UUID claimId, ReceiptStorage.StagedFile staged, String fileName, String contentType);
+
+    // Reviewers can see the receipts of any claim, other users only their own
+    List<ReceiptResponse> getReceipts(UUID claimId, UUID userId, boolean reviewer);
+
+    ReceiptDownload download(UUID claimId, UUID receiptId, UUID userId, boolean reviewer);
+
+    // Images rendered by the processing pipeline; 404 until they exist
+    ReceiptDownload downloadRendition(UUID claimId, UUID receiptId, UUID userId, boolean reviewer,
+                                      Rendition rendition);
+
+    void delete(UUID claimId, UUID receiptId, UUID userId);
+
+    // Removes stored files that no receipt references any more
+    void sweepUnreferencedBlobs();
+
+    enum Rendition { THUMBNAIL, NORMALIZED }
+
+    record ReceiptDownload(Resource resource, String fileName, String contentType) {}
+}
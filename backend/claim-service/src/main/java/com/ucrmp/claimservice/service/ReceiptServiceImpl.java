@@ -0,0 +1,318 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ReceiptResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.entity.Receipt;
+import com.ucrmp.claimservice.entity.ReceiptBlob;
+import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.ReceiptNotFoundException;
+import com.ucrmp.claimservice.exception.UnsupportedReceiptTypeException;
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ReceiptBlobRepository;
+import com.ucrmp.claimservice.repository.ReceiptRepository;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Receipts are stored content-addressed: each distinct file (by SHA-256) is
+ * kept once in ReceiptStorage and counted in receipt_blobs. The blob row lock
+ * orders uploads against the sweep that deletes unreferenced files, so a file
+ * is never removed while a new receipt is being pointed at it.
+ */
+@Service
+public class ReceiptServiceImpl implements ReceiptService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptServiceImpl.class);
+
+    static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
+            "application/pdf", "image/jpeg", "image/png", "image/webp");
+
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final ClaimRepository claimRepository;
+    private final ReceiptRepository receiptRepository;
+    private final ReceiptBlobRepository receiptBlobRepository;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReceiptServiceImpl(ClaimRepository claimRepository,
+                              ReceiptRepository receiptRepository,
+                              ReceiptBlobRepository receiptBlobRepository,
+                              ReceiptStorage receiptStorage,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher) {
+        this.claimRepository = claimRepository;
+        this.receiptRepository = receiptRepository;
+        this.receiptBlobRepository = receiptBlobRepository;
+        this.receiptStorage = receiptStorage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Streams the file to a staging area while hashing it, with no database
+     * connection held. Only then does a short transaction reference the
+     * blob, publish the file under its hash (a rename, or nothing if the
+     * bytes are already stored) and save the receipt row.
+     */
+    @Override
+    public ReceiptResponse upload(UUID claimId, UUID userId, String fileName, String contentType, InputStream content)
+            throws IOException {
+        findAccessibleClaim(claimId, userId, false);
+        requireSupportedType(contentType);
+
+        ReceiptStorage.StagedFile staged = receiptStorage.stage(content);
+        try {
+            return attach(claimId, staged, fileName, contentType);
+        } finally {
+            // No-op once the file has been published
+            receiptStorage.discard(staged);
+        }
+    }
+
+    @Override
+    public ReceiptResponse attach(UUID claimId, ReceiptStorage.StagedFile staged, String fileName, String contentType) {
+        return transactionTemplate.execute(status -> recordReceipt(claimId, staged, fileName, contentType));
+    }
+
+    private ReceiptResponse recordReceipt(UUID claimId, ReceiptStorage.StagedFile staged,
+                                          String fileName, String contentType) {
+        receiptBlobRepository.addReference(staged.sha256(), staged.size());
+        // O(1) primary key lookup on the row we now hold locked
+        boolean duplicate = receiptBlobRepository.findRefCount(staged.sha256()) > 1;
+
+        String location;
+        try {
+            location = receiptStorage.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store receipt", e);
+        }
+        if (!duplicate) {
+            // A rollback takes the blob row with it, which would leave the file orphaned
+            deleteFileOnRollback(staged.sha256(), location);
+        }
+
+        Receipt receipt = new Receipt();
+        receipt.setClaim(claimRepository.getReferenceById(claimId));
+        receipt.setFileName(cleanFileName(fileName));
+        receipt.setFileUrl(location);
+        receipt.setSha256(staged.sha256());
+        receipt.setContentType(contentType);
+        receipt.setSizeBytes(staged.size());
+        // Thumbnails are rendered from images only
+        receipt.setProcessingStatus(contentType.startsWith("image/")
+                ? ReceiptProcessingStatus.PENDING : ReceiptProcessingStatus.SKIPPED);
+        receipt = receiptRepository.save(receipt);
+        if (receipt.getProcessingStatus() == ReceiptProcessingStatus.PENDING) {
+            // Handled after commit, off the request thread
+            eventPublisher.publishEvent(new ReceiptStoredEvent(receipt.getId()));
+        }
+
+        log.info("Stored receipt {} ({} bytes, duplicate: {}) for claim {}",
+                receipt.getId(), staged.size(), duplicate, claimId);
+        ReceiptResponse response = mapToReceiptResponse(receipt, claimId);
+        response.setDuplicate(duplicate);
+        return response;
+    }
+
+    private void deleteFileOnRollback(String sha256, String location) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                // The lock keeps a concurrent upload of the same bytes from
+                // referencing the file while it is removed; if one already
+                // has, the file is theirs now
+                newTransactionTemplate.executeWithoutResult(tx -> {
+                    if (receiptBlobRepository.lockAndCount(sha256) > 0) {
+                        return;
+                    }
+                    try {
+                        receiptStorage.delete(location);
+                    } catch (IOException e) {
+                        log.warn("Could not delete receipt file {} after rollback: {}", location, e.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReceiptResponse> getReceipts(UUID claimId, UUID userId, boolean reviewer) {
+        findAccessibleClaim(claimId, userId, reviewer);
+        return receiptRepository.findByClaim_IdOrderByUploadedAt(claimId).stream()
+                .map(receipt -> mapToReceiptResponse(receipt, claimId))
+                .toList();
+    }
+
+    // Only looks up metadata; the file itself is streamed after the
+    // transaction has ended, while the response is being written
+    @Override
+    @Transactional(readOnly = true)
+    public ReceiptDownload download(UUID claimId, UUID receiptId, UUID userId, boolean reviewer) {
+        findAccessibleClaim(claimId, userId, reviewer);
+        Receipt receipt = findReceipt(claimId, receiptId);
+        return new ReceiptDownload(receiptStorage.load(receipt.getFileUrl()),
+                receipt.getFileName(), receipt.getContentType());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReceiptDownload downloadRendition(UUID claimId, UUID receiptId, UUID userId, boolean reviewer,
+                                             Rendition rendition) {
+        findAccessibleClaim(claimId, userId, reviewer);
+        Receipt receipt = findReceipt(claimId, receiptId);
+        String sha256 = rendition == Rendition.THUMBNAIL ? receipt.getThumbnailSha256() : receipt.getNormalizedSha256();
+        if (sha256 == null) {
+            throw new ReceiptNotFoundException("No " + rendition.name().toLowerCase() + " for receipt " + receiptId
+                    + " (processing: " + receipt.getProcessingStatus() + ")");
+        }
+        return new ReceiptDownload(receiptStorage.load(receiptStorage.locationOf(sha256)),
+                rendition.name().toLowerCase() + ".jpg", "image/jpeg");
+    }
+
+    /**
+     * Deletes the receipt row and drops its references to its blobs. The
+     * files themselves are removed later by the sweep, once nothing
+     * references them.
+     */
+    @Override
+    @Transactional
+    public void delete(UUID claimId, UUID receiptId, UUID userId) {
+        findAccessibleClaim(claimId, userId, false);
+        // Locked: waits for renditions being stored right now, so their references are seen
+        Receipt receipt = receiptRepository.findByIdAndClaimIdForUpdate(receiptId, claimId)
+                .orElseThrow(() -> new ReceiptNotFoundException("Receipt not found with ID: " + receiptId));
+        receiptRepository.delete(receipt);
+
+        if (receipt.getThumbnailSha256() != null) {
+            receiptBlobRepository.removeReference(receipt.getThumbnailSha256());
+        }
+        if (receipt.getNormalizedSha256() != null) {
+            receiptBlobRepository.removeReference(receipt.getNormalizedSha256());
+        }
+        if (receipt.getSha256() != null) {
+            receiptBlobRepository.removeReference(receipt.getSha256());
+        } else {
+            // Stored before deduplication: the file belongs to this receipt alone
+            String location = receipt.getFileUrl();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        receiptStorage.delete(location);
+                    } catch (IOException e) {
+                        log.warn("Could not delete receipt file {}: {}", location, e.getMessage());
+                    }
+                }
+            });
+        }
+        log.info("Deleted receipt {} of claim {}", receiptId, claimId);
+    }
+
+    // Candidates are read without locks; each one is then locked by primary
+    // key, re-checked and removed in a transaction of its own, so an upload
+    // of the same bytes waits for at most one file delete
+    @Override
+    @Scheduled(fixedDelayString = "${app.receipts.blob-sweep-interval}")
+    public void sweepUnreferencedBlobs() {
+        int removed = 0;
+        for (String sha256 : receiptBlobRepository.findUnreferencedHashes(SWEEP_BATCH_SIZE)) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> removeBlob(sha256)))) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced receipt blobs", removed);
+        }
+    }
+
+    private boolean removeBlob(String sha256) {
+        ReceiptBlob blob = receiptBlobRepository.lockIfUnreferenced(sha256).orElse(null);
+        if (blob == null) {
+            // Referenced again, or being referenced right now
+            return false;
+        }
+        try {
+            receiptStorage.delete(receiptStorage.locationOf(sha256));
+        } catch (IOException e) {
+            // Keep the row so the next sweep retries
+            log.warn("Could not delete receipt blob {}: {}", sha256, e.getMessage());
+            return false;
+        }
+        receiptBlobRepository.delete(blob);
+        return true;
+    }
+
+    private Receipt findReceipt(UUID claimId, UUID receiptId) {
+        return receiptRepository.findByIdAndClaim_Id(receiptId, claimId)
+                .orElseThrow(() -> new ReceiptNotFoundException("Receipt not found with ID: " + receiptId));
+    }
+
+    static void requireSupportedType(String contentType) {
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            throw new UnsupportedReceiptTypeException("Receipts must be one of " + ALLOWED_CONTENT_TYPES);
+        }
+    }
+
+    // Other users' claims are reported as missing rather than forbidden,
+    // so claim IDs cannot be probed
+    private Claim findAccessibleClaim(UUID claimId, UUID userId, boolean reviewer) {
+        Claim claim = claimRepository.findById(claimId)
+                .orElseThrow(() -> new ClaimNotFoundException("Claim not found with ID: " + claimId));
+        if (!reviewer && !claim.getUserId().equals(userId)) {
+            throw new ClaimNotFoundException("Claim not found with ID: " + claimId);
+        }
+        return claim;
+    }
+
+    // Keeps only the last path segment of the client's file name
+    static String cleanFileName(String fileName) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName == null ? "" : fileName));
+        if (!StringUtils.hasText(name)) {
+            name = "receipt";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+
+    private static ReceiptResponse mapToReceiptResponse(Receipt receipt, UUID claimId) {
+        ReceiptResponse response = new ReceiptResponse();
+        response.setId(receipt.getId());
+        response.setClaimId(claimId);
+        response.setFileName(receipt.getFileName());
+        response.setContentType(receipt.getContentType());
+        response.setSizeBytes(receipt.getSizeBytes());
+        response.setSha256(receipt.getSha256());
+        response.setProcessingStatus(receipt.getProcessingStatus());
+        response.setThumbnailAvailable(receipt.getThumbnailSha256() != null);
+        response.setUploadedAt(receipt.getUploadedAt());
+        return response;
+    }
+}
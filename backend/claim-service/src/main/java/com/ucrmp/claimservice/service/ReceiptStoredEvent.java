@@ -0,0 +1,7 @@
+package com.ucrmp.claimservice.service;
+
+import java.util.UUID;
+
+// Published inside the transaction that saves a receipt; the processing
+// pipeline picks it up once that transaction has committed
+public record ReceiptStoredEvent(UUID receiptId) {}
@@ -0,0 +1,29 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ReceiptResponse;
+import com.ucrmp.claimservice.dto.ReceiptUploadResponse;
+import com.ucrmp.claimservice.dto.StartReceiptUploadRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Resumable receipt uploads: start an upload, send its chunks (in any order,
+ * retrying any that fail), then complete it to get the Receipt.
+ */
+public interface ReceiptUploadService {
+
+    ReceiptUploadResponse startUpload(UUID claimId, UUID userId, StartReceiptUploadRequest request) throws IOException;
+
+    // Tells a resuming client which chunks are still missing
+    ReceiptUploadResponse getUpload(UUID claimId, UUID uploadId, UUID userId);
+
+    ReceiptUploadResponse uploadChunk(UUID claimId, UUID uploadId, UUID userId, int index, InputStream content)
+            throws IOException;
+
+    ReceiptResponse completeUpload(UUID claimId, UUID uploadId, UUID userId) throws IOException;
+
+    // Drops uploads that were never completed, with their files
+    void expireAbandonedUploads();
+}
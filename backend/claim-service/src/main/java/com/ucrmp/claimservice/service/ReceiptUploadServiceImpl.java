@@ -0,0 +1,244 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ReceiptResponse;
+import com.ucrmp.claimservice.dto.ReceiptUploadResponse;
+import com.ucrmp.claimservice.dto.StartReceiptUploadRequest;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.entity.ReceiptUploadSession;
+import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.InvalidReceiptChunkException;
+import com.ucrmp.claimservice.exception.ReceiptUploadNotFoundException;
+import com.ucrmp.claimservice.exception.ReceiptUploadStateException;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ReceiptUploadSessionRepository;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chunks are written straight to their offsets in a file allocated at the
+ * final size, outside any transaction; a short transaction then sets the
+ * chunk's bit in the session row (locked, so parallel chunks do not lose each
+ * other's bits). Completion hashes the file in place and publishes it with a
+ * rename, so the bytes are written to disk exactly once.
+ *
+ * Receipt files live on this node's disk, so chunk writes and completion are
+ * coordinated with in-process locks: chunk writes share a session's lock and
+ * completion takes it exclusively, so no chunk can land in a file that is
+ * being hashed or has already been published.
+ */
+@Service
+public class ReceiptUploadServiceImpl implements ReceiptUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptUploadServiceImpl.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReceiptUploadSessionRepository sessionRepository;
+    private final ClaimRepository claimRepository;
+    private final ReceiptService receiptService;
+    private final ReceiptStorage receiptStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final Duration sessionTtl;
+    private final ReadWriteLock[] sessionLocks = new ReadWriteLock[LOCK_STRIPES];
+
+    public ReceiptUploadServiceImpl(ReceiptUploadSessionRepository sessionRepository,
+                                    ClaimRepository claimRepository,
+                                    ReceiptService receiptService,
+                                    ReceiptStorage receiptStorage,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.receipts.upload.chunk-size:1MB}") DataSize chunkSize,
+                                    @Value("${spring.servlet.multipart.max-file-size:20MB}") DataSize maxFileSize,
+                                    @Value("${app.receipts.upload.session-ttl:PT24H}") Duration sessionTtl) {
+        this.sessionRepository = sessionRepository;
+        this.claimRepository = claimRepository;
+        this.receiptService = receiptService;
+        this.receiptStorage = receiptStorage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.maxFileSize = maxFileSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            sessionLocks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public ReceiptUploadResponse startUpload(UUID claimId, UUID userId, StartReceiptUploadRequest request)
+            throws IOException {
+        Claim claim = claimRepository.findById(claimId)
+                .orElseThrow(() -> new ClaimNotFoundException("Claim not found with ID: " + claimId));
+        if (!claim.getUserId().equals(userId)) {
+            throw new ClaimNotFoundException("Claim not found with ID: " + claimId);
+        }
+        ReceiptServiceImpl.requireSupportedType(request.getContentType());
+        // Same limit as a single-request upload
+        if (request.getTotalSize() > maxFileSize) {
+            throw new MaxUploadSizeExceededException(maxFileSize);
+        }
+
+        ReceiptUploadSession session = new ReceiptUploadSession();
+        session.setClaimId(claimId);
+        session.setUserId(userId);
+        session.setFileName(ReceiptServiceImpl.cleanFileName(request.getFileName()));
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setChunkCount(Math.toIntExact((request.getTotalSize() + chunkSize - 1) / chunkSize));
+        session.setExpiresAt(LocalDateTime.now().plus(sessionTtl));
+        session = sessionRepository.save(session);
+
+        try {
+            receiptStorage.allocateUpload(session.getId(), session.getTotalSize());
+        } catch (IOException | RuntimeException e) {
+            sessionRepository.delete(session);
+            throw e;
+        }
+        log.info("Started upload {} of {} bytes in {} chunks for claim {}",
+                session.getId(), session.getTotalSize(), session.getChunkCount(), claimId);
+        return toResponse(session);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReceiptUploadResponse getUpload(UUID claimId, UUID uploadId, UUID userId) {
+        return toResponse(findSession(claimId, uploadId, userId));
+    }
+
+    @Override
+    public ReceiptUploadResponse uploadChunk(UUID claimId, UUID uploadId, UUID userId, int index, InputStream content)
+            throws IOException {
+        Lock lock = lockFor(uploadId).readLock();
+        lock.lock();
+        try {
+            ReceiptUploadSession session = findSession(claimId, uploadId, userId);
+            if (session.getStatus() != ReceiptUploadSession.Status.OPEN) {
+                throw new ReceiptUploadStateException("Upload " + uploadId + " is already being completed");
+            }
+            if (index < 0 || index >= session.getChunkCount()) {
+                throw new InvalidReceiptChunkException(
+                        "Chunk index must be between 0 and " + (session.getChunkCount() - 1));
+            }
+
+            try {
+                receiptStorage.writeUploadChunk(uploadId, session.chunkOffset(index), session.chunkLength(index), content);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidReceiptChunkException(e.getMessage());
+            }
+
+            // Re-sending a chunk just overwrites the same bytes and sets the same bit
+            return transactionTemplate.execute(status -> {
+                ReceiptUploadSession locked = sessionRepository.findByIdForUpdate(uploadId)
+                        .orElseThrow(() -> new ReceiptUploadNotFoundException("Upload not found with ID: " + uploadId));
+                locked.markReceived(index);
+                return toResponse(locked);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ReceiptResponse completeUpload(UUID claimId, UUID uploadId, UUID userId) throws IOException {
+        // Waits for chunk writes in flight; later ones see COMPLETING and are refused
+        Lock lock = lockFor(uploadId).writeLock();
+        lock.lock();
+        ReceiptUploadSession session;
+        try {
+            session = transactionTemplate.execute(status -> {
+                ReceiptUploadSession locked = sessionRepository.findByIdForUpdate(uploadId)
+                        .filter(s -> s.getClaimId().equals(claimId) && s.getUserId().equals(userId))
+                        .orElseThrow(() -> new ReceiptUploadNotFoundException("Upload not found with ID: " + uploadId));
+                if (locked.getStatus() != ReceiptUploadSession.Status.OPEN) {
+                    throw new ReceiptUploadStateException("Upload " + uploadId + " is already being completed");
+                }
+                if (!locked.isComplete()) {
+                    throw new ReceiptUploadStateException(
+                            "Upload " + uploadId + " is missing chunks " + locked.getMissingChunks());
+                }
+                locked.setStatus(ReceiptUploadSession.Status.COMPLETING);
+                return locked;
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            ReceiptStorage.StagedFile staged = receiptStorage.stageUpload(uploadId);
+            ReceiptResponse response = transactionTemplate.execute(status -> {
+                sessionRepository.deleteById(uploadId);
+                return receiptService.attach(claimId, staged, session.getFileName(), session.getContentType());
+            });
+            log.info("Completed upload {} as receipt {}", uploadId, response.getId());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            // Lets the client retry the completion
+            transactionTemplate.executeWithoutResult(status -> sessionRepository.findByIdForUpdate(uploadId)
+                    .ifPresent(s -> s.setStatus(ReceiptUploadSession.Status.OPEN)));
+            throw e;
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.receipts.upload.expiry-sweep-interval}")
+    public void expireAbandonedUploads() {
+        List<ReceiptUploadSession> expired = sessionRepository.findTop100ByExpiresAtBefore(LocalDateTime.now());
+        for (ReceiptUploadSession session : expired) {
+            Lock lock = lockFor(session.getId()).writeLock();
+            lock.lock();
+            try {
+                sessionRepository.deleteById(session.getId());
+                receiptStorage.deleteUpload(session.getId());
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Expired {} abandoned receipt uploads", expired.size());
+        }
+    }
+
+    // Another user's upload is reported as missing, like their claims
+    private ReceiptUploadSession findSession(UUID claimId, UUID uploadId, UUID userId) {
+        return sessionRepository.findById(uploadId)
+                .filter(s -> s.getClaimId().equals(claimId) && s.getUserId().equals(userId))
+                .orElseThrow(() -> new ReceiptUploadNotFoundException("Upload not found with ID: " + uploadId));
+    }
+
+    private ReadWriteLock lockFor(UUID uploadId) {
+        return sessionLocks[Math.floorMod(uploadId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static ReceiptUploadResponse toResponse(ReceiptUploadSession session) {
+        ReceiptUploadResponse response = new ReceiptUploadResponse();
+        response.setId(session.getId());
+        response.setClaimId(session.getClaimId());
+        response.setFileName(session.getFileName());
+        response.setTotalSize(session.getTotalSize());
+        response.setChunkSize(session.getChunkSize());
+        response.setChunkCount(session.getChunkCount());
+        response.setMissingChunks(session.getMissingChunks());
+        response.setExpiresAt(session.getExpiresAt());
+        return response;
+    }
+}
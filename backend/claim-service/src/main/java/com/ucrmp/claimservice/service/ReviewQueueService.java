@@ -0,0 +1,15 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ReviewQueueService {
+
+    // Leases up to `size` UNDER_REVIEW claims to the reviewer, oldest first
+    List<ClaimResponse> leaseNext(UUID reviewerId, Integer size);
+
+    // Hands a leased claim back to the queue before its lease runs out
+    void release(UUID claimId, UUID reviewerId);
+}
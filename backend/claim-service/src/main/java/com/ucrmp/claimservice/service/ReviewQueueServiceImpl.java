@@ -0,0 +1,72 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.ReviewLeaseException;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hands out UNDER_REVIEW claims to concurrent reviewers. Each call locks its
+ * batch with FOR UPDATE SKIP LOCKED, stamps the reviewer and a lease expiry on
+ * it and commits, so two reviewers never get the same claim. A claim whose
+ * lease runs out (the reviewer went away) becomes claimable again.
+ * Leasing does not change Claim.version, so a reviewer can still decide the
+ * claim with the version they loaded before taking it.
+ */
+@Service
+public class ReviewQueueServiceImpl implements ReviewQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewQueueServiceImpl.class);
+
+    static final int DEFAULT_BATCH_SIZE = 10;
+    static final int MAX_BATCH_SIZE = 50;
+
+    private final ClaimRepository claimRepository;
+    private final Duration leaseDuration;
+
+    public ReviewQueueServiceImpl(ClaimRepository claimRepository,
+                                  @Value("${app.claims.review.lease-duration:PT15M}") Duration leaseDuration) {
+        this.claimRepository = claimRepository;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimResponse> leaseNext(UUID reviewerId, Integer size) {
+        int batchSize = size == null ? DEFAULT_BATCH_SIZE : Math.max(1, Math.min(size, MAX_BATCH_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Claim> claims = claimRepository.lockClaimableForReview(now, batchSize);
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+        if (!claims.isEmpty()) {
+            // One UPDATE for the whole batch; the row locks are released at commit
+            claimRepository.lease(claims.stream().map(Claim::getId).toList(), reviewerId, expiresAt);
+        }
+
+        log.info("Leased {} claims to reviewer {} until {}", claims.size(), reviewerId, expiresAt);
+        return claims.stream().map(ClaimMapper::toResponse).toList();
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID claimId, UUID reviewerId) {
+        if (claimRepository.releaseLease(claimId, reviewerId) == 0) {
+            if (!claimRepository.existsById(claimId)) {
+                throw new ClaimNotFoundException("Claim not found with ID: " + claimId);
+            }
+            throw new ReviewLeaseException("Claim " + claimId + " is not leased to reviewer " + reviewerId);
+        }
+        log.info("Reviewer {} released claim {}", reviewerId, claimId);
+    }
+}
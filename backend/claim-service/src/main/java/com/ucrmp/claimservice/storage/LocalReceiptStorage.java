@@ -0,0 +1,205 @@
+package com.ucrmp.claimservice.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Keeps receipts on the local filesystem under app.receipts.storage-dir.
+ * Content lives at sha256/ab/cd/&lt;hash&gt;, so identical files share one copy.
+ * Uploads, including resumable ones, are staged in tmp/ and moved into place
+ * atomically, so a reader never sees a half-written file.
+ */
+@Component
+public class LocalReceiptStorage implements ReceiptStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReceiptStorage.class);
+
+    private static final String SHA256_SCHEME = "sha256:";
+    // Per-claim files written before content addressing
+    private static final String LEGACY_SCHEME = "local:";
+
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path blobDir;
+    private final Path tempDir;
+
+    public LocalReceiptStorage(@Value("${app.receipts.storage-dir}") String storageDir) {
+        this.root = Path.of(storageDir).toAbsolutePath().normalize();
+        this.blobDir = root.resolve("sha256");
+        this.tempDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(blobDir);
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create receipt storage directory " + root, e);
+        }
+    }
+
+    @Override
+    public StagedFile stage(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try (InputStream in = content;
+             OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+            // Copies through a small fixed buffer, hashing as it goes
+            long size = in.transferTo(out);
+            return new StagedFile(HexFormat.of().formatHex(digest.digest()), size, temp);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public String publish(StagedFile staged) throws IOException {
+        Path target = blobPath(staged.sha256());
+        if (Files.exists(target)) {
+            discard(staged);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(staged.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same bytes published concurrently; either copy will do
+                discard(staged);
+            }
+        }
+        return locationOf(staged.sha256());
+    }
+
+    @Override
+    public void discard(StagedFile staged) {
+        try {
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            log.warn("Could not remove staged receipt {}: {}", staged.tempFile(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Resource load(String location) {
+        return new FileSystemResource(resolve(location));
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(resolve(location));
+    }
+
+    @Override
+    public String locationOf(String sha256) {
+        return SHA256_SCHEME + sha256;
+    }
+
+    @Override
+    public void allocateUpload(UUID uploadId, long size) throws IOException {
+        // Sets the length without writing: sparse on filesystems that support it
+        try (RandomAccessFile file = new RandomAccessFile(Files.createFile(uploadPath(uploadId)).toFile(), "rw")) {
+            file.setLength(size);
+        }
+    }
+
+    @Override
+    public void writeUploadChunk(UUID uploadId, long offset, long length, InputStream content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+        long written = 0;
+        // No CREATE: chunks can only land in an allocated upload
+        try (InputStream in = content;
+             ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel target = FileChannel.open(uploadPath(uploadId), StandardOpenOption.WRITE)) {
+            while (written < length) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), length - written));
+                if (source.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += target.write(buffer, offset + written);
+                }
+            }
+            if (written < length || in.read() != -1) {
+                throw new IllegalArgumentException("Chunk must be exactly " + length + " bytes");
+            }
+        }
+    }
+
+    @Override
+    public StagedFile stageUpload(UUID uploadId) throws IOException {
+        Path path = uploadPath(uploadId);
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(path);
+             OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            in.transferTo(out);
+        }
+        return new StagedFile(HexFormat.of().formatHex(digest.digest()), Files.size(path), path);
+    }
+
+    @Override
+    public void deleteUpload(UUID uploadId) {
+        try {
+            Files.deleteIfExists(uploadPath(uploadId));
+        } catch (IOException e) {
+            log.warn("Could not remove receipt upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private Path uploadPath(UUID uploadId) {
+        return tempDir.resolve("chunked-" + uploadId + ".part");
+    }
+
+    // Rejects anything that is not one of our locations or points outside the root
+    Path resolve(String location) {
+        if (location != null && location.startsWith(SHA256_SCHEME)) {
+            return blobPath(location.substring(SHA256_SCHEME.length()));
+        }
+        if (location == null || !location.startsWith(LEGACY_SCHEME)) {
+            throw new IllegalArgumentException("Not a local receipt location: " + location);
+        }
+        Path path = root.resolve(location.substring(LEGACY_SCHEME.length())).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Receipt location escapes the storage directory: " + location);
+        }
+        return path;
+    }
+
+    // Two levels of fan-out keep directories small
+    private Path blobPath(String sha256) {
+        if (!sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return blobDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
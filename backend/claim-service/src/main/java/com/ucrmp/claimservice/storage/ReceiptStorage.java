@@ -0,0 +1,48 @@
+package com.ucrmp.claimservice.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Where receipt files live. Content is stored once per SHA-256: an upload is
+ * first staged (streamed to a temp file while it is hashed), then published
+ * under its hash. Locations returned by publish() are what gets stored in
+ * Receipt.fileUrl; callers treat them as opaque.
+ */
+public interface ReceiptStorage {
+
+    // Streams the content to a temp file, computing its SHA-256 on the way
+    StagedFile stage(InputStream content) throws IOException;
+
+    // Moves the staged file to its content address, or drops it if that
+    // content is already stored. Idempotent.
+    String publish(StagedFile staged) throws IOException;
+
+    // Removes the temp file if it was not published
+    void discard(StagedFile staged);
+
+    Resource load(String location);
+
+    void delete(String location) throws IOException;
+
+    String locationOf(String sha256);
+
+    // Resumable uploads: a file of the final size is allocated up front and
+    // chunks are written at their offsets, in any order and any number of times
+    void allocateUpload(UUID uploadId, long size) throws IOException;
+
+    // Writes exactly length bytes at offset; throws IllegalArgumentException
+    // if the content is shorter or longer
+    void writeUploadChunk(UUID uploadId, long offset, long length, InputStream content) throws IOException;
+
+    // Hashes the assembled file where it is, so publishing it is a rename
+    StagedFile stageUpload(UUID uploadId) throws IOException;
+
+    void deleteUpload(UUID uploadId);
+
+    record StagedFile(String sha256, long size, Path tempFile) {}
+}
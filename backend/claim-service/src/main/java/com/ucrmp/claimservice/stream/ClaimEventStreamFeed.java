@@ -0,0 +1,108 @@
+package com.ucrmp.claimservice.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimOutboxRepository;
+import com.ucrmp.claimservice.outbox.OutboxGapTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tails the claim outbox on this node and hands new events to the stream
+ * registry. Unlike ClaimOutboxRelay it takes no lock and keeps its position
+ * in memory: every node reads every event, because the user's stream may
+ * be open on any of them. It follows the same gap rule as the relay
+ * (OutboxGapTracker), so an event that commits late is not skipped; ids
+ * given up on after gap-timeout are logged and counted
+ * (claims.stream.ids.skipped).
+ *
+ * While nobody is connected it only tracks the newest id, so streams opened
+ * later start from (at most one poll before) the moment they connected.
+ */
+@Component
+public class ClaimEventStreamFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimEventStreamFeed.class);
+
+    private final ClaimOutboxRepository outboxRepository;
+    private final ClaimEventStreamRegistry registry;
+    private final ObjectReader eventReader;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final OutboxGapTracker gapTracker;
+    private final Counter skippedIds;
+
+    // Last outbox id handed to the registry; only touched by poll(), which never overlaps itself
+    private long position = -1;
+
+    public ClaimEventStreamFeed(ClaimOutboxRepository outboxRepository,
+                                ClaimEventStreamRegistry registry,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.claims.outbox.batch-size:200}") int batchSize,
+                                @Value("${app.claims.outbox.gap-timeout:PT2M}") Duration gapTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.registry = registry;
+        this.eventReader = objectMapper.readerFor(ClaimEvent.class);
+        this.batchSize = batchSize;
+        this.gapTimeout = gapTimeout;
+        this.gapTracker = new OutboxGapTracker(outboxRepository, gapTimeout);
+        this.skippedIds = Counter.builder("claims.stream.ids.skipped")
+                .description("Outbox ids the stream feed stopped waiting for after gap-timeout")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.claims.stream.poll-interval}")
+    public void poll() {
+        if (position < 0 || !registry.hasSubscribers()) {
+            position = outboxRepository.findMaxId();
+            return;
+        }
+        int delivered;
+        do {
+            delivered = pollBatch();
+        } while (delivered == batchSize);
+    }
+
+    int pollBatch() {
+        List<ClaimOutboxRepository.OutboxRow> ready = gapTracker.readDeliverable(position, batchSize,
+                (firstId, lastId, timedOut) -> {
+                    if (timedOut) {
+                        log.warn("Stream feed skipped outbox ids {}..{}: not committed within {}",
+                                firstId, lastId, gapTimeout);
+                        skippedIds.increment(lastId - firstId + 1);
+                    }
+                });
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        List<ClaimEvent> events = new ArrayList<>(ready.size());
+        for (ClaimOutboxRepository.OutboxRow row : ready) {
+            try {
+                events.add(eventReader.<ClaimEvent>readValue(row.payload()).withSequence(row.id()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable outbox event " + row.id(), e);
+            }
+        }
+        registry.dispatch(events);
+        position = ready.get(ready.size() - 1).id();
+        return ready.size();
+    }
+
+    long getPosition() {
+        return position;
+    }
+}
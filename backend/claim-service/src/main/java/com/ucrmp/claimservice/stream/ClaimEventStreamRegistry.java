@@ -0,0 +1,187 @@
+package com.ucrmp.claimservice.stream;
+
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open claim event streams, by user. Each stream is an SseEmitter on an
+ * async servlet request: the request thread goes back to the pool as soon
+ * as the stream is opened, so an idle connection costs one map entry and a
+ * socket, never a thread. A comment line every heartbeat-interval keeps
+ * proxies from closing idle streams and finds clients that went away.
+ *
+ * Events (from ClaimEventStreamFeed) and heartbeats are written by one
+ * writer thread of the registry's own, never by the caller. A client that
+ * reads slowly can then only hold up other streams, not the shared
+ * scheduler that also runs the outbox relay and the sweeps. The writer's
+ * queue is bounded; writes that do not fit are dropped and counted
+ * (claims.stream.writes.dropped), and clients catch up from the claims API.
+ *
+ * A user may have a few streams open (one per tab); opening one more
+ * closes their oldest.
+ */
+@Component
+public class ClaimEventStreamRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaimEventStreamRegistry.class);
+
+    private final Map<UUID, List<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final int maxStreamsPerUser;
+    private final Executor writer;
+    private final Counter eventsSent;
+    private final Counter writesDropped;
+
+    @Autowired
+    public ClaimEventStreamRegistry(MeterRegistry meterRegistry,
+                                    @Value("${app.claims.stream.timeout:PT30M}") Duration timeout,
+                                    @Value("${app.claims.stream.max-per-user:5}") int maxStreamsPerUser,
+                                    @Value("${app.claims.stream.write-queue-capacity:1000}") int writeQueueCapacity) {
+        this(meterRegistry, timeout, maxStreamsPerUser, new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writeQueueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "claim-stream-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ClaimEventStreamRegistry(MeterRegistry meterRegistry, Duration timeout, int maxStreamsPerUser,
+                             Executor writer) {
+        this.writer = writer;
+        this.timeout = timeout;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.eventsSent = Counter.builder("claims.stream.events.sent")
+                .description("Claim events written to open streams")
+                .register(meterRegistry);
+        this.writesDropped = Counter.builder("claims.stream.writes.dropped")
+                .description("Event batches and heartbeats dropped because the stream writer was behind")
+                .register(meterRegistry);
+        Gauge.builder("claims.stream.connections", this, ClaimEventStreamRegistry::getConnectionCount)
+                .description("Open claim event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> {
+            unsubscribe(userId, emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(userId, emitter));
+
+        List<SseEmitter> evicted = new ArrayList<>();
+        streams.compute(userId, (id, userStreams) -> {
+            List<SseEmitter> updated = userStreams == null ? new CopyOnWriteArrayList<>() : userStreams;
+            updated.add(emitter);
+            while (updated.size() > maxStreamsPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            return updated;
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        // Sent right away so the response is committed and proxies start streaming
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !streams.isEmpty();
+    }
+
+    public int getConnectionCount() {
+        return streams.values().stream().mapToInt(List::size).sum();
+    }
+
+    // Each event goes only to the streams of the user who owns the claim
+    public void dispatch(List<ClaimEvent> events) {
+        write(() -> deliver(events));
+    }
+
+    private void deliver(List<ClaimEvent> events) {
+        for (ClaimEvent event : events) {
+            List<SseEmitter> userStreams = streams.get(event.userId());
+            if (userStreams == null) {
+                continue;
+            }
+            for (SseEmitter emitter : userStreams) {
+                boolean sent = send(event.userId(), emitter, SseEmitter.event()
+                        .id(Long.toString(event.sequence()))
+                        .name(event.type().name())
+                        .data(event));
+                if (sent) {
+                    eventsSent.increment();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.claims.stream.heartbeat-interval}")
+    public void sendHeartbeats() {
+        write(() -> streams.forEach((userId, userStreams) ->
+                userStreams.forEach(emitter -> send(userId, emitter, SseEmitter.event().comment("keep-alive")))));
+    }
+
+    // Queued in order on the writer thread; the caller never touches a socket
+    private void write(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            writesDropped.increment();
+            log.warn("Claim event stream writer is behind, dropping a write");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writer instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // A failed write means the client is gone: Spring completes the emitter, we forget it
+    private boolean send(UUID userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping claim event stream of user {}: {}", userId, e.toString());
+            unsubscribe(userId, emitter);
+            return false;
+        }
+    }
+
+    private void unsubscribe(UUID userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            userStreams.remove(emitter);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
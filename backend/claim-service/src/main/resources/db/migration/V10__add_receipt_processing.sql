@@ -0,0 +1,16 @@
+-- V10__add_receipt_processing.sql
+-- Post-processing state for receipts (thumbnail + normalized image). The
+-- receipts row is the job: workers claim it with a conditional UPDATE,
+-- processing_next_attempt_at is both the retry time and the claim's lease.
+-- Existing receipts start as PENDING and are picked up by the retry sweep.
+
+ALTER TABLE receipts
+ADD COLUMN processing_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+ADD COLUMN processing_attempts INT NOT NULL DEFAULT 0,
+ADD COLUMN processing_next_attempt_at TIMESTAMP NULL,
+ADD COLUMN processing_error VARCHAR(500) NULL,
+ADD COLUMN thumbnail_sha256 VARCHAR(64) NULL,
+ADD COLUMN normalized_sha256 VARCHAR(64) NULL;
+
+-- Serves the sweep: WHERE processing_status IN (...) AND processing_next_attempt_at <= ?
+CREATE INDEX idx_receipts_processing ON receipts (processing_status, processing_next_attempt_at);
@@ -0,0 +1,25 @@
+-- V11__create_claim_outbox.sql
+-- Transactional outbox for claim events. Rows are written in the same
+-- transaction as the claim change; the relay delivers them in id order and
+-- records how far it got in claim_outbox_relay (one watermark row per relay).
+
+CREATE TABLE claim_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    claim_id BINARY(16) NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (id)
+);
+
+-- Serves the retention cleanup
+CREATE INDEX idx_claim_outbox_created ON claim_outbox (created_at);
+
+CREATE TABLE claim_outbox_relay (
+    name VARCHAR(50) NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (name)
+);
+
+INSERT INTO claim_outbox_relay (name, last_event_id) VALUES ('default', 0);
@@ -0,0 +1,14 @@
+-- V12__create_job_leases.sql
+-- One row per scheduled job that must run on a single node at a time. A node
+-- takes the job with a conditional UPDATE (free, or its lease ran out) and
+-- renews it while it works, so a node that dies hands the job over once
+-- locked_until passes.
+
+CREATE TABLE job_leases (
+    name VARCHAR(50) NOT NULL,
+    owner VARCHAR(64) NULL,
+    locked_until TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (name)
+);
+
+INSERT INTO job_leases (name) VALUES ('claim-summary-rebuild');
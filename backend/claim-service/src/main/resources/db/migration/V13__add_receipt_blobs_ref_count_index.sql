@@ -0,0 +1,4 @@
+-- V13__add_receipt_blobs_ref_count_index.sql
+-- Serves the blob sweep's WHERE ref_count <= 0, which otherwise scans the
+-- whole table
+CREATE INDEX idx_receipt_blobs_ref_count ON receipt_blobs (ref_count);
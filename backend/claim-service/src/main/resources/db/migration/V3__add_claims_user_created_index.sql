@@ -0,0 +1,5 @@
+-- V3__add_claims_user_created_index.sql
+-- Backs keyset pagination of a user's claims: (user_id, created_at, id) matches
+-- the ORDER BY of the page queries, so every page is a short index range scan
+CREATE INDEX idx_claims_user_created_id
+    ON claims (user_id, created_at DESC, id DESC);
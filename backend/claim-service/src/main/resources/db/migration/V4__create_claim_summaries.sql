@@ -0,0 +1,18 @@
+-- V4__create_claim_summaries.sql
+-- Per-user claim counts and totals by status and type, kept up to date on
+-- every insert and status change so dashboard stats are a constant-size read
+
+CREATE TABLE claim_summaries (
+    user_id BINARY(16) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    claim_type VARCHAR(50) NOT NULL,
+    claim_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, status, claim_type)
+);
+
+-- Backfill from the existing claims
+INSERT INTO claim_summaries (user_id, status, claim_type, claim_count, total_amount)
+SELECT user_id, status, claim_type, COUNT(*), SUM(amount)
+FROM claims
+GROUP BY user_id, status, claim_type;
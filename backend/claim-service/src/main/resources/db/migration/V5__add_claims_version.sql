@@ -0,0 +1,4 @@
+-- V5__add_claims_version.sql
+-- Optimistic locking for claim status changes
+ALTER TABLE claims
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- V6__add_review_queue.sql
+-- Lets reviewers lease UNDER_REVIEW claims from a shared queue
+
+ALTER TABLE claims
+ADD COLUMN reviewer_id BINARY(16) NULL,
+ADD COLUMN lease_expires_at TIMESTAMP NULL;
+
+-- Serves the queue scan: WHERE status = ? ORDER BY created_at, id
+CREATE INDEX idx_claims_status_created ON claims (status, created_at, id);
@@ -0,0 +1,7 @@
+-- V7__add_receipt_file_details.sql
+-- What is needed to serve a stored receipt back: its media type and size
+ALTER TABLE receipts
+ADD COLUMN content_type VARCHAR(100) NOT NULL DEFAULT 'application/octet-stream',
+ADD COLUMN size_bytes BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_receipts_claim_uploaded ON receipts (claim_id, uploaded_at);
@@ -0,0 +1,17 @@
+-- V8__add_receipt_blobs.sql
+-- Content-addressed receipt storage: one row (and one stored file) per
+-- distinct SHA-256, shared by every receipt with the same bytes
+
+CREATE TABLE receipt_blobs (
+    sha256 VARCHAR(64) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sha256)
+);
+
+-- Null for receipts stored before content addressing
+ALTER TABLE receipts
+ADD COLUMN sha256 VARCHAR(64) NULL;
+
+CREATE INDEX idx_receipts_sha256 ON receipts (sha256);
@@ -0,0 +1,24 @@
+-- V9__create_receipt_upload_sessions.sql
+-- Resumable receipt uploads: one row per upload in progress. received_chunks
+-- is a bitmap (bit i set once chunk i is stored) so a client can resume by
+-- re-sending only the chunks that are missing.
+
+CREATE TABLE receipt_upload_sessions (
+    id BINARY(16) NOT NULL,
+    claim_id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    total_size BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    chunk_count INT NOT NULL,
+    received_chunks VARBINARY(1024) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (claim_id) REFERENCES claims(id) ON DELETE CASCADE
+);
+
+-- Serves the sweep of abandoned uploads
+CREATE INDEX idx_receipt_uploads_expires ON receipt_upload_sessions (expires_at);
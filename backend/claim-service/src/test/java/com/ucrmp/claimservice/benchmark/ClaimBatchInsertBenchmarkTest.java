@@ -0,0 +1,115 @@
+package com.ucrmp.claimservice.benchmark;
+
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Throughput of N single POST /api/v1/claims calls versus one
+ * POST /api/v1/claims/batch carrying the same N claims.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ClaimBatchInsertBenchmarkTest
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClaimBatchInsertBenchmarkTest {
+
+    private static final int CLAIMS = 500;
+    private static final int ROUNDS = 3;
+
+    private static final String CLAIM_JSON = """
+            {
+                "claimType": "TRAVEL",
+                "amount": 99.90,
+                "description": "Corporate card sync",
+                "metadata": {"hotelName": "Test Hotel", "flightNumber": "TEST123"}
+            }
+            """;
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.com.ucrmp", () -> "WARN");
+        registry.add("eureka.client.enabled", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @AfterEach
+    void cleanup() {
+        claimRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareSinglePostsWithBatchPost() throws Exception {
+        StringJoiner items = new StringJoiner(",", "{\"claims\": [", "]}");
+        for (int i = 0; i < CLAIMS; i++) {
+            items.add(CLAIM_JSON);
+        }
+        String batchJson = items.toString();
+
+        // Round 0 is warm-up for both paths
+        for (int round = 0; round <= ROUNDS; round++) {
+            String userId = UUID.randomUUID().toString();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < CLAIMS; i++) {
+                mockMvc.perform(post("/api/v1/claims")
+                                .header("X-User-Id", userId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(CLAIM_JSON))
+                        .andExpect(status().isCreated());
+            }
+            long singleNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            mockMvc.perform(post("/api/v1/claims/batch")
+                            .header("X-User-Id", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(batchJson))
+                    .andExpect(status().isCreated());
+            long batchNanos = System.nanoTime() - start;
+
+            assertEquals(2L * CLAIMS, claimRepository.count());
+            claimRepository.deleteAllInBatch();
+
+            if (round > 0) {
+                System.out.printf("round %d: %d single POSTs %7.0f claims/s | 1 batch POST %7.0f claims/s | speed-up %.1fx%n",
+                        round, CLAIMS,
+                        CLAIMS / (singleNanos / 1e9),
+                        CLAIMS / (batchNanos / 1e9),
+                        (double) singleNanos / batchNanos);
+            }
+        }
+    }
+}
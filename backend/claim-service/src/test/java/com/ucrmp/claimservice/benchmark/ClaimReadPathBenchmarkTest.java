@@ -0,0 +1,139 @@
+package com.ucrmp.claimservice.benchmark;
+
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the entity read path (findByUserId, managed Claim entities) against the
+ * ClaimView projection path on a 10k-row result set, for latency and allocation.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ClaimReadPathBenchmarkTest
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClaimReadPathBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("eureka.client.enabled", () -> "false");
+    }
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeAll
+    void seed() {
+        List<Claim> claims = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Claim claim = new Claim();
+            claim.setUserId(userId);
+            claim.setClaimType(ClaimType.TRAVEL);
+            claim.setAmount(new BigDecimal("125.40"));
+            claim.setStatus(ClaimStatus.SUBMITTED);
+            claim.setDescription("Benchmark claim " + i);
+            claim.setMetadata("{\"hotelName\":\"Hotel " + i + "\",\"flightNumber\":\"BA" + i + "\"}");
+            claims.add(claim);
+        }
+        claimRepository.saveAll(claims);
+    }
+
+    @AfterAll
+    void cleanup() {
+        claimRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareEntityAndProjectionReadPaths() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Result entityPath = measure("entity (findByUserId)",
+                () -> readWrite.execute(status -> claimRepository.findByUserId(userId)));
+        Result projectionPath = measure("projection (findViewsByUserId)",
+                () -> readOnly.execute(status -> claimRepository.findViewsByUserId(userId)));
+
+        System.out.println(entityPath);
+        System.out.println(projectionPath);
+        System.out.printf("projection/entity: latency p50 %.2fx, allocation %.2fx%n",
+                (double) projectionPath.p50Nanos() / entityPath.p50Nanos(),
+                (double) projectionPath.bytesPerCall() / entityPath.bytesPerCall());
+    }
+
+    private Result measure(String name, Supplier<List<?>> path) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertEquals(ROWS, path.get().size());
+        }
+
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            List<?> rows = path.get();
+            latencies[i] = System.nanoTime() - start;
+            allocated += threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            assertEquals(ROWS, rows.size());
+        }
+
+        Arrays.sort(latencies);
+        return new Result(name, latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.9)],
+                allocated / MEASURED_ITERATIONS);
+    }
+
+    private record Result(String name, long p50Nanos, long p90Nanos, long bytesPerCall) {
+        @Override
+        public String toString() {
+            return String.format("%-32s p50 %7.2f ms | p90 %7.2f ms | %8.2f MB allocated/call",
+                    name, p50Nanos / 1e6, p90Nanos / 1e6, bytesPerCall / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ucrmp.claimservice.benchmark;
+
+import com.ucrmp.claimservice.dto.BatchStatusTransitionRequest;
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.service.ClaimWorkflowService;
+import com.ucrmp.claimservice.service.ReviewQueueService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Review throughput with 1, 2, 4 and 8 concurrent reviewers working the
+ * queue: lease a batch, "review" it (a fixed pause), approve it. Because
+ * SKIP LOCKED hands every reviewer a disjoint batch without waiting on the
+ * others, throughput should grow roughly linearly with the reviewer count.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ReviewQueueThroughputBenchmarkTest
+ */
+@Tag("benchmark")
+@Testcontainers
+@SpringBootTest
+class ReviewQueueThroughputBenchmarkTest {
+
+    private static final int CLAIMS = 400;
+    private static final int BATCH_SIZE = 10;
+    private static final long REVIEW_MILLIS = 20;
+    private static final int[] REVIEWERS = {1, 2, 4, 8};
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.com.ucrmp", () -> "WARN");
+        registry.add("eureka.client.enabled", () -> "false");
+    }
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
+
+    @Autowired
+    private ClaimWorkflowService claimWorkflowService;
+
+    @Test
+    void throughputScalesWithReviewers() throws Exception {
+        double[] throughput = new double[REVIEWERS.length];
+
+        for (int run = 0; run < REVIEWERS.length; run++) {
+            int reviewers = REVIEWERS[run];
+            claimRepository.deleteAllInBatch();
+            saveUnderReview(CLAIMS);
+
+            AtomicInteger approved = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(reviewers);
+            List<Future<?>> futures = new ArrayList<>();
+
+            long start = System.nanoTime();
+            for (int r = 0; r < reviewers; r++) {
+                UUID reviewerId = UUID.randomUUID();
+                futures.add(pool.submit(() -> {
+                    while (true) {
+                        List<ClaimResponse> batch = reviewQueueService.leaseNext(reviewerId, BATCH_SIZE);
+                        if (batch.isEmpty()) {
+                            return null;
+                        }
+                        Thread.sleep(REVIEW_MILLIS);
+
+                        BatchStatusTransitionRequest request = new BatchStatusTransitionRequest();
+                        request.setClaimIds(batch.stream().map(ClaimResponse::getId).toList());
+                        request.setStatus(ClaimStatus.APPROVED);
+                        approved.addAndGet(claimWorkflowService.changeStatuses(request, reviewerId).getUpdated());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long nanos = System.nanoTime() - start;
+            pool.shutdown();
+
+            assertEquals(CLAIMS, approved.get());
+            throughput[run] = CLAIMS / (nanos / 1e9);
+            System.out.printf("%d reviewer(s): %7.0f claims/s (%.1fx of 1 reviewer)%n",
+                    reviewers, throughput[run], throughput[run] / throughput[0]);
+        }
+
+        // 4 reviewers should do well over twice the work of one
+        assertTrue(throughput[2] > 2.5 * throughput[0],
+                "expected near-linear scaling, got " + throughput[2] / throughput[0] + "x with 4 reviewers");
+    }
+
+    private void saveUnderReview(int count) {
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Claim claim = new Claim();
+            claim.setUserId(UUID.randomUUID());
+            claim.setClaimType(ClaimType.OTHER);
+            claim.setAmount(new BigDecimal("10.00"));
+            claim.setStatus(ClaimStatus.UNDER_REVIEW);
+            claim.setMetadata("{}");
+            claims.add(claim);
+        }
+        claimRepository.saveAll(claims);
+    }
+}
@@ -0,0 +1,201 @@
+package com.ucrmp.claimservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.ClaimServiceApplication;
+import com.ucrmp.claimservice.dto.CreateClaimRequest;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.service.ClaimService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the service once on Tomcat's platform-thread pool and once with
+ * spring.threads.virtual.enabled=true, same database and same HikariCP pool,
+ * and drives each with 1,200 concurrent closed-loop clients reading claim
+ * pages and stats over HTTP. Prints throughput, p50/p99 latency and errors
+ * per mode, plus how long virtual threads spent pinned.
+ *
+ * With 200 platform threads most clients wait for a Tomcat thread; with
+ * virtual threads they all get one and wait for a pooled connection instead.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ThreadingModeBenchmarkTest
+ */
+@Tag("benchmark")
+@Testcontainers
+class ThreadingModeBenchmarkTest {
+
+    private static final int CLIENTS = 1_200;
+    private static final int USERS = 200;
+    private static final int CLAIMS_PER_USER = 40;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASURED = Duration.ofSeconds(30);
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<UUID> users = new ArrayList<>(USERS);
+
+    @Test
+    void compareThroughputAndTailLatency() throws Exception {
+        Result platform;
+        try (ConfigurableApplicationContext context = start(false)) {
+            seed(context.getBean(ClaimService.class), context.getBean(ObjectMapper.class));
+            platform = run("platform threads", context);
+        }
+        Result virtual;
+        try (ConfigurableApplicationContext context = start(true)) {
+            virtual = run("virtual threads", context);
+        }
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        System.out.printf("virtual/platform: throughput %.2fx, p99 %.2fx%n",
+                virtual.throughput() / platform.throughput(), (double) virtual.p99Nanos() / platform.p99Nanos());
+        assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(ClaimServiceApplication.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.threads.virtual.enabled", Boolean.toString(virtualThreads),
+                        "spring.datasource.url", mysqlContainer.getJdbcUrl(),
+                        "spring.datasource.username", mysqlContainer.getUsername(),
+                        "spring.datasource.password", mysqlContainer.getPassword(),
+                        "spring.jpa.show-sql", "false",
+                        "logging.level.com.ucrmp", "WARN",
+                        "eureka.client.enabled", "false",
+                        "app.jwt.secret", "unused"))
+                .run();
+    }
+
+    private void seed(ClaimService claimService, ObjectMapper objectMapper) {
+        for (int u = 0; u < USERS; u++) {
+            UUID userId = UUID.randomUUID();
+            List<CreateClaimRequest> claims = new ArrayList<>(CLAIMS_PER_USER);
+            for (int i = 0; i < CLAIMS_PER_USER; i++) {
+                CreateClaimRequest request = new CreateClaimRequest();
+                request.setClaimType(ClaimType.TRAVEL);
+                request.setAmount(new BigDecimal("125.40"));
+                request.setDescription("Benchmark claim " + i);
+                request.setMetadata(objectMapper.createObjectNode()
+                        .put("hotelName", "Hotel " + i)
+                        .put("flightNumber", "BA" + i));
+                claims.add(request);
+            }
+            claimService.createClaims(claims, userId);
+            users.add(userId);
+        }
+    }
+
+    private Result run(String mode, ConfigurableApplicationContext context) throws Exception {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/api/v1/claims";
+        long warmupEnd = System.nanoTime() + WARMUP.toNanos();
+        long end = warmupEnd + MEASURED.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                UUID userId = users.get(c % USERS);
+                clients.add(executor.submit(() -> client(baseUrl, userId, warmupEnd, end, errors)));
+            }
+
+            List<long[]> perClient = new ArrayList<>(CLIENTS);
+            for (Future<long[]> client : clients) {
+                perClient.add(client.get());
+            }
+            long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double pinnedMillis = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timers()
+                    .stream()
+                    .mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS))
+                    .sum();
+            return new Result(mode, latencies.length, latencies.length / (double) MEASURED.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get(), pinnedMillis);
+        }
+    }
+
+    // Closed loop: one request at a time, alternating an uncached page read and the stats
+    private long[] client(String baseUrl, UUID userId, long warmupEnd, long end, AtomicLong errors) {
+        HttpRequest page = request(baseUrl + "?size=20", userId);
+        HttpRequest stats = request(baseUrl + "/stats", userId);
+        long[] latencies = new long[1024];
+        int count = 0;
+        boolean readPage = true;
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= end) {
+                break;
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(readPage ? page : stats,
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+            readPage = !readPage;
+            if (start >= warmupEnd) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static HttpRequest request(String url, UUID userId) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("X-User-Id", userId.toString())
+                .GET()
+                .build();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Result(String mode, long requests, double throughput, long p50Nanos, long p99Nanos,
+                          long errors, double pinnedMillis) {
+        @Override
+        public String toString() {
+            return String.format("%-17s %9.0f req/s | p50 %8.2f ms | p99 %8.2f ms | %d errors | pinned %.0f ms",
+                    mode, throughput, p50Nanos / 1e6, p99Nanos / 1e6, errors, pinnedMillis);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ucrmp.claimservice.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evict_InsideATransaction_WaitsForTheCommit() {
+        // --- Arrange ---
+        Cache cache = userClaims();
+        cache.put(userId, "first page");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // --- Act ---
+        cache.evict(userId);
+
+        // --- Assert ---
+        assertNotNull(cache.get(userId), "evicted before the commit");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        assertNull(cache.get(userId));
+    }
+
+    @Test
+    void evict_RolledBackTransaction_KeepsTheEntry() {
+        // --- Arrange ---
+        Cache cache = userClaims();
+        cache.put(userId, "first page");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // --- Act ---
+        cache.evict(userId);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // --- Assert ---
+        assertNotNull(cache.get(userId));
+    }
+
+    @Test
+    void evict_OutsideATransaction_IsImmediate() {
+        // --- Arrange ---
+        Cache cache = userClaims();
+        cache.put(userId, "first page");
+
+        // --- Act ---
+        cache.evict(userId);
+
+        // --- Assert ---
+        assertNull(cache.get(userId));
+    }
+
+    private static Cache userClaims() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setCacheNames(List.of(CacheConfig.USER_CLAIMS));
+        cacheProperties.getCaffeine().setSpec("maximumSize=100,recordStats");
+        CacheManager cacheManager = new CacheConfig().cacheManager(cacheProperties);
+        return cacheManager.getCache(CacheConfig.USER_CLAIMS);
+    }
+}
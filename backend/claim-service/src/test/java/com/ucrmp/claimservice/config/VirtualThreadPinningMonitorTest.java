@@ -0,0 +1,64 @@
+package com.ucrmp.claimservice.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void pinnedSite_IsTheFirstNonJdkFrame() {
+        List<String> frames = List.of(
+                "java.lang.VirtualThread.parkOnCarrierThread:675",
+                "java.lang.VirtualThread.sleepNanos",
+                "com.mysql.cj.protocol.ReadAheadInputStream.fill:107",
+                "com.ucrmp.claimservice.service.ClaimServiceImpl.createClaim:106");
+
+        assertEquals("com.mysql.cj.protocol.ReadAheadInputStream", VirtualThreadPinningMonitor.pinnedSite(frames));
+        assertEquals("other", VirtualThreadPinningMonitor.pinnedSite(List.of("java.lang.Thread.sleep")));
+    }
+
+    @Test
+    void sleepingInsideSynchronized_IsRecordedAgainstTheCaller() throws Exception {
+        // --- Arrange ---
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+        Object lock = new Object();
+
+        try {
+            // --- Act ---
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // --- Assert ---
+            // JFR hands events to the stream about once a second
+            Timer pinned = null;
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinned == null && System.nanoTime() < deadline) {
+                pinned = meterRegistry.find("jvm.threads.virtual.pinned")
+                        .tag("site", VirtualThreadPinningMonitorTest.class.getName())
+                        .timer();
+                Thread.sleep(100);
+            }
+            assertNotNull(pinned, "no pinned event recorded");
+            assertEquals(1, pinned.count());
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+}
@@ -1,26 +1,44 @@
 package com.ucrmp.claimservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.config.CacheConfig;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
 import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ClaimStatusHistoryRepository;
+import com.ucrmp.claimservice.repository.ClaimSummaryRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Testcontainers
@@ -52,12 +70,24 @@ class ClaimControllerIntegrationTest {
     @Autowired
     private ClaimRepository claimRepository;
 
+    @Autowired
+    private ClaimSummaryRepository claimSummaryRepository;
+
+    @Autowired
+    private ClaimStatusHistoryRepository claimStatusHistoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     private final String MOCK_USER_ID = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11";
 
     @AfterEach
     void cleanup() {
         // Clean up the database after each test
+        claimStatusHistoryRepository.deleteAll();
         claimRepository.deleteAll();
+        claimSummaryRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.USER_CLAIMS).clear();
     }
 
     @Test
@@ -132,4 +162,286 @@ class ClaimControllerIntegrationTest {
                 // Spring correctly sees a required header is missing and returns 400
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getClaimsForUser_WalksAllPagesWithCursor() throws Exception {
+        // --- Arrange ---
+        // 45 claims, most of them sharing a created_at second, so the id tiebreaker matters
+        UUID userId = UUID.fromString(MOCK_USER_ID);
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            Claim claim = new Claim();
+            claim.setUserId(userId);
+            claim.setClaimType(ClaimType.OTHER);
+            claim.setAmount(new BigDecimal("10.00"));
+            claim.setStatus(ClaimStatus.SUBMITTED);
+            claim.setMetadata("{}");
+            claims.add(claim);
+        }
+        claimRepository.saveAll(claims);
+
+        // --- Act ---
+        Set<String> seenIds = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/v1/claims")
+                    .header("X-User-Id", MOCK_USER_ID)
+                    .param("size", "20");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode page = objectMapper.readTree(body);
+            page.get("content").forEach(claim -> seenIds.add(claim.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        // --- Assert ---
+        // Every claim is returned exactly once across 3 pages (20 + 20 + 5)
+        assertEquals(3, pages);
+        assertEquals(45, seenIds.size());
+    }
+
+    @Test
+    void getClaimsForUser_RejectsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/claims")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportClaims_StreamsOneJsonLinePerClaim() throws Exception {
+        // --- Arrange ---
+        UUID userId = UUID.fromString(MOCK_USER_ID);
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Claim claim = new Claim();
+            claim.setUserId(userId);
+            claim.setClaimType(ClaimType.OTHER);
+            claim.setAmount(new BigDecimal("10.00"));
+            claim.setStatus(ClaimStatus.SUBMITTED);
+            claim.setMetadata("{}");
+            claims.add(claim);
+        }
+        claimRepository.saveAll(claims);
+
+        // --- Act ---
+        // StreamingResponseBody is written asynchronously, so dispatch the async result
+        MvcResult started = mockMvc.perform(get("/api/v1/claims/export")
+                        .header("X-User-Id", MOCK_USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // --- Assert ---
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (String line : lines) {
+            assertEquals(MOCK_USER_ID, objectMapper.readTree(line).get("userId").asText());
+        }
+    }
+
+    @Test
+    void createClaims_SavesValidItems_AndReportsInvalidOnes() throws Exception {
+        // --- Arrange ---
+        // The second item misses the required prescription number
+        String requestJson = """
+            {
+                "claims": [
+                    {
+                        "claimType": "TRAVEL",
+                        "amount": 80.00,
+                        "metadata": {"hotelName": "Test Hotel", "flightNumber": "TEST123"}
+                    },
+                    {
+                        "claimType": "MEDICAL",
+                        "amount": 45.00,
+                        "metadata": {"hospitalName": "City Hospital"}
+                    }
+                ]
+            }
+            """;
+
+        // --- Act & Assert ---
+        mockMvc.perform(post("/api/v1/claims/batch")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestJson))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].claim.metadata.hotelName").value("Test Hotel"))
+                .andExpect(jsonPath("$.results[1].errors[0]").exists());
+
+        assertEquals(1, claimRepository.findAll().size());
+    }
+
+    @Test
+    void getClaimsForUser_FirstPageIsCached_AndEvictedOnCreate() throws Exception {
+        // --- Arrange ---
+        Claim claim = new Claim();
+        claim.setUserId(UUID.fromString(MOCK_USER_ID));
+        claim.setClaimType(ClaimType.OTHER);
+        claim.setAmount(new BigDecimal("10.00"));
+        claim.setStatus(ClaimStatus.SUBMITTED);
+        claim.setMetadata("{}");
+        claimRepository.save(claim);
+
+        mockMvc.perform(get("/api/v1/claims").header("X-User-Id", MOCK_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // A row written behind the service's back is not seen: the page is cached
+        Claim hidden = new Claim();
+        hidden.setUserId(UUID.fromString(MOCK_USER_ID));
+        hidden.setClaimType(ClaimType.OTHER);
+        hidden.setAmount(new BigDecimal("20.00"));
+        hidden.setStatus(ClaimStatus.SUBMITTED);
+        hidden.setMetadata("{}");
+        claimRepository.save(hidden);
+
+        mockMvc.perform(get("/api/v1/claims").header("X-User-Id", MOCK_USER_ID))
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        // --- Act ---
+        mockMvc.perform(post("/api/v1/claims")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "claimType": "OTHER",
+                                "amount": 30.00,
+                                "metadata": {"notes": "Taxi"}
+                            }
+                            """))
+                .andExpect(status().isCreated());
+
+        // --- Assert ---
+        mockMvc.perform(get("/api/v1/claims").header("X-User-Id", MOCK_USER_ID))
+                .andExpect(jsonPath("$.content.length()").value(3));
+    }
+
+    @Test
+    void getClaimStats_ReflectsCreatedClaims() throws Exception {
+        // --- Arrange ---
+        mockMvc.perform(post("/api/v1/claims/batch")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "claims": [
+                                    {"claimType": "OTHER", "amount": 10.00, "metadata": {}},
+                                    {"claimType": "OTHER", "amount": 15.50, "metadata": {}},
+                                    {"claimType": "MEAL", "amount": 40.00, "metadata": {"restaurantName": "Bistro"}}
+                                ]
+                            }
+                            """))
+                .andExpect(status().isCreated());
+
+        // --- Act & Assert ---
+        mockMvc.perform(get("/api/v1/claims/stats").header("X-User-Id", MOCK_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCount").value(3))
+                .andExpect(jsonPath("$.totalAmount").value(65.50))
+                .andExpect(jsonPath("$.byStatus.SUBMITTED.count").value(3))
+                .andExpect(jsonPath("$.byType.OTHER.count").value(2))
+                .andExpect(jsonPath("$.byType.OTHER.amount").value(25.50))
+                .andExpect(jsonPath("$.byType.MEAL.amount").value(40.00));
+    }
+
+    @Test
+    void changeClaimStatus_ByReviewer_UpdatesStatusAndHistory() throws Exception {
+        // --- Arrange ---
+        Claim claim = saveClaim(ClaimStatus.UNDER_REVIEW);
+
+        // --- Act & Assert ---
+        mockMvc.perform(patch("/api/v1/claims/" + claim.getId() + "/status")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"APPROVED\", \"expectedVersion\": 0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        assertEquals(ClaimStatus.APPROVED, claimRepository.findById(claim.getId()).orElseThrow().getStatus());
+        assertEquals(1, claimStatusHistoryRepository.count());
+
+        // The same stale version is now refused
+        mockMvc.perform(patch("/api/v1/claims/" + claim.getId() + "/status")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PAID\", \"expectedVersion\": 0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void changeClaimStatus_DisallowedTransition_ReturnsConflict() throws Exception {
+        Claim claim = saveClaim(ClaimStatus.SUBMITTED);
+
+        mockMvc.perform(patch("/api/v1/claims/" + claim.getId() + "/status")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"PAID\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void changeClaimStatus_WithoutReviewerRole_ReturnsForbidden() throws Exception {
+        Claim claim = saveClaim(ClaimStatus.UNDER_REVIEW);
+
+        mockMvc.perform(patch("/api/v1/claims/" + claim.getId() + "/status")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .header("X-User-Roles", "ROLE_EMPLOYEE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"APPROVED\"}"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(ClaimStatus.UNDER_REVIEW, claimRepository.findById(claim.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void changeClaimStatuses_ApprovesEligibleClaims() throws Exception {
+        // --- Arrange ---
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ids.add("\"" + saveClaim(ClaimStatus.UNDER_REVIEW).getId() + "\"");
+        }
+        ids.add("\"" + saveClaim(ClaimStatus.SUBMITTED).getId() + "\"");
+
+        // --- Act & Assert ---
+        mockMvc.perform(post("/api/v1/claims/status/batch")
+                        .header("X-User-Id", MOCK_USER_ID)
+                        .header("X-User-Roles", "ROLE_EMPLOYEE,ROLE_ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"APPROVED\", \"claimIds\": [" + String.join(",", ids) + "]}"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.updated").value(120))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[120].errors[0]").value("Cannot change claim status from SUBMITTED to APPROVED"));
+
+        assertEquals(120, claimStatusHistoryRepository.count());
+    }
+
+    private Claim saveClaim(ClaimStatus status) {
+        Claim claim = new Claim();
+        claim.setUserId(UUID.fromString(MOCK_USER_ID));
+        claim.setClaimType(ClaimType.OTHER);
+        claim.setAmount(new BigDecimal("10.00"));
+        claim.setStatus(status);
+        claim.setMetadata("{}");
+        return claimRepository.save(claim);
+    }
+}
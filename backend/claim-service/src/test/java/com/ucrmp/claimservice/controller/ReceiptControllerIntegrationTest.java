@@ -0,0 +1,358 @@
+package com.ucrmp.claimservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ReceiptBlobRepository;
+import com.ucrmp.claimservice.repository.ReceiptRepository;
+import com.ucrmp.claimservice.repository.ReceiptUploadSessionRepository;
+import com.ucrmp.claimservice.service.ReceiptService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReceiptControllerIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("eureka.client.enabled", () -> "false");
+        registry.add("app.receipts.upload.chunk-size", () -> "64KB");
+        registry.add("app.receipts.storage-dir", () -> {
+            try {
+                return Files.createTempDirectory("receipts").toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private ReceiptBlobRepository receiptBlobRepository;
+
+    @Autowired
+    private ReceiptService receiptService;
+
+    @Autowired
+    private ReceiptUploadSessionRepository uploadSessionRepository;
+
+    private final String OWNER_ID = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11";
+
+    @AfterEach
+    void cleanup() {
+        uploadSessionRepository.deleteAll();
+        receiptRepository.deleteAll();
+        receiptBlobRepository.deleteAll();
+        claimRepository.deleteAll();
+    }
+
+    @Test
+    void uploadThenDownload_SupportsRangeRequests() throws Exception {
+        // --- Arrange ---
+        Claim claim = saveClaim();
+        byte[] pdf = new byte[256 * 1024];
+        for (int i = 0; i < pdf.length; i++) {
+            pdf[i] = (byte) i;
+        }
+
+        // --- Act ---
+        String body = mockMvc.perform(multipart("/api/v1/claims/" + claim.getId() + "/receipts")
+                        .file(new MockMultipartFile("file", "scans/hotel bill.pdf", "application/pdf", pdf))
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileName").value("hotel bill.pdf"))
+                .andExpect(jsonPath("$.sizeBytes").value(pdf.length))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode receipt = objectMapper.readTree(body);
+        String url = "/api/v1/claims/" + claim.getId() + "/receipts/" + receipt.get("id").asText();
+
+        // --- Assert ---
+        byte[] full = mockMvc.perform(get(url).header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(pdf, full);
+
+        byte[] part = mockMvc.perform(get(url)
+                        .header("X-User-Id", OWNER_ID)
+                        .header(HttpHeaders.RANGE, "bytes=1000-1999"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1000-1999/" + pdf.length))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(pdf, 1000, 2000), part);
+
+        mockMvc.perform(get("/api/v1/claims/" + claim.getId() + "/receipts").header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void upload_UnsupportedType_ReturnsUnsupportedMediaType() throws Exception {
+        Claim claim = saveClaim();
+
+        mockMvc.perform(multipart("/api/v1/claims/" + claim.getId() + "/receipts")
+                        .file(new MockMultipartFile("file", "notes.txt", "text/plain", "hello".getBytes()))
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isUnsupportedMediaType());
+
+        assertEquals(0, receiptRepository.count());
+    }
+
+    @Test
+    void download_ByAnotherUser_ReturnsNotFound() throws Exception {
+        Claim claim = saveClaim();
+
+        mockMvc.perform(get("/api/v1/claims/" + claim.getId() + "/receipts")
+                        .header("X-User-Id", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+
+        // Reviewers can see every claim's receipts
+        mockMvc.perform(get("/api/v1/claims/" + claim.getId() + "/receipts")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Roles", "ROLE_ADMIN"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void upload_SameFileTwice_IsStoredOnceAndSweptWhenUnreferenced() throws Exception {
+        // --- Arrange ---
+        Claim first = saveClaim();
+        Claim second = saveClaim();
+        byte[] png = "\u0089PNG same receipt".getBytes();
+
+        // --- Act ---
+        JsonNode original = upload(first, png);
+        JsonNode copy = upload(second, png);
+
+        // --- Assert ---
+        assertFalse(original.get("duplicate").asBoolean());
+        assertEquals(true, copy.get("duplicate").asBoolean());
+        assertEquals(original.get("sha256").asText(), copy.get("sha256").asText());
+        String sha256 = copy.get("sha256").asText();
+        assertEquals(1, receiptBlobRepository.count());
+        assertEquals(2, receiptBlobRepository.findRefCount(sha256));
+
+        mockMvc.perform(delete("/api/v1/claims/" + first.getId() + "/receipts/" + original.get("id").asText())
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isNoContent());
+        assertEquals(1, receiptBlobRepository.findRefCount(sha256));
+
+        // The remaining receipt still downloads the shared file
+        byte[] body = mockMvc.perform(get("/api/v1/claims/" + second.getId() + "/receipts/" + copy.get("id").asText())
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(png, body);
+
+        mockMvc.perform(delete("/api/v1/claims/" + second.getId() + "/receipts/" + copy.get("id").asText())
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isNoContent());
+        receiptService.sweepUnreferencedBlobs();
+        assertEquals(0, receiptBlobRepository.count());
+    }
+
+    @Test
+    void delete_ByAnotherUser_ReturnsNotFound() throws Exception {
+        Claim claim = saveClaim();
+        JsonNode receipt = upload(claim, "%PDF-1.7".getBytes());
+
+        mockMvc.perform(delete("/api/v1/claims/" + claim.getId() + "/receipts/" + receipt.get("id").asText())
+                        .header("X-User-Id", UUID.randomUUID().toString()))
+                .andExpect(status().isNotFound());
+
+        assertEquals(1, receiptRepository.count());
+    }
+
+    @Test
+    void chunkedUpload_ResumesAfterMissingChunks() throws Exception {
+        // --- Arrange ---
+        Claim claim = saveClaim();
+        int chunkSize = 64 * 1024;
+        byte[] pdf = new byte[chunkSize * 2 + 1000];
+        for (int i = 0; i < pdf.length; i++) {
+            pdf[i] = (byte) (i % 251);
+        }
+        String uploads = "/api/v1/claims/" + claim.getId() + "/receipts/uploads";
+
+        String body = mockMvc.perform(post(uploads)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"scan.pdf\",\"contentType\":\"application/pdf\",\"totalSize\":"
+                                + pdf.length + "}")
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chunkSize").value(chunkSize))
+                .andExpect(jsonPath("$.chunkCount").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String upload = uploads + "/" + objectMapper.readTree(body).get("id").asText();
+
+        // --- Act: the connection drops before chunk 1 gets through ---
+        putChunk(upload, 2, Arrays.copyOfRange(pdf, 2 * chunkSize, pdf.length));
+        putChunk(upload, 0, Arrays.copyOfRange(pdf, 0, chunkSize));
+
+        mockMvc.perform(post(upload + "/complete").header("X-User-Id", OWNER_ID))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get(upload).header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingChunks.length()").value(1))
+                .andExpect(jsonPath("$.missingChunks[0]").value(1));
+
+        // Only the missing chunk is re-sent
+        putChunk(upload, 1, Arrays.copyOfRange(pdf, chunkSize, 2 * chunkSize));
+        String receipt = mockMvc.perform(post(upload + "/complete").header("X-User-Id", OWNER_ID))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.fileName").value("scan.pdf"))
+                .andExpect(jsonPath("$.sizeBytes").value(pdf.length))
+                .andReturn().getResponse().getContentAsString();
+
+        // --- Assert ---
+        byte[] downloaded = mockMvc.perform(get("/api/v1/claims/" + claim.getId() + "/receipts/"
+                                + objectMapper.readTree(receipt).get("id").asText())
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(pdf, downloaded);
+        assertEquals(0, uploadSessionRepository.count());
+        mockMvc.perform(get(upload).header("X-User-Id", OWNER_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void chunkedUpload_WrongChunkLength_ReturnsBadRequest() throws Exception {
+        Claim claim = saveClaim();
+        String uploads = "/api/v1/claims/" + claim.getId() + "/receipts/uploads";
+        String body = mockMvc.perform(post(uploads)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"a.png\",\"contentType\":\"image/png\",\"totalSize\":100}")
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String upload = uploads + "/" + objectMapper.readTree(body).get("id").asText();
+
+        mockMvc.perform(put(upload + "/chunks/0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[99])
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put(upload + "/chunks/1")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[100])
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void upload_Image_RendersThumbnailInTheBackground() throws Exception {
+        // --- Arrange ---
+        Claim claim = saveClaim();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1200, 1600, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        // --- Act ---
+        JsonNode receipt = upload(claim, png.toByteArray());
+        String url = "/api/v1/claims/" + claim.getId() + "/receipts/" + receipt.get("id").asText();
+
+        // --- Assert: the upload returned before processing finished ---
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!receiptRepository.findById(UUID.fromString(receipt.get("id").asText())).orElseThrow()
+                .getProcessingStatus().name().equals("DONE")) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Receipt was not processed in time");
+            }
+            Thread.sleep(50);
+        }
+
+        byte[] thumbnail = mockMvc.perform(get(url + "/thumbnail").header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(240, ImageIO.read(new ByteArrayInputStream(thumbnail)).getWidth());
+        mockMvc.perform(get("/api/v1/claims/" + claim.getId() + "/receipts").header("X-User-Id", OWNER_ID))
+                .andExpect(jsonPath("$[0].processingStatus").value("DONE"))
+                .andExpect(jsonPath("$[0].thumbnailAvailable").value(true));
+    }
+
+    private void putChunk(String upload, int index, byte[] content) throws Exception {
+        mockMvc.perform(put(upload + "/chunks/" + index)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(content)
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode upload(Claim claim, byte[] content) throws Exception {
+        String body = mockMvc.perform(multipart("/api/v1/claims/" + claim.getId() + "/receipts")
+                        .file(new MockMultipartFile("file", "receipt.png", "image/png", content))
+                        .header("X-User-Id", OWNER_ID))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private Claim saveClaim() {
+        Claim claim = new Claim();
+        claim.setUserId(UUID.fromString(OWNER_ID));
+        claim.setClaimType(ClaimType.TRAVEL);
+        claim.setAmount(new BigDecimal("10.00"));
+        claim.setStatus(ClaimStatus.SUBMITTED);
+        claim.setMetadata("{}");
+        return claimRepository.save(claim);
+    }
+}
@@ -0,0 +1,179 @@
+package com.ucrmp.claimservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReviewQueueIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("eureka.client.enabled", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @AfterEach
+    void cleanup() {
+        claimRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentReviewers_NeverGetTheSameClaim() throws Exception {
+        // --- Arrange ---
+        int claims = 200;
+        int reviewers = 8;
+        saveUnderReview(claims);
+
+        Set<UUID> leased = ConcurrentHashMap.newKeySet();
+        AtomicInteger handedOut = new AtomicInteger();
+
+        // --- Act ---
+        // Every reviewer keeps leasing small batches until the queue is empty
+        ExecutorService pool = Executors.newFixedThreadPool(reviewers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < reviewers; r++) {
+            String reviewerId = UUID.randomUUID().toString();
+            futures.add(pool.submit(() -> {
+                while (true) {
+                    List<UUID> batch = lease(reviewerId, 7);
+                    if (batch.isEmpty()) {
+                        return null;
+                    }
+                    handedOut.addAndGet(batch.size());
+                    leased.addAll(batch);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        // --- Assert ---
+        // Each claim was handed out exactly once
+        assertEquals(claims, handedOut.get());
+        assertEquals(claims, leased.size());
+    }
+
+    @Test
+    void expiredLease_ReturnsTheClaimToTheQueue() throws Exception {
+        // --- Arrange ---
+        saveUnderReview(1);
+        String firstReviewer = UUID.randomUUID().toString();
+        UUID claimId = lease(firstReviewer, 5).get(0);
+
+        // A live lease hides the claim from everyone else
+        assertEquals(0, lease(UUID.randomUUID().toString(), 5).size());
+
+        // The first reviewer goes away and the lease runs out
+        Claim claim = claimRepository.findById(claimId).orElseThrow();
+        claim.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        claimRepository.save(claim);
+
+        // --- Act ---
+        String secondReviewer = UUID.randomUUID().toString();
+        List<UUID> batch = lease(secondReviewer, 5);
+
+        // --- Assert ---
+        assertEquals(List.of(claimId), batch);
+        assertEquals(UUID.fromString(secondReviewer), claimRepository.findById(claimId).orElseThrow().getReviewerId());
+
+        // Only the current holder can hand it back
+        mockMvc.perform(post("/api/v1/claims/review-queue/" + claimId + "/release")
+                        .header("X-User-Id", firstReviewer)
+                        .header("X-User-Roles", "ROLE_ADMIN"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/v1/claims/review-queue/" + claimId + "/release")
+                        .header("X-User-Id", secondReviewer)
+                        .header("X-User-Roles", "ROLE_ADMIN"))
+                .andExpect(status().isNoContent());
+        assertEquals(1, lease(firstReviewer, 5).size());
+    }
+
+    @Test
+    void lease_WithoutReviewerRole_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/claims/review-queue/lease")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Roles", "ROLE_EMPLOYEE"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    private List<UUID> lease(String reviewerId, int size) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/claims/review-queue/lease")
+                        .header("X-User-Id", reviewerId)
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<UUID> ids = new ArrayList<>();
+        for (JsonNode claim : objectMapper.readTree(body)) {
+            ids.add(UUID.fromString(claim.get("id").asText()));
+        }
+        return ids;
+    }
+
+    private void saveUnderReview(int count) {
+        List<Claim> claims = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Claim claim = new Claim();
+            claim.setUserId(UUID.randomUUID());
+            claim.setClaimType(ClaimType.OTHER);
+            claim.setAmount(new BigDecimal("10.00"));
+            claim.setStatus(ClaimStatus.UNDER_REVIEW);
+            claim.setMetadata("{}");
+            claims.add(claim);
+        }
+        claimRepository.saveAll(claims);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ClaimStatusHistoryRepository;
+import com.ucrmp.claimservice.repository.ClaimSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@SpringBootTest
+@AutoConfigureMockMvc
+class ClaimOutboxIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.28");
+
+    static final Path EVENT_FILE = createTempFile();
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", mysqlContainer::getUsername);
+        registry.add("spring.datasource.password", mysqlContainer::getPassword);
+        registry.add("eureka.client.enabled", () -> "false");
+        registry.add("app.claims.outbox.sinks.memory.enabled", () -> "true");
+        registry.add("app.claims.outbox.sinks.file.path", EVENT_FILE::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClaimOutboxRelay relay;
+
+    @Autowired
+    private InMemoryClaimEventSink memorySink;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimStatusHistoryRepository claimStatusHistoryRepository;
+
+    @Autowired
+    private ClaimSummaryRepository claimSummaryRepository;
+
+    private final String USER_ID = "a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11";
+
+    @AfterEach
+    void cleanup() {
+        claimStatusHistoryRepository.deleteAll();
+        claimRepository.deleteAll();
+        claimSummaryRepository.deleteAll();
+        memorySink.clear();
+    }
+
+    @Test
+    void createAndChangeStatus_AreRelayedInOrderToEverySink() throws Exception {
+        // --- Arrange & Act ---
+        String body = mockMvc.perform(post("/api/v1/claims")
+                        .header("X-User-Id", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"claimType": "OTHER", "amount": 42.00, "metadata": {"notes": "Taxi"}}
+                            """))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        UUID claimId = UUID.fromString(objectMapper.readTree(body).get("id").asText());
+
+        mockMvc.perform(patch("/api/v1/claims/" + claimId + "/status")
+                        .header("X-User-Id", USER_ID)
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"UNDER_REVIEW\"}"))
+                .andExpect(status().isOk());
+
+        relay.relay();
+
+        // --- Assert ---
+        List<ClaimEvent> events = memorySink.getEvents().stream()
+                .filter(event -> event.claimId().equals(claimId))
+                .toList();
+        assertEquals(2, events.size());
+        assertEquals(ClaimEventType.CLAIM_CREATED, events.get(0).type());
+        assertEquals(ClaimEventType.CLAIM_STATUS_CHANGED, events.get(1).type());
+        assertEquals(ClaimStatus.SUBMITTED, events.get(1).previousStatus());
+        assertEquals(ClaimStatus.UNDER_REVIEW, events.get(1).status());
+        assertTrue(events.get(0).sequence() < events.get(1).sequence());
+
+        List<String> lines = Files.readAllLines(EVENT_FILE).stream()
+                .filter(line -> line.contains(claimId.toString()))
+                .toList();
+        assertEquals(2, lines.size());
+
+        // Nothing is delivered twice
+        relay.relay();
+        assertEquals(2, memorySink.getEvents().stream().filter(event -> event.claimId().equals(claimId)).count());
+    }
+
+    private static Path createTempFile() {
+        try {
+            return Files.createTempFile("claim-events", ".ndjson");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ucrmp.claimservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimOutboxRelayTest {
+
+    @Mock
+    private ClaimOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final InMemoryClaimEventSink sink = new InMemoryClaimEventSink(100);
+
+    @Test
+    void relayBatch_DeliversInOrder_AndMovesTheWatermark() throws Exception {
+        // --- Arrange ---
+        LocalDateTime now = LocalDateTime.now();
+        when(outboxRepository.lockWatermark(ClaimOutboxRelay.RELAY_NAME)).thenReturn(4L);
+        when(outboxRepository.findAfter(4L, 10)).thenReturn(List.of(row(5, now), row(6, now)));
+
+        // --- Act ---
+        int delivered = relay(sink).relayBatch();
+
+        // --- Assert ---
+        assertEquals(2, delivered);
+        assertEquals(List.of(5L, 6L), sink.getEvents().stream().map(ClaimEvent::sequence).toList());
+        verify(outboxRepository).updateWatermark(ClaimOutboxRelay.RELAY_NAME, 6L);
+        assertEquals(2.0, meterRegistry.get("claims.outbox.batch.size").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("claims.outbox.delivery.lag").timer().count());
+    }
+
+    @Test
+    void relayBatch_OldGap_CountsEverySkippedId() throws Exception {
+        // --- Arrange ---
+        LocalDateTime old = LocalDateTime.now().minusMinutes(5);
+        when(outboxRepository.lockWatermark(ClaimOutboxRelay.RELAY_NAME)).thenReturn(4L);
+        when(outboxRepository.findAfter(4L, 10)).thenReturn(List.of(row(5, old), row(8, old), row(10, old)));
+
+        // --- Act ---
+        int delivered = relay(sink).relayBatch();
+
+        // --- Assert ---
+        assertEquals(3, delivered);
+        verify(outboxRepository).updateWatermark(ClaimOutboxRelay.RELAY_NAME, 10L);
+        // 6, 7 and 9 never committed
+        assertEquals(3.0, meterRegistry.get("claims.outbox.ids.skipped").tag("reason", "timed_out").counter().count());
+    }
+
+    @Test
+    void relayBatch_SinkFailure_KeepsTheWatermark() throws Exception {
+        when(outboxRepository.lockWatermark(ClaimOutboxRelay.RELAY_NAME)).thenReturn(0L);
+        when(outboxRepository.findAfter(0L, 10)).thenReturn(List.of(row(1, LocalDateTime.now())));
+        ClaimEventSink failing = events -> {
+            throw new IllegalStateException("sink down");
+        };
+
+        assertThrows(IllegalStateException.class, () -> relay(failing).relayBatch());
+        verify(outboxRepository, never()).updateWatermark(eq(ClaimOutboxRelay.RELAY_NAME), anyLong());
+    }
+
+    @Test
+    void relay_WithoutSinks_LeavesTheOutboxAlone() {
+        relay().relay();
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void deleteOldEvents_WithoutSinks_DeletesByAgeAlone() {
+        // --- Act ---
+        relay().deleteOldEvents();
+
+        // --- Assert ---
+        verify(outboxRepository).deleteBefore(any(LocalDateTime.class), anyInt());
+        verify(outboxRepository, never()).deleteRelayedBefore(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void deleteOldEvents_WithSinks_DeletesRelayedEvents_ThenExpiredOnes() {
+        // --- Arrange ---
+        when(outboxRepository.lockWatermark(ClaimOutboxRelay.RELAY_NAME)).thenReturn(42L);
+
+        // --- Act ---
+        LocalDateTime before = LocalDateTime.now();
+        relay(sink).deleteOldEvents();
+
+        // --- Assert ---
+        verify(outboxRepository).deleteRelayedBefore(eq(42L),
+                argThat(cutoff -> !cutoff.isAfter(before.minusDays(3).plusMinutes(1))), anyInt());
+        verify(outboxRepository).deleteBefore(
+                argThat(cutoff -> !cutoff.isAfter(before.minusDays(30).plusMinutes(1))), anyInt());
+    }
+
+    private ClaimOutboxRelay relay(ClaimEventSink... sinks) {
+        return new ClaimOutboxRelay(outboxRepository, List.of(sinks), transactionManager, objectMapper,
+                meterRegistry, 10, Duration.ofSeconds(10), Duration.ofDays(3), Duration.ofDays(30));
+    }
+
+    private ClaimOutboxRepository.OutboxRow row(long id, LocalDateTime createdAt) {
+        ClaimEvent event = new ClaimEvent(0, UUID.randomUUID(), ClaimEventType.CLAIM_CREATED, UUID.randomUUID(),
+                UUID.randomUUID(), ClaimType.TRAVEL, new BigDecimal("10.00"), ClaimStatus.SUBMITTED, null, createdAt);
+        try {
+            return new ClaimOutboxRepository.OutboxRow(id, objectMapper.writeValueAsString(event), createdAt);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
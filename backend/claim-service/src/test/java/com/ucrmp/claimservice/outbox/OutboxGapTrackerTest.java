@@ -0,0 +1,113 @@
+package com.ucrmp.claimservice.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxGapTrackerTest {
+
+    @Mock
+    private ClaimOutboxRepository outboxRepository;
+
+    private final List<String> skipped = new ArrayList<>();
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void readDeliverable_StopsAtARecentGap_AndSkipsAnOldOne() {
+        OutboxGapTracker tracker = new OutboxGapTracker(outboxRepository, Duration.ofSeconds(10));
+
+        // Id 7 may still commit: stop before 8
+        when(outboxRepository.findAfter(5, 10)).thenReturn(List.of(row(6, now), row(8, now)));
+        assertEquals(List.of(6L), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertTrue(skipped.isEmpty());
+
+        // Row 8 is older than the gap timeout: 7 is given up on
+        when(outboxRepository.findAfter(5, 10)).thenReturn(
+                List.of(row(6, now.minusSeconds(15)), row(8, now.minusSeconds(11))));
+        assertEquals(List.of(6L, 8L), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertEquals(List.of("7..7 timed out"), skipped);
+    }
+
+    @Test
+    void readDeliverable_GapOwnerNoLongerOpen_SkipsItWithoutWaitingForTheTimeout() {
+        // --- Arrange ---
+        OutboxGapTracker tracker = new OutboxGapTracker(outboxRepository, Duration.ofMinutes(2));
+        when(outboxRepository.findAfter(5, 10)).thenReturn(List.of(row(6, now), row(9, now)));
+        // A transaction that started before the gap was seen stays open for two polls
+        LocalDateTime longRunning = now.minusMinutes(1);
+        when(outboxRepository.findOpenTransactions()).thenReturn(
+                open(now, longRunning), open(now.plusSeconds(1), longRunning),
+                open(now.plusSeconds(2), longRunning),
+                // Then only transactions that started after the gap was seen are open
+                open(now.plusSeconds(3), now.plusSeconds(2)));
+
+        // --- Act & Assert ---
+        for (int poll = 0; poll < 3; poll++) {
+            assertEquals(List.of(6L), ids(tracker.readDeliverable(5, 10, this::record)));
+        }
+        assertTrue(skipped.isEmpty());
+
+        assertEquals(List.of(6L, 9L), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertEquals(List.of("7..8 rolled back"), skipped);
+    }
+
+    @Test
+    void readDeliverable_NoOpenTransactions_SkipsAGapOnTheThirdRead() {
+        // --- Arrange ---
+        OutboxGapTracker tracker = new OutboxGapTracker(outboxRepository, Duration.ofMinutes(2));
+        when(outboxRepository.findAfter(5, 10)).thenReturn(List.of(row(7, now)));
+        // With nothing open the oldest start is the database's own time
+        when(outboxRepository.findOpenTransactions()).thenReturn(
+                open(now, now), open(now.plusSeconds(1), now.plusSeconds(1)),
+                open(now.plusSeconds(2), now.plusSeconds(2)));
+
+        // --- Act & Assert ---
+        // First read sees the gap; the second learns a time by which it was seen
+        assertEquals(List.of(), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertEquals(List.of(), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertEquals(List.of(7L), ids(tracker.readDeliverable(5, 10, this::record)));
+        assertEquals(List.of("6..6 rolled back"), skipped);
+    }
+
+    @Test
+    void readDeliverable_OpenTransactionsUnreadable_WaitsForTheTimeout() {
+        // --- Arrange ---
+        OutboxGapTracker tracker = new OutboxGapTracker(outboxRepository, Duration.ofMinutes(2));
+        when(outboxRepository.findAfter(5, 10)).thenReturn(List.of(row(7, now)));
+        when(outboxRepository.findOpenTransactions()).thenReturn(Optional.empty());
+
+        // --- Act & Assert ---
+        for (int poll = 0; poll < 5; poll++) {
+            assertEquals(List.of(), ids(tracker.readDeliverable(5, 10, this::record)));
+        }
+        assertTrue(skipped.isEmpty());
+    }
+
+    private void record(long firstId, long lastId, boolean timedOut) {
+        skipped.add(firstId + ".." + lastId + (timedOut ? " timed out" : " rolled back"));
+    }
+
+    private static Optional<ClaimOutboxRepository.OpenTransactions> open(LocalDateTime now, LocalDateTime oldestStart) {
+        return Optional.of(new ClaimOutboxRepository.OpenTransactions(now, oldestStart));
+    }
+
+    private static ClaimOutboxRepository.OutboxRow row(long id, LocalDateTime createdAt) {
+        return new ClaimOutboxRepository.OutboxRow(id, "{}", createdAt);
+    }
+
+    private static List<Long> ids(List<ClaimOutboxRepository.OutboxRow> rows) {
+        return rows.stream().map(ClaimOutboxRepository.OutboxRow::id).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ucrmp.claimservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.model.ClaimType;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimMetadataRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ClaimMetadataRegistry registry = new ClaimMetadataRegistry(
+            objectMapper, Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void everyClaimTypeHasAHandler() {
+        for (ClaimType type : ClaimType.values()) {
+            assertNotNull(registry.handlerFor(type), "missing handler for " + type);
+            assertEquals(type, registry.handlerFor(type).getClaimType());
+        }
+    }
+
+    @Test
+    void mealMetadata_IsValidatedAndNormalized() throws Exception {
+        String json = registry.handlerFor(ClaimType.MEAL).validateAndSerialize(
+                objectMapper.readTree("{\"attendees\":3,\"restaurantName\":\"Bistro\"}"));
+
+        // Written back in record order
+        assertEquals("{\"restaurantName\":\"Bistro\",\"attendees\":3}", json);
+    }
+
+    @Test
+    void mealMetadata_WithoutRestaurant_IsAccepted() throws Exception {
+        String json = registry.handlerFor(ClaimType.MEAL).validateAndSerialize(objectMapper.readTree("{}"));
+
+        assertEquals("{\"restaurantName\":null,\"attendees\":null}", json);
+    }
+
+    @Test
+    void mealMetadata_NonPositiveAttendees_IsRejected() throws Exception {
+        assertThrows(ConstraintViolationException.class, () -> registry.handlerFor(ClaimType.MEAL)
+                .validateAndSerialize(objectMapper.readTree("{\"attendees\":0}")));
+    }
+
+    @Test
+    void otherMetadata_IsStoredAsSent() throws Exception {
+        String sent = "{\"reason\":\"conference fee\",\"reference\":{\"id\":42,\"tags\":[\"a\",\"b\"]}}";
+
+        String json = registry.handlerFor(ClaimType.OTHER).validateAndSerialize(objectMapper.readTree(sent));
+
+        assertEquals(sent, json);
+    }
+}
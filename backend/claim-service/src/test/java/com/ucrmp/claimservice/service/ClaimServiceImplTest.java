@@ -2,25 +2,43 @@ package com.ucrmp.claimservice.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ucrmp.claimservice.dto.BatchCreateClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimPageResponse;
 import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.ClaimView;
 import com.ucrmp.claimservice.dto.CreateClaimRequest;
 import com.ucrmp.claimservice.entity.Claim;
 import com.ucrmp.claimservice.model.ClaimStatus;
 import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.exception.InvalidCursorException;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimEventType;
+import com.ucrmp.claimservice.outbox.ClaimOutboxWriter;
 import com.ucrmp.claimservice.repository.ClaimRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,8 +47,27 @@ class ClaimServiceImplTest {
     @Mock
     private ClaimRepository claimRepository;
 
+    // A real mapper: the service builds its cached readers/writers from it
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    // An unstubbed mock returns no violations, i.e. "valid"
+    @Mock
+    private Validator validator;
+
     @Mock
-    private ObjectMapper objectMapper;
+    private EntityManager entityManager;
+
+    @Mock
+    private ClaimSummaryService claimSummaryService;
+
+    @Mock
+    private ClaimOutboxWriter claimOutbox;
+
+    // Metadata goes through the real handlers, backed by a real validator
+    @Spy
+    private ClaimMetadataRegistry metadataRegistry = new ClaimMetadataRegistry(
+            new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
 
     @InjectMocks
     private ClaimServiceImpl claimService;
@@ -62,27 +99,15 @@ class ClaimServiceImplTest {
         testClaim.setDescription(createRequest.getDescription());
         testClaim.setStatus(ClaimStatus.SUBMITTED);
         testClaim.setMetadata(testMetadataNode.toString());
+        testClaim.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30));
     }
 
     @Test
     void createClaim_Success() throws Exception {
         // --- Arrange ---
-        String metadataString = testMetadataNode.toString();
-        
-        // Mock the validation logic in 'validateAndConvertMetadata'
-        when(objectMapper.treeToValue(any(JsonNode.class), any(Class.class)))
-            .thenReturn(new com.ucrmp.claimservice.dto.ClaimMetadata.TravelMetadata("Test Hotel", "TEST123"));
-        when(objectMapper.writeValueAsString(any())).thenReturn(metadataString);
-        
         // Mock the repository save
         when(claimRepository.save(any(Claim.class))).thenReturn(testClaim);
 
-        // --- THIS IS THE FIX ---
-        // Mock the call inside 'mapToClaimResponse'
-        // We tell the mock mapper what to do when it sees our metadata string
-        when(objectMapper.readTree(testClaim.getMetadata())).thenReturn(testMetadataNode);
-        // -------------------------
-
         // --- Act ---
         ClaimResponse response = claimService.createClaim(createRequest, testUserId);
 
@@ -90,19 +115,67 @@ class ClaimServiceImplTest {
         assertNotNull(response);
         assertEquals(testClaim.getId(), response.getId());
         assertEquals(testUserId, response.getUserId());
-        // Assert that the JsonNode is correct
-        assertEquals(testMetadataNode, response.getMetadata());
+        // The stored JSON is passed through without being re-parsed
+        assertEquals(testClaim.getMetadata(), response.getMetadata());
 
         verify(claimRepository, times(1)).save(any(Claim.class));
+        verify(claimSummaryService, times(1)).recordCreated(List.of(testClaim));
+        ArgumentCaptor<Collection<ClaimEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(claimOutbox, times(1)).append(events.capture());
+        ClaimEvent event = events.getValue().iterator().next();
+        assertEquals(ClaimEventType.CLAIM_CREATED, event.type());
+        assertEquals(testClaim.getId(), event.claimId());
+        verify(objectMapper, never()).readTree(any(String.class));
     }
 
     @Test
-    void getClaimsByUserId_Success() throws Exception {
+    void createClaim_InvalidMetadata_ThrowsAndDoesNotSave() throws Exception {
+        // --- Arrange ---
+        createRequest.setClaimType(ClaimType.MEDICAL);
+        createRequest.setMetadata(new ObjectMapper().readTree(
+                "{\"hospitalName\":\"City Hospital\",\"prescriptionNumber\":\"RX1\"}"));
+
+        // --- Act & Assert ---
+        assertThrows(ConstraintViolationException.class,
+                () -> claimService.createClaim(createRequest, testUserId));
+        verify(claimRepository, never()).save(any(Claim.class));
+    }
+
+    @Test
+    void createClaims_PersistsValidItems_AndReportsInvalidOnes() throws Exception {
         // --- Arrange ---
-        when(claimRepository.findByUserId(testUserId)).thenReturn(List.of(testClaim));
+        JsonNode badMetadata = new ObjectMapper().readTree("{\"hotelName\":[]}");
+        CreateClaimRequest badRequest = new CreateClaimRequest();
+        badRequest.setAmount(new BigDecimal("50.00"));
+        badRequest.setClaimType(ClaimType.TRAVEL);
+        // An array cannot be bound to the hotelName string
+        badRequest.setMetadata(badMetadata);
 
-        // This mock is also required here
-        when(objectMapper.readTree(testClaim.getMetadata())).thenReturn(testMetadataNode);
+        // --- Act ---
+        BatchCreateClaimResponse response =
+                claimService.createClaims(List.of(createRequest, badRequest, createRequest), testUserId);
+
+        // --- Assert ---
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertTrue(response.getResults().get(2).isSuccess());
+
+        // Only the valid items reach the database, in a single flushed batch
+        verify(claimRepository, times(1)).saveAll(any());
+        verify(claimSummaryService, times(1)).recordCreated(any());
+        ArgumentCaptor<Collection<ClaimEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(claimOutbox, times(1)).append(events.capture());
+        assertEquals(2, events.getValue().size());
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void getClaimsByUserId_Success() throws Exception {
+        // --- Arrange ---
+        when(claimRepository.findViewsByUserId(testUserId)).thenReturn(List.of(toView(testClaim)));
 
         // --- Act ---
         List<ClaimResponse> responses = claimService.getClaimsByUserId(testUserId);
@@ -111,8 +184,63 @@ class ClaimServiceImplTest {
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(testClaim.getId(), responses.get(0).getId());
-        assertEquals(testMetadataNode, responses.get(0).getMetadata());
+        assertEquals(testClaim.getMetadata(), responses.get(0).getMetadata());
+
+        verify(claimRepository, times(1)).findViewsByUserId(testUserId);
+    }
+
+    @Test
+    void getClaimPage_ReturnsCursor_WhenMoreRowsExist() throws Exception {
+        // --- Arrange ---
+        // Default page size is 20; the repository returns 21 rows to signal "more"
+        List<ClaimView> rows = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            rows.add(new ClaimView(UUID.randomUUID(), testUserId, ClaimType.TRAVEL, new BigDecimal("10.00"),
+                    ClaimStatus.SUBMITTED, null, LocalDateTime.of(2025, 1, 15, 10, 30).minusMinutes(i),
+                    testClaim.getMetadata(), 0L));
+        }
+        when(claimRepository.findFirstPageByUserId(eq(testUserId), any(Pageable.class))).thenReturn(rows);
+
+        // --- Act ---
+        ClaimPageResponse page = claimService.getClaimPage(testUserId, null, null);
+
+        // --- Assert ---
+        assertEquals(20, page.getContent().size());
+        assertTrue(page.isHasMore());
+
+        // The cursor must point at the last claim actually returned
+        ClaimView last = rows.get(19);
+        ClaimCursor cursor = ClaimCursor.decode(page.getNextCursor());
+        assertEquals(last.createdAt(), cursor.createdAt());
+        assertEquals(last.id(), cursor.id());
+    }
+
+    @Test
+    void getClaimPage_UsesKeysetQuery_WhenCursorIsGiven() throws Exception {
+        // --- Arrange ---
+        String cursor = new ClaimCursor(testClaim.getCreatedAt(), testClaim.getId()).encode();
+        when(claimRepository.findPageByUserIdAfter(eq(testUserId), eq(testClaim.getCreatedAt()),
+                eq(testClaim.getId()), any(Pageable.class))).thenReturn(List.of(toView(testClaim)));
+
+        // --- Act ---
+        ClaimPageResponse page = claimService.getClaimPage(testUserId, cursor, 5);
+
+        // --- Assert ---
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        verify(claimRepository, never()).findFirstPageByUserId(any(), any());
+    }
+
+    @Test
+    void getClaimPage_RejectsTamperedCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> claimService.getClaimPage(testUserId, "not-a-cursor", null));
+    }
 
-        verify(claimRepository, times(1)).findByUserId(testUserId);
+    private static ClaimView toView(Claim claim) {
+        return new ClaimView(claim.getId(), claim.getUserId(), claim.getClaimType(), claim.getAmount(),
+                claim.getStatus(), claim.getDescription(), claim.getCreatedAt(), claim.getMetadata(),
+                claim.getVersion());
     }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimSummaryRebuildRepository;
+import com.ucrmp.claimservice.repository.ClaimSummaryRepository;
+import com.ucrmp.claimservice.repository.JobLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimSummaryServiceImplTest {
+
+    @Mock
+    private ClaimSummaryRepository claimSummaryRepository;
+
+    @Mock
+    private ClaimSummaryRebuildRepository rebuildRepository;
+
+    @Mock
+    private JobLeaseRepository jobLeaseRepository;
+
+    // Unstubbed: transactions run with a null status and commit as no-ops
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ClaimSummaryServiceImpl claimSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        claimSummaryService = new ClaimSummaryServiceImpl(claimSummaryRepository, rebuildRepository,
+                jobLeaseRepository, transactionManager, 2, Duration.ofMinutes(5));
+    }
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void recordCreated_AppliesOneDeltaPerStatusAndType() {
+        // --- Act ---
+        claimSummaryService.recordCreated(List.of(
+                claim(ClaimType.TRAVEL, "100.00"),
+                claim(ClaimType.MEAL, "20.00"),
+                claim(ClaimType.TRAVEL, "50.50")));
+
+        // --- Assert ---
+        verify(claimSummaryRepository).applyDelta(userId, "SUBMITTED", "TRAVEL", 2, new BigDecimal("150.50"));
+        verify(claimSummaryRepository).applyDelta(userId, "SUBMITTED", "MEAL", 1, new BigDecimal("20.00"));
+        verifyNoMoreInteractions(claimSummaryRepository);
+    }
+
+    @Test
+    void recordStatusChange_MovesTheClaimBetweenRows() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimType.MEDICAL, "75.00");
+        claim.setStatus(ClaimStatus.APPROVED);
+
+        // --- Act ---
+        claimSummaryService.recordStatusChange(claim, ClaimStatus.SUBMITTED);
+
+        // --- Assert ---
+        // Rows are always locked in key order (SUBMITTED sorts after APPROVED)
+        InOrder inOrder = inOrder(claimSummaryRepository);
+        inOrder.verify(claimSummaryRepository).applyDelta(userId, "APPROVED", "MEDICAL", 1, new BigDecimal("75.00"));
+        inOrder.verify(claimSummaryRepository).applyDelta(userId, "SUBMITTED", "MEDICAL", -1, new BigDecimal("-75.00"));
+    }
+
+    @Test
+    void recordStatusChanges_SeveralUsers_LocksUsersInBinaryOrder() {
+        // --- Arrange ---
+        // UUID.compareTo puts 8000... first (signed); BINARY(16) puts it last
+        UUID lowUser = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID highUser = UUID.fromString("80000000-0000-0000-0000-000000000001");
+        Claim highClaim = claim(ClaimType.MEAL, "10.00");
+        highClaim.setUserId(highUser);
+        highClaim.setStatus(ClaimStatus.APPROVED);
+        Claim lowClaim = claim(ClaimType.MEAL, "10.00");
+        lowClaim.setUserId(lowUser);
+        lowClaim.setStatus(ClaimStatus.APPROVED);
+
+        // --- Act ---
+        claimSummaryService.recordStatusChanges(List.of(
+                new ClaimSummaryService.StatusChange(highClaim, ClaimStatus.SUBMITTED),
+                new ClaimSummaryService.StatusChange(lowClaim, ClaimStatus.SUBMITTED)));
+
+        // --- Assert ---
+        InOrder inOrder = inOrder(claimSummaryRepository);
+        inOrder.verify(claimSummaryRepository).applyDelta(lowUser, "APPROVED", "MEAL", 1, new BigDecimal("10.00"));
+        inOrder.verify(claimSummaryRepository).applyDelta(lowUser, "SUBMITTED", "MEAL", -1, new BigDecimal("-10.00"));
+        inOrder.verify(claimSummaryRepository).applyDelta(highUser, "APPROVED", "MEAL", 1, new BigDecimal("10.00"));
+        inOrder.verify(claimSummaryRepository).applyDelta(highUser, "SUBMITTED", "MEAL", -1, new BigDecimal("-10.00"));
+    }
+
+    @Test
+    void recordStatusChange_SameStatus_DoesNothing() {
+        claimSummaryService.recordStatusChange(claim(ClaimType.MEAL, "10.00"), ClaimStatus.SUBMITTED);
+
+        verify(claimSummaryRepository, never()).applyDelta(any(), anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void rebuild_LeaseHeldElsewhere_DoesNothing() {
+        // --- Arrange ---
+        when(jobLeaseRepository.tryAcquire(eq(ClaimSummaryServiceImpl.REBUILD_JOB), anyString(), any()))
+                .thenReturn(false);
+
+        // --- Act ---
+        claimSummaryService.rebuild();
+
+        // --- Assert ---
+        verifyNoInteractions(rebuildRepository, transactionManager);
+        verify(jobLeaseRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void rebuild_LocksEachChunkBeforeReadingItsClaims_AndReleasesTheLease() {
+        // --- Arrange ---
+        UUID secondChunk = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        ClaimSummaryRebuildRepository.SummaryRow row = new ClaimSummaryRebuildRepository.SummaryRow(
+                userId, "SUBMITTED", "MEAL", 1, new BigDecimal("10.00"));
+        when(jobLeaseRepository.tryAcquire(eq(ClaimSummaryServiceImpl.REBUILD_JOB), anyString(), any()))
+                .thenReturn(true);
+        when(rebuildRepository.findNextRangeStart(null, 2)).thenReturn(secondChunk);
+        when(rebuildRepository.findNextRangeStart(secondChunk, 2)).thenReturn(null);
+        when(rebuildRepository.aggregateClaims(null, secondChunk)).thenReturn(List.of(row));
+        when(rebuildRepository.aggregateClaims(secondChunk, null)).thenReturn(List.of());
+
+        // --- Act ---
+        claimSummaryService.rebuild();
+
+        // --- Assert ---
+        InOrder inOrder = inOrder(rebuildRepository, transactionManager, jobLeaseRepository);
+        inOrder.verify(rebuildRepository).lockSummaries(null, secondChunk);
+        inOrder.verify(rebuildRepository).aggregateClaims(null, secondChunk);
+        inOrder.verify(rebuildRepository).deleteSummaries(null, secondChunk);
+        inOrder.verify(rebuildRepository).insertSummaries(List.of(row));
+        inOrder.verify(transactionManager).commit(any());
+        // Renewed between chunks
+        inOrder.verify(jobLeaseRepository).tryAcquire(eq(ClaimSummaryServiceImpl.REBUILD_JOB), anyString(), any());
+        inOrder.verify(rebuildRepository).lockSummaries(secondChunk, null);
+        inOrder.verify(rebuildRepository).aggregateClaims(secondChunk, null);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(jobLeaseRepository).release(eq(ClaimSummaryServiceImpl.REBUILD_JOB), anyString());
+    }
+
+    @Test
+    void rebuild_LeaseLostBetweenChunks_Stops() {
+        // --- Arrange ---
+        UUID secondChunk = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        when(jobLeaseRepository.tryAcquire(eq(ClaimSummaryServiceImpl.REBUILD_JOB), anyString(), any()))
+                .thenReturn(true, false);
+        when(rebuildRepository.findNextRangeStart(null, 2)).thenReturn(secondChunk);
+
+        // --- Act ---
+        claimSummaryService.rebuild();
+
+        // --- Assert ---
+        verify(rebuildRepository).lockSummaries(null, secondChunk);
+        verify(rebuildRepository, never()).lockSummaries(eq(secondChunk), any());
+    }
+
+    private Claim claim(ClaimType type, String amount) {
+        Claim claim = new Claim();
+        claim.setUserId(userId);
+        claim.setClaimType(type);
+        claim.setStatus(ClaimStatus.SUBMITTED);
+        claim.setAmount(new BigDecimal(amount));
+        return claim;
+    }
+}
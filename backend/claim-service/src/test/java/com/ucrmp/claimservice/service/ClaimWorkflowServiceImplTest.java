@@ -0,0 +1,259 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.BatchStatusTransitionRequest;
+import com.ucrmp.claimservice.dto.BatchStatusTransitionResponse;
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.dto.StatusTransitionRequest;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.entity.ClaimStatusHistory;
+import com.ucrmp.claimservice.exception.ClaimVersionConflictException;
+import com.ucrmp.claimservice.exception.InvalidStatusTransitionException;
+import com.ucrmp.claimservice.exception.ReviewLeaseException;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimEventType;
+import com.ucrmp.claimservice.outbox.ClaimOutboxWriter;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ClaimStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimWorkflowServiceImplTest {
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    @Mock
+    private ClaimStatusHistoryRepository claimStatusHistoryRepository;
+
+    @Mock
+    private ClaimSummaryService claimSummaryService;
+
+    // No cache configured: getCache returns null and eviction is skipped
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ClaimOutboxWriter claimOutbox;
+
+    @InjectMocks
+    private ClaimWorkflowServiceImpl claimWorkflowService;
+
+    private final UUID reviewerId = UUID.randomUUID();
+
+    @Test
+    void changeStatus_ValidTransition_UpdatesClaimAndWritesHistory() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimStatus.UNDER_REVIEW);
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.APPROVED);
+        request.setComment("Looks good");
+        request.setExpectedVersion(3L);
+
+        // --- Act ---
+        ClaimResponse response = claimWorkflowService.changeStatus(claim.getId(), request, reviewerId);
+
+        // --- Assert ---
+        assertEquals(ClaimStatus.APPROVED, response.getStatus());
+
+        ArgumentCaptor<ClaimStatusHistory> history = ArgumentCaptor.forClass(ClaimStatusHistory.class);
+        verify(claimStatusHistoryRepository).save(history.capture());
+        assertEquals(ClaimStatus.APPROVED, history.getValue().getStatus());
+        assertEquals(reviewerId, history.getValue().getChangedById());
+        assertEquals("Looks good", history.getValue().getComment());
+
+        verify(claimSummaryService).recordStatusChange(claim, ClaimStatus.UNDER_REVIEW);
+        ArgumentCaptor<Collection<ClaimEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(claimOutbox).append(events.capture());
+        ClaimEvent event = events.getValue().iterator().next();
+        assertEquals(ClaimEventType.CLAIM_STATUS_CHANGED, event.type());
+        assertEquals(ClaimStatus.UNDER_REVIEW, event.previousStatus());
+        assertEquals(ClaimStatus.APPROVED, event.status());
+        verify(claimRepository).flush();
+    }
+
+    @Test
+    void changeStatus_DisallowedTransition_Throws() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimStatus.SUBMITTED);
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.PAID);
+
+        // --- Act & Assert ---
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> claimWorkflowService.changeStatus(claim.getId(), request, reviewerId));
+        assertEquals(ClaimStatus.SUBMITTED, claim.getStatus());
+        verifyNoInteractions(claimStatusHistoryRepository, claimSummaryService);
+    }
+
+    @Test
+    void changeStatus_StaleVersion_Throws() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimStatus.UNDER_REVIEW);
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.APPROVED);
+        request.setExpectedVersion(2L);
+
+        // --- Act & Assert ---
+        assertThrows(ClaimVersionConflictException.class,
+                () -> claimWorkflowService.changeStatus(claim.getId(), request, reviewerId));
+        verifyNoInteractions(claimStatusHistoryRepository, claimSummaryService);
+    }
+
+    @Test
+    void changeStatus_LeasedToAnotherReviewer_Throws() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimStatus.UNDER_REVIEW);
+        claim.setReviewerId(UUID.randomUUID());
+        claim.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.APPROVED);
+        request.setExpectedVersion(3L);
+
+        // --- Act & Assert ---
+        assertThrows(ReviewLeaseException.class,
+                () -> claimWorkflowService.changeStatus(claim.getId(), request, reviewerId));
+        assertEquals(ClaimStatus.UNDER_REVIEW, claim.getStatus());
+        verifyNoInteractions(claimStatusHistoryRepository, claimSummaryService, claimOutbox);
+    }
+
+    @Test
+    void changeStatus_ByTheLeaseHolder_WithTheVersionLoadedBeforeLeasing_Succeeds() {
+        // --- Arrange ---
+        // Leasing leaves the version alone, so the pre-lease version still matches
+        Claim claim = claim(ClaimStatus.UNDER_REVIEW);
+        claim.setReviewerId(reviewerId);
+        claim.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.APPROVED);
+        request.setExpectedVersion(3L);
+
+        // --- Act ---
+        ClaimResponse response = claimWorkflowService.changeStatus(claim.getId(), request, reviewerId);
+
+        // --- Assert ---
+        assertEquals(ClaimStatus.APPROVED, response.getStatus());
+        assertNull(claim.getReviewerId());
+        assertNull(claim.getLeaseExpiresAt());
+    }
+
+    @Test
+    void changeStatus_LeaseExpired_AllowsAnotherReviewer() {
+        // --- Arrange ---
+        Claim claim = claim(ClaimStatus.UNDER_REVIEW);
+        claim.setReviewerId(UUID.randomUUID());
+        claim.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(claimRepository.findById(claim.getId())).thenReturn(Optional.of(claim));
+
+        StatusTransitionRequest request = new StatusTransitionRequest();
+        request.setStatus(ClaimStatus.APPROVED);
+
+        // --- Act ---
+        ClaimResponse response = claimWorkflowService.changeStatus(claim.getId(), request, reviewerId);
+
+        // --- Assert ---
+        assertEquals(ClaimStatus.APPROVED, response.getStatus());
+    }
+
+    @Test
+    void changeStatuses_ClaimLeasedToAnotherReviewer_IsReportedAsFailed() {
+        // --- Arrange ---
+        Claim leased = claim(ClaimStatus.UNDER_REVIEW);
+        leased.setReviewerId(UUID.randomUUID());
+        leased.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(claimRepository.findAllById(any())).thenReturn(List.of(leased));
+
+        BatchStatusTransitionRequest request = new BatchStatusTransitionRequest();
+        request.setClaimIds(List.of(leased.getId()));
+        request.setStatus(ClaimStatus.APPROVED);
+
+        // --- Act ---
+        BatchStatusTransitionResponse response = claimWorkflowService.changeStatuses(request, reviewerId);
+
+        // --- Assert ---
+        assertEquals(0, response.getUpdated());
+        assertEquals(1, response.getFailed());
+        assertEquals(ClaimStatus.UNDER_REVIEW, leased.getStatus());
+        verifyNoInteractions(claimStatusHistoryRepository, claimSummaryService, claimOutbox);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changeStatuses_UpdatesEligibleClaims_AndReportsTheRest() {
+        // --- Arrange ---
+        Claim first = claim(ClaimStatus.UNDER_REVIEW);
+        Claim alreadyPaid = claim(ClaimStatus.PAID);
+        Claim second = claim(ClaimStatus.UNDER_REVIEW);
+        UUID missingId = UUID.randomUUID();
+        when(claimRepository.findAllById(any())).thenReturn(List.of(first, alreadyPaid, second));
+
+        BatchStatusTransitionRequest request = new BatchStatusTransitionRequest();
+        request.setClaimIds(List.of(first.getId(), alreadyPaid.getId(), missingId, second.getId(), first.getId()));
+        request.setStatus(ClaimStatus.APPROVED);
+
+        // --- Act ---
+        BatchStatusTransitionResponse response = claimWorkflowService.changeStatuses(request, reviewerId);
+
+        // --- Assert ---
+        assertEquals(2, response.getUpdated());
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess()); // PAID is final
+        assertFalse(response.getResults().get(2).isSuccess()); // not found
+        assertTrue(response.getResults().get(3).isSuccess());
+        assertFalse(response.getResults().get(4).isSuccess()); // duplicate
+
+        // One load, one history batch, one summary update, one flush
+        verify(claimRepository, times(1)).findAllById(any());
+        ArgumentCaptor<List<ClaimStatusHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(claimStatusHistoryRepository, times(1)).saveAll(history.capture());
+        assertEquals(2, history.getValue().size());
+        ArgumentCaptor<Collection<ClaimSummaryService.StatusChange>> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(claimSummaryService, times(1)).recordStatusChanges(changes.capture());
+        assertEquals(2, changes.getValue().size());
+        ArgumentCaptor<Collection<ClaimEvent>> events = ArgumentCaptor.forClass(Collection.class);
+        verify(claimOutbox, times(1)).append(events.capture());
+        assertEquals(2, events.getValue().size());
+        verify(claimRepository, times(1)).flush();
+    }
+
+    private Claim claim(ClaimStatus status) {
+        Claim claim = new Claim();
+        claim.setId(UUID.randomUUID());
+        claim.setUserId(UUID.randomUUID());
+        claim.setClaimType(ClaimType.TRAVEL);
+        claim.setAmount(new BigDecimal("100.00"));
+        claim.setStatus(status);
+        claim.setMetadata("{}");
+        claim.setVersion(3L);
+        return claim;
+    }
+}
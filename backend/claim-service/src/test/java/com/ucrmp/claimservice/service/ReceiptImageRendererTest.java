@@ -0,0 +1,50 @@
+package com.ucrmp.claimservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReceiptImageRendererTest {
+
+    @Test
+    void render_ScalesToBoundedJpegs() throws Exception {
+        // A wide PNG with transparency
+        BufferedImage source = new BufferedImage(5000, 1000, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(source, "png", png);
+
+        ReceiptImageRenderer.Renditions renditions =
+                ReceiptImageRenderer.render(new ByteArrayInputStream(png.toByteArray()));
+
+        BufferedImage normalized = ImageIO.read(new ByteArrayInputStream(renditions.normalized()));
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(renditions.thumbnail()));
+        assertEquals(ReceiptImageRenderer.NORMALIZED_MAX_SIDE, normalized.getWidth());
+        assertEquals(410, normalized.getHeight());
+        assertEquals(ReceiptImageRenderer.THUMBNAIL_MAX_SIDE, thumbnail.getWidth());
+        // Transparency is flattened onto white
+        assertTrue((thumbnail.getRGB(10, 10) & 0xFF) > 240);
+    }
+
+    @Test
+    void render_KeepsSmallImagesAtTheirSize() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        ReceiptImageRenderer.Renditions renditions =
+                ReceiptImageRenderer.render(new ByteArrayInputStream(png.toByteArray()));
+
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(renditions.normalized())).getWidth());
+        assertEquals(200, ImageIO.read(new ByteArrayInputStream(renditions.thumbnail())).getWidth());
+    }
+
+    @Test
+    void render_NotAnImage_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ReceiptImageRenderer.render(new ByteArrayInputStream("%PDF-1.7".getBytes())));
+    }
+}
@@ -0,0 +1,147 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.entity.Receipt;
+import com.ucrmp.claimservice.model.ReceiptProcessingStatus;
+import com.ucrmp.claimservice.repository.ReceiptBlobRepository;
+import com.ucrmp.claimservice.repository.ReceiptRepository;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptProcessingServiceImplTest {
+
+    @Mock
+    private ReceiptRepository receiptRepository;
+
+    @Mock
+    private ReceiptBlobRepository receiptBlobRepository;
+
+    @Mock
+    private ReceiptStorage receiptStorage;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReceiptProcessingServiceImpl processingService;
+
+    private final UUID receiptId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (processingService != null) {
+            processingService.shutdown();
+        }
+    }
+
+    @Test
+    void process_UnreadableImage_IsSkippedWithoutRetry() {
+        // --- Arrange ---
+        processingService = service(2, 10);
+        Receipt receipt = claimedReceipt(1);
+        when(receiptStorage.load(receipt.getFileUrl())).thenReturn(new ByteArrayResource("%PDF-1.7".getBytes()));
+
+        // --- Act ---
+        processingService.process(receiptId);
+
+        // --- Assert ---
+        assertEquals(ReceiptProcessingStatus.SKIPPED, receipt.getProcessingStatus());
+        assertNull(receipt.getProcessingNextAttemptAt());
+        assertEquals(1, meterRegistry.get("receipts.processing.duration").tag("outcome", "skipped").timer().count());
+    }
+
+    @Test
+    void process_StorageFailure_IsRetriedWithBackoff() {
+        processingService = service(2, 10);
+        Receipt receipt = claimedReceipt(2);
+        when(receiptStorage.load(receipt.getFileUrl())).thenThrow(new IllegalStateException("disk unavailable"));
+
+        processingService.process(receiptId);
+
+        assertEquals(ReceiptProcessingStatus.PENDING, receipt.getProcessingStatus());
+        // Second attempt: twice the base backoff
+        assertTrue(receipt.getProcessingNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(55)));
+        assertTrue(receipt.getProcessingError().contains("disk unavailable"));
+    }
+
+    @Test
+    void process_LastAttemptFails_MarksFailed() {
+        processingService = service(2, 10);
+        Receipt receipt = claimedReceipt(3);
+        when(receiptStorage.load(receipt.getFileUrl())).thenThrow(new IllegalStateException("disk unavailable"));
+
+        processingService.process(receiptId);
+
+        assertEquals(ReceiptProcessingStatus.FAILED, receipt.getProcessingStatus());
+        assertNull(receipt.getProcessingNextAttemptAt());
+    }
+
+    @Test
+    void process_ClaimedElsewhere_DoesNothing() {
+        processingService = service(2, 10);
+        when(receiptRepository.claimForProcessing(eq(receiptId), any(), any(), any(), any())).thenReturn(0);
+
+        processingService.process(receiptId);
+
+        verify(receiptRepository, never()).findById(any());
+        verifyNoInteractions(receiptStorage);
+    }
+
+    @Test
+    void submit_QueueFull_RefusesInsteadOfBlocking() throws Exception {
+        // One slot in total: one job running, none waiting
+        processingService = service(1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(receiptRepository.claimForProcessing(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+
+        assertTrue(processingService.submit(receiptId));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertFalse(processingService.submit(UUID.randomUUID()));
+        assertEquals(1.0, meterRegistry.get("receipts.processing.rejected").counter().count());
+        release.countDown();
+    }
+
+    private ReceiptProcessingServiceImpl service(int concurrency, int queueCapacity) {
+        return new ReceiptProcessingServiceImpl(receiptRepository, receiptBlobRepository, receiptStorage,
+                transactionManager, meterRegistry, concurrency, queueCapacity, 3, Duration.ofSeconds(30),
+                Duration.ofMinutes(5));
+    }
+
+    // A receipt whose job this worker has just claimed for the given attempt
+    private Receipt claimedReceipt(int attempt) {
+        Receipt receipt = new Receipt();
+        receipt.setId(receiptId);
+        receipt.setFileUrl("sha256:" + "a".repeat(64));
+        receipt.setProcessingStatus(ReceiptProcessingStatus.PROCESSING);
+        receipt.setProcessingAttempts(attempt);
+        when(receiptRepository.claimForProcessing(eq(receiptId), any(), any(), any(), any())).thenReturn(1);
+        when(receiptRepository.findById(receiptId)).thenReturn(Optional.of(receipt));
+        return receipt;
+    }
+}
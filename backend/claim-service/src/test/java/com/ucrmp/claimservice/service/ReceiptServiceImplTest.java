@@ -0,0 +1,156 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.entity.Receipt;
+import com.ucrmp.claimservice.entity.ReceiptBlob;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import com.ucrmp.claimservice.repository.ReceiptBlobRepository;
+import com.ucrmp.claimservice.repository.ReceiptRepository;
+import com.ucrmp.claimservice.storage.ReceiptStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptServiceImplTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+    private static final String LOCATION = "blobs/ab/" + SHA256;
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    @Mock
+    private ReceiptRepository receiptRepository;
+
+    @Mock
+    private ReceiptBlobRepository receiptBlobRepository;
+
+    @Mock
+    private ReceiptStorage receiptStorage;
+
+    // Unstubbed: transactions run with a null status and commit as no-ops
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReceiptServiceImpl receiptService;
+
+    private final ReceiptStorage.StagedFile staged = new ReceiptStorage.StagedFile(SHA256, 42, Path.of("tmp", "upload"));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        receiptService = new ReceiptServiceImpl(claimRepository, receiptRepository, receiptBlobRepository,
+                receiptStorage, transactionManager, eventPublisher);
+        // Used by the attach tests only
+        lenient().when(receiptStorage.publish(staged)).thenReturn(LOCATION);
+        lenient().when(receiptRepository.save(any(Receipt.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Stands in for the surrounding transaction the rollback hook registers with
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void attach_NewBlobRolledBack_DeletesTheFile() throws Exception {
+        // --- Arrange ---
+        when(receiptBlobRepository.findRefCount(SHA256)).thenReturn(1);
+        when(receiptBlobRepository.lockAndCount(SHA256)).thenReturn(0);
+
+        // --- Act ---
+        receiptService.attach(UUID.randomUUID(), staged, "receipt.pdf", "application/pdf");
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // --- Assert ---
+        verify(receiptStorage).delete(LOCATION);
+    }
+
+    @Test
+    void attach_NewBlobCommitted_KeepsTheFile() throws Exception {
+        // --- Arrange ---
+        when(receiptBlobRepository.findRefCount(SHA256)).thenReturn(1);
+
+        // --- Act ---
+        receiptService.attach(UUID.randomUUID(), staged, "receipt.pdf", "application/pdf");
+        completeWith(TransactionSynchronization.STATUS_COMMITTED);
+
+        // --- Assert ---
+        verify(receiptBlobRepository, never()).lockAndCount(any());
+        verify(receiptStorage, never()).delete(any());
+    }
+
+    @Test
+    void attach_DuplicateRolledBack_KeepsTheFile() throws Exception {
+        // --- Arrange ---
+        when(receiptBlobRepository.findRefCount(SHA256)).thenReturn(2);
+
+        // --- Act ---
+        receiptService.attach(UUID.randomUUID(), staged, "receipt.pdf", "application/pdf");
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // --- Assert ---
+        verify(receiptStorage, never()).delete(any());
+    }
+
+    @Test
+    void attach_RolledBackWhileTheSameBytesAreUploaded_KeepsTheFile() throws Exception {
+        // --- Arrange ---
+        when(receiptBlobRepository.findRefCount(SHA256)).thenReturn(1);
+        // Another upload referenced the blob once this transaction's lock was gone
+        when(receiptBlobRepository.lockAndCount(SHA256)).thenReturn(1);
+
+        // --- Act ---
+        receiptService.attach(UUID.randomUUID(), staged, "receipt.pdf", "application/pdf");
+        completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // --- Assert ---
+        verify(receiptStorage, never()).delete(any());
+    }
+
+    @Test
+    void sweepUnreferencedBlobs_LocksEachCandidateByKey_AndSkipsReReferencedOnes() throws Exception {
+        // --- Arrange ---
+        String reReferenced = "cd".repeat(32);
+        ReceiptBlob blob = new ReceiptBlob();
+        when(receiptBlobRepository.findUnreferencedHashes(anyInt())).thenReturn(List.of(SHA256, reReferenced));
+        when(receiptBlobRepository.lockIfUnreferenced(SHA256)).thenReturn(Optional.of(blob));
+        when(receiptBlobRepository.lockIfUnreferenced(reReferenced)).thenReturn(Optional.empty());
+        when(receiptStorage.locationOf(SHA256)).thenReturn(LOCATION);
+
+        // --- Act ---
+        receiptService.sweepUnreferencedBlobs();
+
+        // --- Assert ---
+        verify(receiptStorage).delete(LOCATION);
+        verify(receiptBlobRepository).delete(blob);
+        verify(receiptStorage, never()).locationOf(reReferenced);
+        // One transaction per candidate
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private static void completeWith(int status) {
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                status);
+    }
+}
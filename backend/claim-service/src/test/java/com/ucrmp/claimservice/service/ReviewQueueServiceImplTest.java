@@ -0,0 +1,118 @@
+package com.ucrmp.claimservice.service;
+
+import com.ucrmp.claimservice.dto.ClaimResponse;
+import com.ucrmp.claimservice.entity.Claim;
+import com.ucrmp.claimservice.exception.ClaimNotFoundException;
+import com.ucrmp.claimservice.exception.ReviewLeaseException;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.repository.ClaimRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewQueueServiceImplTest {
+
+    @Mock
+    private ClaimRepository claimRepository;
+
+    private ReviewQueueServiceImpl reviewQueueService;
+
+    private final UUID reviewerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        reviewQueueService = new ReviewQueueServiceImpl(claimRepository, Duration.ofMinutes(15));
+    }
+
+    @Test
+    void leaseNext_StampsReviewerAndExpiry_WithoutBumpingTheVersion() {
+        // --- Arrange ---
+        Claim claim = claim();
+        when(claimRepository.lockClaimableForReview(any(LocalDateTime.class), eq(ReviewQueueServiceImpl.DEFAULT_BATCH_SIZE)))
+                .thenReturn(List.of(claim));
+
+        // --- Act ---
+        List<ClaimResponse> leased = reviewQueueService.leaseNext(reviewerId, null);
+
+        // --- Assert ---
+        assertEquals(1, leased.size());
+        assertEquals(3L, leased.get(0).getVersion());
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(claimRepository).lease(eq(List.of(claim.getId())), eq(reviewerId), expiresAt.capture());
+        assertTrue(expiresAt.getValue().isAfter(LocalDateTime.now().plusMinutes(14)));
+        // The lease is a bulk UPDATE; nothing goes through the versioned entity
+        assertNull(claim.getReviewerId());
+        verify(claimRepository, never()).flush();
+    }
+
+    @Test
+    void leaseNext_NothingClaimable_WritesNothing() {
+        reviewQueueService.leaseNext(reviewerId, null);
+
+        verify(claimRepository, never()).lease(any(), any(), any());
+    }
+
+    @Test
+    void leaseNext_CapsTheBatchSize() {
+        reviewQueueService.leaseNext(reviewerId, 10_000);
+
+        verify(claimRepository).lockClaimableForReview(any(LocalDateTime.class), eq(ReviewQueueServiceImpl.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    void release_ByAnotherReviewer_Throws() {
+        // --- Arrange ---
+        UUID claimId = UUID.randomUUID();
+        when(claimRepository.releaseLease(claimId, reviewerId)).thenReturn(0);
+        when(claimRepository.existsById(claimId)).thenReturn(true);
+
+        // --- Act & Assert ---
+        assertThrows(ReviewLeaseException.class, () -> reviewQueueService.release(claimId, reviewerId));
+    }
+
+    @Test
+    void release_UnknownClaim_Throws() {
+        // --- Arrange ---
+        UUID claimId = UUID.randomUUID();
+        when(claimRepository.releaseLease(claimId, reviewerId)).thenReturn(0);
+
+        // --- Act & Assert ---
+        assertThrows(ClaimNotFoundException.class, () -> reviewQueueService.release(claimId, reviewerId));
+    }
+
+    @Test
+    void release_ByTheHolder_ClearsTheLeaseWithoutLoadingTheClaim() {
+        when(claimRepository.releaseLease(any(), eq(reviewerId))).thenReturn(1);
+
+        reviewQueueService.release(UUID.randomUUID(), reviewerId);
+
+        verify(claimRepository, never()).findById(any());
+    }
+
+    private Claim claim() {
+        Claim claim = new Claim();
+        claim.setId(UUID.randomUUID());
+        claim.setUserId(UUID.randomUUID());
+        claim.setClaimType(ClaimType.TRAVEL);
+        claim.setAmount(new BigDecimal("10.00"));
+        claim.setStatus(ClaimStatus.UNDER_REVIEW);
+        claim.setVersion(3L);
+        return claim;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ucrmp.claimservice.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalReceiptStorageTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void stagePublishThenLoad_ReturnsTheSameBytes() throws Exception {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+        byte[] content = "%PDF-1.7 receipt".getBytes();
+
+        ReceiptStorage.StagedFile staged = storage.stage(new ByteArrayInputStream(content));
+        String location = storage.publish(staged);
+
+        assertEquals(content.length, staged.size());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)), staged.sha256());
+        assertEquals(storage.locationOf(staged.sha256()), location);
+        Resource resource = storage.load(location);
+        assertArrayEquals(content, resource.getContentAsByteArray());
+
+        // Only the published file is left behind, no temp parts
+        assertEquals(1, countFiles());
+
+        storage.delete(location);
+        assertFalse(resource.exists());
+    }
+
+    @Test
+    void publish_SameBytesTwice_KeepsOneCopy() throws Exception {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+        byte[] content = "same scan".getBytes();
+
+        String first = storage.publish(storage.stage(new ByteArrayInputStream(content)));
+        String second = storage.publish(storage.stage(new ByteArrayInputStream(content)));
+
+        assertEquals(first, second);
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void discard_RemovesTheStagedFile() throws Exception {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+
+        ReceiptStorage.StagedFile staged = storage.stage(new ByteArrayInputStream("abandoned".getBytes()));
+        storage.discard(staged);
+
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void uploadChunksOutOfOrder_ThenPublish_AssemblesTheFile() throws Exception {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+        UUID uploadId = UUID.randomUUID();
+        byte[] content = new byte[2500];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7);
+        }
+
+        storage.allocateUpload(uploadId, content.length);
+        storage.writeUploadChunk(uploadId, 2000, 500, new ByteArrayInputStream(content, 2000, 500));
+        storage.writeUploadChunk(uploadId, 0, 1000, new ByteArrayInputStream(content, 0, 1000));
+        storage.writeUploadChunk(uploadId, 1000, 1000, new ByteArrayInputStream(content, 1000, 1000));
+        ReceiptStorage.StagedFile staged = storage.stageUpload(uploadId);
+        String location = storage.publish(staged);
+
+        assertEquals(content.length, staged.size());
+        assertArrayEquals(content, storage.load(location).getContentAsByteArray());
+        // Published by moving the upload file, so nothing else is left
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void writeUploadChunk_WrongLength_IsRejected() throws Exception {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+        UUID uploadId = UUID.randomUUID();
+        storage.allocateUpload(uploadId, 100);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.writeUploadChunk(uploadId, 0, 50, new ByteArrayInputStream(new byte[49])));
+        assertThrows(IllegalArgumentException.class,
+                () -> storage.writeUploadChunk(uploadId, 0, 50, new ByteArrayInputStream(new byte[51])));
+        // Only allocated uploads accept chunks
+        assertThrows(Exception.class,
+                () -> storage.writeUploadChunk(UUID.randomUUID(), 0, 50, new ByteArrayInputStream(new byte[50])));
+
+        storage.deleteUpload(uploadId);
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    void load_RejectsLocationsOutsideTheRoot() {
+        LocalReceiptStorage storage = new LocalReceiptStorage(root.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> storage.load("local:../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> storage.load("sha256:../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> storage.load("/etc/passwd"));
+    }
+
+    private long countFiles() throws Exception {
+        try (var files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
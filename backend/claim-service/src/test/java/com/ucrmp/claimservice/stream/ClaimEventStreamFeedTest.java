@@ -0,0 +1,159 @@
+package com.ucrmp.claimservice.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ucrmp.claimservice.model.ClaimStatus;
+import com.ucrmp.claimservice.model.ClaimType;
+import com.ucrmp.claimservice.outbox.ClaimEvent;
+import com.ucrmp.claimservice.outbox.ClaimEventType;
+import com.ucrmp.claimservice.outbox.ClaimOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimEventStreamFeedTest {
+
+    @Mock
+    private ClaimOutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Writes run on the calling thread, so the assertions see them right away
+    private final ClaimEventStreamRegistry registry =
+            new ClaimEventStreamRegistry(meterRegistry, Duration.ofMinutes(30), 2, Runnable::run);
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void poll_WithoutSubscribers_OnlyTracksTheNewestId() {
+        // --- Arrange ---
+        when(outboxRepository.findMaxId()).thenReturn(41L, 42L);
+        ClaimEventStreamFeed feed = feed();
+
+        // --- Act ---
+        feed.poll();
+        feed.poll();
+
+        // --- Assert ---
+        assertEquals(42L, feed.getPosition());
+        verify(outboxRepository, never()).findAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void poll_SendsEventsOnlyToTheClaimOwner() {
+        // --- Arrange ---
+        when(outboxRepository.findMaxId()).thenReturn(4L);
+        ClaimEventStreamFeed feed = feed();
+        feed.poll();
+        registry.subscribe(userId);
+        LocalDateTime now = LocalDateTime.now();
+        when(outboxRepository.findAfter(4L, 10)).thenReturn(List.of(row(5, userId, now), row(6, UUID.randomUUID(), now)));
+
+        // --- Act ---
+        feed.poll();
+
+        // --- Assert ---
+        assertEquals(6L, feed.getPosition());
+        assertEquals(1.0, meterRegistry.get("claims.stream.events.sent").counter().count());
+    }
+
+    @Test
+    void poll_WaitsAtARecentGap() {
+        when(outboxRepository.findMaxId()).thenReturn(4L);
+        ClaimEventStreamFeed feed = feed();
+        feed.poll();
+        registry.subscribe(userId);
+        // Id 6 may still commit
+        when(outboxRepository.findAfter(4L, 10))
+                .thenReturn(List.of(row(5, userId, LocalDateTime.now()), row(7, userId, LocalDateTime.now())));
+
+        feed.poll();
+
+        assertEquals(5L, feed.getPosition());
+    }
+
+    @Test
+    void subscribe_OverThePerUserLimit_ClosesTheOldestStream() {
+        registry.subscribe(userId);
+        registry.subscribe(userId);
+        registry.subscribe(userId);
+        registry.subscribe(UUID.randomUUID());
+
+        assertEquals(3, registry.getConnectionCount());
+        assertEquals(3.0, meterRegistry.get("claims.stream.connections").gauge().value());
+    }
+
+    @Test
+    void dispatch_WritesOnTheWriterThreadNotTheCaller() {
+        // --- Arrange ---
+        SimpleMeterRegistry writerMeters = new SimpleMeterRegistry();
+        List<Runnable> queued = new ArrayList<>();
+        ClaimEventStreamRegistry queuedRegistry =
+                new ClaimEventStreamRegistry(writerMeters, Duration.ofMinutes(30), 2, queued::add);
+        queuedRegistry.subscribe(userId);
+
+        // --- Act ---
+        queuedRegistry.dispatch(List.of(event(userId, LocalDateTime.now())));
+
+        // --- Assert ---
+        assertEquals(0.0, writerMeters.get("claims.stream.events.sent").counter().count());
+        queued.forEach(Runnable::run);
+        assertEquals(1.0, writerMeters.get("claims.stream.events.sent").counter().count());
+    }
+
+    @Test
+    void dispatch_WriterQueueFull_DropsAndCounts() {
+        // --- Arrange ---
+        SimpleMeterRegistry writerMeters = new SimpleMeterRegistry();
+        ClaimEventStreamRegistry fullRegistry = new ClaimEventStreamRegistry(writerMeters, Duration.ofMinutes(30), 2,
+                task -> {
+                    throw new RejectedExecutionException("queue full");
+                });
+        fullRegistry.subscribe(userId);
+
+        // --- Act ---
+        fullRegistry.dispatch(List.of(event(userId, LocalDateTime.now())));
+        fullRegistry.sendHeartbeats();
+
+        // --- Assert ---
+        assertEquals(2.0, writerMeters.get("claims.stream.writes.dropped").counter().count());
+    }
+
+    private ClaimEventStreamFeed feed() {
+        return new ClaimEventStreamFeed(outboxRepository, registry, objectMapper, meterRegistry, 10,
+                Duration.ofSeconds(10));
+    }
+
+    private ClaimOutboxRepository.OutboxRow row(long id, UUID owner, LocalDateTime createdAt) {
+        try {
+            return new ClaimOutboxRepository.OutboxRow(id, objectMapper.writeValueAsString(event(owner, createdAt)),
+                    createdAt);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ClaimEvent event(UUID owner, LocalDateTime createdAt) {
+        return new ClaimEvent(0, UUID.randomUUID(), ClaimEventType.CLAIM_STATUS_CHANGED, UUID.randomUUID(),
+                owner, ClaimType.TRAVEL, new BigDecimal("10.00"), ClaimStatus.UNDER_REVIEW, ClaimStatus.SUBMITTED,
+                createdAt);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ucrmp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The calls a user makes, always through the gateway. Each call returns
+ * the HTTP status; the caller times it.
+ */
+final class ApiClient {
+
+    static final String PASSWORD = "LoadTest#2024pw";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    int register(String email) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("firstName", "Load")
+                .put("lastName", "Test")
+                .put("email", email)
+                .put("password", PASSWORD);
+        return send(post("/api/v1/auth/register", body, null), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Returns the token, or null when the login failed (the status is in the result)
+    LoginResult login(String email) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("email", email)
+                .put("password", PASSWORD);
+        HttpResponse<String> response = send(post("/api/v1/auth/login", body, null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return new LoginResult(response.statusCode(), null);
+        }
+        JsonNode token = objectMapper.readTree(response.body()).get("token");
+        return new LoginResult(response.statusCode(), token == null ? null : token.asText());
+    }
+
+    int createClaim(String token) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("claimType", "TRAVEL")
+                .put("amount", random.nextInt(1_000, 500_000) / 100.0)
+                .put("description", "Load test claim " + random.nextInt(1_000_000));
+        body.putObject("metadata")
+                .put("hotelName", "Hotel " + random.nextInt(500))
+                .put("flightNumber", "LT" + random.nextInt(10_000));
+        return send(post("/api/v1/claims", body, token), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int listClaims(String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/claims"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Any HTTP answer at all means the server is up
+    boolean responds(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).GET().build();
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest post(String path, JsonNode body, String token) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request, handler);
+    }
+
+    record LoginResult(int status, String token) {}
+}
@@ -0,0 +1,83 @@
+package com.ucrmp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation. Requests record into an HdrHistogram
+ * Recorder without locking; the sampler swaps out an interval histogram every
+ * second (for the .hlog time series) and adds it to the run total.
+ *
+ * Latency is measured from the request's scheduled arrival, not from when it
+ * was sent, so time spent queued behind a slow system is counted (no
+ * coordinated omission).
+ */
+final class EndpointStats {
+
+    // Values are microseconds; anything slower than the client timeout is clamped
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    // Status recorded for requests that got no HTTP response (timeout, connection refused)
+    static final int NO_RESPONSE = 0;
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Histogram interval;
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status < 200 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    // An arrival that was never sent because too many requests were open
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    // Called by the sampler; synchronized against total() reads from the report
+    synchronized Histogram sampleInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total.copy();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
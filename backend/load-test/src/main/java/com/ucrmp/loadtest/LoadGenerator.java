@@ -0,0 +1,236 @@
+package com.ucrmp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive at the configured rate whether or not
+ * earlier ones have finished, the way real users do. Every arrival runs on
+ * its own virtual thread and picks an operation by the --mix weights and a
+ * user from the pool registered up front.
+ *
+ * Arrivals are scheduled on a fixed timeline (poisson or constant gaps);
+ * if the scheduler falls behind it catches up instead of silently lowering
+ * the rate, and each request's latency starts at its scheduled time.
+ */
+final class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final int SETUP_PARALLELISM = 16;
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Session> sessions = new ArrayList<>();
+
+    LoadGenerator(LoadTestConfig config, ApiClient api) {
+        this.config = config;
+        this.api = api;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    RunResult run() throws Exception {
+        registerUsers();
+
+        long start = System.nanoTime();
+        long measureStart = start + config.warmup().toNanos();
+        long end = measureStart + config.duration().toNanos();
+        Instant startedAt = Instant.now();
+        log.info("Warming up for {}, then measuring {} at {} arrivals/s", config.warmup(), config.duration(),
+                config.rate());
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        Map<Operation, IntervalLog> logs = openIntervalLogs(measureStart);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            sampler.scheduleAtFixedRate(() -> sample(logs), TimeUnit.NANOSECONDS.toMillis(measureStart - start) + 1000,
+                    1000, TimeUnit.MILLISECONDS);
+
+            long next = start;
+            while (next < end) {
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+                boolean measured = next >= measureStart;
+                if (inFlight.get() >= config.maxInFlight()) {
+                    if (measured) {
+                        stats.get(operation).recordDropped();
+                    }
+                } else {
+                    inFlight.incrementAndGet();
+                    long scheduledAt = next;
+                    requests.submit(() -> execute(operation, scheduledAt, measured));
+                }
+                next += nextGapNanos();
+            }
+            log.info("Arrivals finished; waiting for {} open requests", inFlight.get());
+        } finally {
+            sampler.shutdown();
+            sampler.awaitTermination(5, TimeUnit.SECONDS);
+            sample(logs);
+            logs.values().forEach(IntervalLog::close);
+        }
+
+        Map<Operation, EndpointStats> measured = new EnumMap<>(Operation.class);
+        stats.forEach((operation, endpoint) -> {
+            if (endpoint.total().getTotalCount() > 0 || endpoint.dropped() > 0) {
+                measured.put(operation, endpoint);
+            }
+        });
+        return new RunResult(startedAt, measured);
+    }
+
+    private void registerUsers() throws Exception {
+        log.info("Registering and logging in {} users", config.users());
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<Future<Session>> pending = new ArrayList<>(config.users());
+        try (ExecutorService setup = Executors.newFixedThreadPool(SETUP_PARALLELISM)) {
+            for (int i = 0; i < config.users(); i++) {
+                String email = "load-" + runId + "-" + i + "@ucrmp.test";
+                pending.add(setup.submit(() -> {
+                    int registered = api.register(email);
+                    if (registered != 201) {
+                        throw new IllegalStateException("Register of " + email + " returned " + registered);
+                    }
+                    ApiClient.LoginResult login = api.login(email);
+                    if (login.token() == null) {
+                        throw new IllegalStateException("Login of " + email + " returned " + login.status());
+                    }
+                    return new Session(email, login.token());
+                }));
+            }
+            for (Future<Session> session : pending) {
+                sessions.add(session.get());
+            }
+        }
+    }
+
+    private void execute(Operation operation, long scheduledAt, boolean measured) {
+        Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+        int status;
+        try {
+            status = switch (operation) {
+                case REGISTER -> api.register("load-" + UUID.randomUUID() + "@ucrmp.test");
+                case LOGIN -> {
+                    ApiClient.LoginResult login = api.login(session.email());
+                    if (login.token() != null) {
+                        session.token = login.token();
+                    }
+                    yield login.status();
+                }
+                case CREATE_CLAIM -> api.createClaim(session.token);
+                case LIST_CLAIMS -> api.listClaims(session.token);
+            };
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = EndpointStats.NO_RESPONSE;
+        } catch (Exception e) {
+            status = EndpointStats.NO_RESPONSE;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        if (measured) {
+            stats.get(operation).record(System.nanoTime() - scheduledAt, status);
+        }
+    }
+
+    private long nextGapNanos() {
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        if (!config.poissonArrivals()) {
+            return Math.max(1, Math.round(meanGapNanos));
+        }
+        // Exponential gaps give a Poisson arrival process with the same mean rate
+        return Math.max(1, Math.round(-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos));
+    }
+
+    private Map<Operation, IntervalLog> openIntervalLogs(long measureStart) throws IOException {
+        Files.createDirectories(config.outputDir());
+        Map<Operation, IntervalLog> logs = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            logs.put(operation, new IntervalLog(config.outputDir().resolve(operation.key() + ".hlog"), measureStart));
+        }
+        return logs;
+    }
+
+    private void sample(Map<Operation, IntervalLog> logs) {
+        stats.forEach((operation, endpoint) -> logs.get(operation).write(endpoint.sampleInterval()));
+    }
+
+    private static final class Session {
+        private final String email;
+        private volatile String token;
+
+        Session(String email, String token) {
+            this.email = email;
+            this.token = token;
+        }
+
+        String email() {
+            return email;
+        }
+    }
+
+    // One HdrHistogram interval log per operation, readable by HistogramLogProcessor
+    private static final class IntervalLog {
+        private final PrintStream out;
+        private final HistogramLogWriter writer;
+        private final long startMillis;
+
+        IntervalLog(Path path, long measureStartNanos) throws IOException {
+            this.out = new PrintStream(Files.newOutputStream(path), false);
+            this.writer = new HistogramLogWriter(out);
+            this.startMillis = System.currentTimeMillis()
+                    + TimeUnit.NANOSECONDS.toMillis(measureStartNanos - System.nanoTime());
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+        }
+
+        void write(Histogram interval) {
+            if (interval.getTotalCount() > 0) {
+                writer.outputIntervalHistogram(interval);
+            }
+        }
+
+        void close() {
+            out.close();
+        }
+    }
+
+    record RunResult(Instant startedAt, Map<Operation, EndpointStats> endpoints) {}
+}
@@ -0,0 +1,136 @@
+package com.ucrmp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a run leaves behind in the output directory:
+ *
+ * summary.json     per endpoint: counts, errors, status codes, throughput and
+ *                  latency percentiles in ms, plus the run settings and label.
+ *                  This is what --baseline compares against.
+ * &lt;op&gt;.hgrm        full HdrHistogram percentile distribution (plot it with
+ *                  the HdrHistogram plotter to overlay builds).
+ * &lt;op&gt;.hlog        one histogram per second (written by LoadGenerator).
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadReport() {
+    }
+
+    record Summary(String label,
+                   String startedAt,
+                   Map<String, Object> settings,
+                   Map<String, EndpointSummary> endpoints) {}
+
+    record EndpointSummary(long count,
+                           long errors,
+                           long dropped,
+                           Map<Integer, Long> statuses,
+                           double throughput,
+                           Map<String, Double> latencyMs) {}
+
+    static Summary summarize(LoadTestConfig config, LoadGenerator.RunResult result) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", config.rate());
+        settings.put("arrivals", config.poissonArrivals() ? "poisson" : "constant");
+        settings.put("warmup", config.warmup().toString());
+        settings.put("duration", config.duration().toString());
+        settings.put("users", config.users());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        settings.put("mix", mix);
+        settings.put("local", config.local());
+
+        double seconds = config.duration().toMillis() / 1000.0;
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        result.endpoints().forEach((operation, stats) -> {
+            Histogram histogram = stats.total();
+            Map<String, Double> latency = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                latency.put(percentileKey(percentile), toMillis(histogram.getValueAtPercentile(percentile)));
+            }
+            latency.put("max", toMillis(histogram.getMaxValue()));
+            latency.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000.0);
+            endpoints.put(operation.endpoint(), new EndpointSummary(histogram.getTotalCount(), stats.errors(),
+                    stats.dropped(), stats.statuses(), histogram.getTotalCount() / seconds, latency));
+        });
+        return new Summary(config.label(), result.startedAt().toString(), settings, endpoints);
+    }
+
+    static void write(Path dir, Summary summary, LoadGenerator.RunResult result) throws IOException {
+        Files.createDirectories(dir);
+        objectMapper.writeValue(dir.resolve("summary.json").toFile(), summary);
+        for (Map.Entry<Operation, EndpointStats> entry : result.endpoints().entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                entry.getValue().total().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    static Summary read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), Summary.class);
+    }
+
+    /**
+     * Compares p99 and error rate per endpoint with a baseline run. Returns
+     * the lines to print; regressions are prefixed with "REGRESSION".
+     */
+    static List<String> compare(Summary baseline, Summary current, double maxP99Regression) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-30s %12s %12s %8s %10s %10s", "endpoint", "p99 base ms", "p99 now ms", "change",
+                "err% base", "err% now"));
+        current.endpoints().forEach((endpoint, now) -> {
+            EndpointSummary base = baseline.endpoints().get(endpoint);
+            if (base == null) {
+                lines.add(String.format("%-30s not in baseline", endpoint));
+                return;
+            }
+            double baseP99 = base.latencyMs().getOrDefault("p99", 0.0);
+            double nowP99 = now.latencyMs().getOrDefault("p99", 0.0);
+            double change = baseP99 == 0 ? 0 : (nowP99 - baseP99) / baseP99;
+            double baseErrors = errorRate(base);
+            double nowErrors = errorRate(now);
+            boolean regressed = change > maxP99Regression || nowErrors > baseErrors + 0.01;
+            lines.add(String.format("%s%-30s %12.2f %12.2f %+7.1f%% %9.2f%% %9.2f%%",
+                    regressed ? "REGRESSION " : "", endpoint, baseP99, nowP99, change * 100,
+                    baseErrors * 100, nowErrors * 100));
+        });
+        return lines;
+    }
+
+    static boolean hasRegression(List<String> comparison) {
+        return comparison.stream().anyMatch(line -> line.startsWith("REGRESSION"));
+    }
+
+    private static double errorRate(EndpointSummary summary) {
+        long attempts = summary.count() + summary.dropped();
+        return attempts == 0 ? 0 : (double) (summary.errors() + summary.dropped()) / attempts;
+    }
+
+    private static String percentileKey(double percentile) {
+        return "p" + (percentile == Math.rint(percentile)
+                ? Long.toString((long) percentile)
+                : Double.toString(percentile).replace(".", ""));
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ucrmp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Drives register, login, create-claim and list-claims traffic through the
+ * api-gateway and writes latency reports. See LoadTestConfig for the options.
+ *
+ * Against a running stack:  --base-url=http://localhost:8080
+ * Fully local (no Docker):  --local   (see LocalStack)
+ * Regression check:         --baseline=target/load-test/&lt;earlier run&gt;/summary.json
+ */
+public final class LoadTestApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        ApiClient probe = new ApiClient(config.baseUrl());
+
+        LoadGenerator.RunResult result;
+        try (LocalStack stack = config.local() ? LocalStack.start(config, probe) : null) {
+            String baseUrl = stack != null ? stack.gatewayUrl() : config.baseUrl();
+            log.info("Driving {}", baseUrl);
+            result = new LoadGenerator(config, new ApiClient(baseUrl)).run();
+        }
+
+        LoadReport.Summary summary = LoadReport.summarize(config, result);
+        LoadReport.write(config.outputDir(), summary, result);
+        summary.endpoints().forEach((endpoint, stats) -> log.info(
+                "{}: {} requests ({}/s), {} errors, {} dropped, p50 {} ms, p99 {} ms, max {} ms",
+                endpoint, stats.count(), String.format("%.1f", stats.throughput()), stats.errors(), stats.dropped(),
+                stats.latencyMs().get("p50"), stats.latencyMs().get("p99"), stats.latencyMs().get("max")));
+        log.info("Report written to {}", config.outputDir().toAbsolutePath());
+
+        if (config.baseline() != null) {
+            LoadReport.Summary baseline = LoadReport.read(config.baseline());
+            List<String> comparison = LoadReport.compare(baseline, summary, config.maxP99Regression());
+            log.info("Compared with {} ({}):\n{}", baseline.label(), config.baseline(), String.join("\n", comparison));
+            if (LoadReport.hasRegression(comparison)) {
+                log.error("p99 or error rate regressed beyond the allowed {}%", config.maxP99Regression() * 100);
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ucrmp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for one run, read from "--name=value" arguments.
+ *
+ * --local                start MariaDB and the three services from their built jars
+ * --services-dir=..      where the service modules (and their target/*.jar) live
+ * --base-url=URL         gateway to drive when not --local (default http://localhost:8080)
+ * --rate=100             arrivals per second (open model: does not slow down with the system)
+ * --arrivals=poisson     poisson or constant inter-arrival times
+ * --warmup=PT10S         run before measuring, not recorded
+ * --duration=PT60S       measured run
+ * --users=50             users registered and logged in before the run
+ * --mix=create:30,list:60,login:10   operation weights
+ * --max-in-flight=5000   arrivals beyond this many open requests are counted as dropped
+ * --out=DIR              report directory (default target/load-test/&lt;timestamp&gt;)
+ * --label=NAME           build identifier written to the report (e.g. a commit)
+ * --baseline=FILE        summary.json of an earlier run to compare against
+ * --max-p99-regression=0.20   allowed p99 growth per endpoint before the run fails
+ */
+record LoadTestConfig(boolean local,
+                      Path servicesDir,
+                      String baseUrl,
+                      double rate,
+                      boolean poissonArrivals,
+                      Duration warmup,
+                      Duration duration,
+                      int users,
+                      Map<Operation, Integer> mix,
+                      int maxInFlight,
+                      Path outputDir,
+                      String label,
+                      Path baseline,
+                      double maxP99Regression) {
+
+    static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        String arrivals = options.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("constant")) {
+            throw new IllegalArgumentException("--arrivals must be poisson or constant");
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                Boolean.parseBoolean(options.getOrDefault("local", "false")),
+                Path.of(options.getOrDefault("services-dir", "..")),
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                Double.parseDouble(options.getOrDefault("rate", "100")),
+                arrivals.equals("poisson"),
+                Duration.parse(options.getOrDefault("warmup", "PT10S")),
+                Duration.parse(options.getOrDefault("duration", "PT60S")),
+                Integer.parseInt(options.getOrDefault("users", "50")),
+                parseMix(options.getOrDefault("mix", "create:30,list:60,login:10")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+                Path.of(options.getOrDefault("out", "target/load-test/" + timestamp)),
+                options.getOrDefault("label", timestamp),
+                options.containsKey("baseline") ? Path.of(options.get("baseline")) : null,
+                Double.parseDouble(options.getOrDefault("max-p99-regression", "0.20")));
+        if (config.rate() <= 0 || config.users() <= 0 || config.maxInFlight() <= 0) {
+            throw new IllegalArgumentException("--rate, --users and --max-in-flight must be positive");
+        }
+        return config;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("--mix entries look like create:30, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0]), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,174 @@
+package com.ucrmp.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The whole request path on this machine, without Docker or Kubernetes:
+ * an embedded MariaDB (MariaDB4j) stands in for MySQL, and auth-service,
+ * claim-service and api-gateway run from their built jars as child
+ * processes on free ports, wired to each other directly (no Eureka).
+ * Each service keeps its real configuration otherwise, so Flyway, HikariCP,
+ * JWT signing and the gateway filter all run as in production. MariaDB is
+ * close enough for the schema and queries, but its timings are not MySQL's:
+ * compare local runs with local runs.
+ *
+ * Build the services first: mvn -DskipTests package in each of them.
+ * Service output goes to &lt;out&gt;/logs.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStack.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final DB database;
+    private final List<Process> processes = new ArrayList<>();
+    private String gatewayUrl;
+
+    private LocalStack(DB database) {
+        this.database = database;
+    }
+
+    static LocalStack start(LoadTestConfig config, ApiClient probe) throws Exception {
+        DBConfigurationBuilder dbConfig = DBConfigurationBuilder.newBuilder();
+        dbConfig.setPort(0);
+        DB database = DB.newEmbeddedDB(dbConfig.build());
+        database.start();
+        LocalStack stack = new LocalStack(database);
+        try {
+            stack.startServices(config, probe, database.getConfiguration().getPort());
+            return stack;
+        } catch (Exception e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    String gatewayUrl() {
+        return gatewayUrl;
+    }
+
+    private void startServices(LoadTestConfig config, ApiClient probe, int dbPort) throws Exception {
+        database.createDB("ucrmp_auth_db");
+        database.createDB("ucrmp_claim_db");
+        log.info("MariaDB stand-in listening on port {}", dbPort);
+
+        Path logs = Files.createDirectories(config.outputDir().resolve("logs"));
+        // A fresh signing key per run, shared by the auth service and the gateway
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        String jwtSecret = Base64.getEncoder().encodeToString(key);
+
+        int authPort = freePort();
+        int claimPort = freePort();
+        int gatewayPort = freePort();
+
+        launch(config, logs, "auth-service", jwtSecret, List.of(
+                "--server.port=" + authPort,
+                "--spring.datasource.url=" + jdbcUrl(dbPort, "ucrmp_auth_db")));
+        launch(config, logs, "claim-service", jwtSecret, List.of(
+                "--server.port=" + claimPort,
+                "--spring.datasource.url=" + jdbcUrl(dbPort, "ucrmp_claim_db"),
+                "--app.receipts.storage-dir=" + config.outputDir().resolve("receipts").toAbsolutePath()));
+        awaitUp(probe, "auth-service", "http://localhost:" + authPort + "/actuator/health");
+        awaitUp(probe, "claim-service", "http://localhost:" + claimPort + "/actuator/health");
+
+        launch(config, logs, "api-gateway", jwtSecret, List.of(
+                "--server.port=" + gatewayPort,
+                "--spring.cloud.gateway.discovery.locator.enabled=false",
+                "--app.routes.auth-service-uri=http://localhost:" + authPort,
+                "--app.routes.claim-service-uri=http://localhost:" + claimPort));
+        gatewayUrl = "http://localhost:" + gatewayPort;
+        awaitUp(probe, "api-gateway", gatewayUrl + "/api/v1/auth/login");
+    }
+
+    private void launch(LoadTestConfig config, Path logs, String service, String jwtSecret, List<String> args)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(findJar(config.servicesDir().resolve(service)).toString());
+        command.addAll(args);
+        command.add("--spring.datasource.username=root");
+        command.add("--spring.datasource.password=");
+        command.add("--eureka.client.enabled=false");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--logging.level.com.ucrmp=WARN");
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logs.resolve(service + ".log").toFile());
+        builder.environment().put("JWT_SECRET", jwtSecret);
+        processes.add(builder.start());
+        log.info("Started {} (log: {})", service, logs.resolve(service + ".log"));
+    }
+
+    private void awaitUp(ApiClient probe, String service, String url) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (!probe.responds(url)) {
+            if (processes.stream().anyMatch(process -> !process.isAlive())) {
+                throw new IllegalStateException(service + " (or a service before it) exited during startup; see logs");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(service + " did not start within " + STARTUP_TIMEOUT);
+            }
+            Thread.sleep(500);
+        }
+        log.info("{} is up", service);
+    }
+
+    private static Path findJar(Path serviceDir) throws IOException {
+        Path target = serviceDir.resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                List<Path> jars = files.filter(file -> file.getFileName().toString().endsWith(".jar")).toList();
+                if (jars.size() == 1) {
+                    return jars.get(0);
+                }
+            }
+        }
+        throw new IllegalStateException("Expected one built jar in " + target.toAbsolutePath()
+                + "; run mvn -DskipTests package there (or pass --services-dir)");
+    }
+
+    private static String jdbcUrl(int port, String database) {
+        return "jdbc:mysql://localhost:" + port + "/" + database;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        // Gateway first, database last
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+        database.stop();
+    }
+}
@@ -0,0 +1,34 @@
+package com.ucrmp.loadtest;
+
+// One request type, recorded in its own histogram. The key is the name used in --mix.
+enum Operation {
+    REGISTER("register", "POST /api/v1/auth/register"),
+    LOGIN("login", "POST /api/v1/auth/login"),
+    CREATE_CLAIM("create", "POST /api/v1/claims"),
+    LIST_CLAIMS("list", "GET /api/v1/claims");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromName(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in --mix: " + key);
+    }
+}
@@ -0,0 +1,89 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * How many claims each user gets. Real claim volume is skewed: a few heavy
+ * travellers file most claims, many users file a handful and some none.
+ * The user at rank k gets a share proportional to 1 / k^skew (Zipf), rounded
+ * so the counts add up to exactly the requested total, and ranks are
+ * shuffled over the user indexes so heavy users are spread across the
+ * generator threads.
+ */
+final class ClaimCountPlan {
+
+    private final long[] counts;
+
+    private ClaimCountPlan(long[] counts) {
+        this.counts = counts;
+    }
+
+    static ClaimCountPlan zipf(int users, long claims, double skew, long seed) {
+        double[] weights = new double[users];
+        double totalWeight = 0;
+        for (int rank = 0; rank < users; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, skew);
+            totalWeight += weights[rank];
+        }
+
+        // Largest remainder: floor every share, then hand the leftover claims
+        // to the ranks that lost the most to rounding
+        long[] byRank = new long[users];
+        double[] remainders = new double[users];
+        long assigned = 0;
+        for (int rank = 0; rank < users; rank++) {
+            double share = claims * weights[rank] / totalWeight;
+            byRank[rank] = (long) share;
+            remainders[rank] = share - byRank[rank];
+            assigned += byRank[rank];
+        }
+        Integer[] byRemainder = new Integer[users];
+        for (int rank = 0; rank < users; rank++) {
+            byRemainder[rank] = rank;
+        }
+        Arrays.sort(byRemainder, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; assigned < claims; i++, assigned++) {
+            byRank[byRemainder[i % users]]++;
+        }
+
+        int[] userAtRank = new int[users];
+        for (int i = 0; i < users; i++) {
+            userAtRank[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = userAtRank[i];
+            userAtRank[i] = userAtRank[j];
+            userAtRank[j] = swap;
+        }
+        long[] counts = new long[users];
+        for (int rank = 0; rank < users; rank++) {
+            counts[userAtRank[rank]] = byRank[rank];
+        }
+        return new ClaimCountPlan(counts);
+    }
+
+    long claimsOf(int user) {
+        return counts[user];
+    }
+
+    int users() {
+        return counts.length;
+    }
+
+    long max() {
+        return Arrays.stream(counts).max().orElse(0);
+    }
+
+    long median() {
+        long[] sorted = counts.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    long usersWithoutClaims() {
+        return Arrays.stream(counts).filter(count -> count == 0).count();
+    }
+}
@@ -0,0 +1,94 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for one dataset build, read from "--name=value" arguments.
+ *
+ * --users=100000         users in the auth schema (the first --reviewers are admins)
+ * --claims=1000000       claims in total, spread over the users by a Zipf law
+ * --skew=0.8             Zipf exponent: 0 is uniform, 1 and above is heavily skewed
+ * --reviewers=20         admin users who review, approve and pay claims
+ * --history=P365D        claims are created over this period before --end
+ * --end=NOW              newest timestamp (ISO local date-time); fix it to make builds identical
+ * --seed=42              same seed and settings, same rows
+ * --mode=jdbc            jdbc: batched multi-row INSERTs; csv: files plus LOAD DATA scripts
+ * --auth-url, --claim-url   JDBC URLs of the two schemas (jdbc mode)
+ * --db-user=root, --db-password=$MYSQL_ROOT_PASSWORD
+ * --out=target/dataset   where csv mode writes its files
+ * --receipts-dir=DIR     also write the receipt files (claim-service app.receipts.storage-dir)
+ * --receipt-pool=1000    distinct receipt files shared by all receipts
+ * --batch-size=1000      rows per INSERT batch
+ * --threads=N            generator threads (default: available processors)
+ */
+record DatasetConfig(int users,
+                     long claims,
+                     double skew,
+                     int reviewers,
+                     Duration history,
+                     LocalDateTime end,
+                     long seed,
+                     boolean csv,
+                     String authUrl,
+                     String claimUrl,
+                     String dbUser,
+                     String dbPassword,
+                     Path outputDir,
+                     Path receiptsDir,
+                     int receiptPool,
+                     int batchSize,
+                     int threads) {
+
+    static DatasetConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Arguments look like --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String mode = options.getOrDefault("mode", "jdbc");
+        if (!mode.equals("jdbc") && !mode.equals("csv")) {
+            throw new IllegalArgumentException("--mode must be jdbc or csv");
+        }
+        String defaultPassword = System.getenv().getOrDefault("MYSQL_ROOT_PASSWORD", "my-secret-pw");
+        DatasetConfig config = new DatasetConfig(
+                Integer.parseInt(options.getOrDefault("users", "100000")),
+                Long.parseLong(options.getOrDefault("claims", "1000000")),
+                Double.parseDouble(options.getOrDefault("skew", "0.8")),
+                Integer.parseInt(options.getOrDefault("reviewers", "20")),
+                Duration.parse(options.getOrDefault("history", "P365D")),
+                options.containsKey("end")
+                        ? LocalDateTime.parse(options.get("end"))
+                        : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                mode.equals("csv"),
+                options.getOrDefault("auth-url", "jdbc:mysql://localhost:3306/ucrmp_auth_db"),
+                options.getOrDefault("claim-url", "jdbc:mysql://localhost:3306/ucrmp_claim_db"),
+                options.getOrDefault("db-user", "root"),
+                options.getOrDefault("db-password", defaultPassword),
+                Path.of(options.getOrDefault("out", "target/dataset")),
+                options.containsKey("receipts-dir") ? Path.of(options.get("receipts-dir")) : null,
+                Integer.parseInt(options.getOrDefault("receipt-pool", "1000")),
+                Integer.parseInt(options.getOrDefault("batch-size", "1000")),
+                Integer.parseInt(options.getOrDefault("threads",
+                        Integer.toString(Runtime.getRuntime().availableProcessors()))));
+        if (config.users() <= 0 || config.claims() < 0 || config.skew() < 0) {
+            throw new IllegalArgumentException("--users must be positive, --claims and --skew not negative");
+        }
+        if (config.reviewers() <= 0 || config.reviewers() > config.users()) {
+            throw new IllegalArgumentException("--reviewers must be between 1 and --users");
+        }
+        if (config.receiptPool() <= 0 || config.batchSize() <= 0 || config.threads() <= 0) {
+            throw new IllegalArgumentException("--receipt-pool, --batch-size and --threads must be positive");
+        }
+        return config;
+    }
+}
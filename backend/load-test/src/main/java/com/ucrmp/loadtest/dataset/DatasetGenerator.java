@@ -0,0 +1,120 @@
+package com.ucrmp.loadtest.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the auth and claim schemas with a large, realistic dataset for
+ * benchmarks and load tests. See DatasetConfig for the options.
+ *
+ * Straight into the databases (schemas migrated, otherwise empty):
+ *   --mode=jdbc --users=1000000 --claims=10000000
+ * As CSV files plus LOAD DATA scripts, to load later or elsewhere:
+ *   --mode=csv --out=target/dataset --users=1000000 --claims=10000000
+ *
+ * Generated users sign in as user&lt;n&gt;@dataset.ucrmp.test with
+ * DatasetRows.PASSWORD; users 0 to --reviewers - 1 are admins. Each thread
+ * generates every user whose index is congruent to its own number.
+ */
+public final class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetConfig config = DatasetConfig.fromArgs(args);
+        ClaimCountPlan plan = ClaimCountPlan.zipf(config.users(), config.claims(), config.skew(), config.seed());
+        log.info("{} users, {} claims (skew {}): heaviest user {} claims, median {}, {} users without claims",
+                config.users(), config.claims(), config.skew(), plan.max(), plan.median(), plan.usersWithoutClaims());
+
+        ReceiptBlobPool blobs = new ReceiptBlobPool(config.receiptPool());
+        // One hash for everyone: BCrypt is deliberately slow, millions of them would take hours
+        String passwordHash = new BCryptPasswordEncoder().encode(DatasetRows.PASSWORD);
+        DatasetRows rows = new DatasetRows(config, passwordHash, blobs, new ObjectMapper());
+
+        Map<String, Integer> roleIds = Map.of();
+        if (config.csv()) {
+            Files.createDirectories(config.outputDir());
+        } else {
+            roleIds = JdbcDatasetSink.loadRoleIds(config);
+            if (!roleIds.containsKey("ROLE_ADMIN") || !roleIds.containsKey("ROLE_EMPLOYEE")) {
+                throw new IllegalStateException("Roles missing in " + config.authUrl()
+                        + "; start auth-service against it once so Flyway and DataSeeder set it up");
+            }
+        }
+
+        long started = System.nanoTime();
+        AtomicLong rowsWritten = new AtomicLong();
+        AtomicLong usersWritten = new AtomicLong();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> log.info("{} / {} users, {} rows ({} rows/s)",
+                usersWritten.get(), config.users(), rowsWritten.get(),
+                rowsWritten.get() / Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started))),
+                10, 10, TimeUnit.SECONDS);
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(config.threads())) {
+            List<Future<?>> parts = new ArrayList<>();
+            for (int part = 0; part < config.threads(); part++) {
+                int first = part;
+                Map<String, Integer> roles = roleIds;
+                parts.add(workers.submit(() -> {
+                    try (DatasetSink sink = openSink(config, roles, first)) {
+                        for (int user = first; user < config.users(); user += config.threads()) {
+                            rowsWritten.addAndGet(rows.writeUser(user, plan.claimsOf(user), sink));
+                            usersWritten.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+
+        // Reference counts are only known once every receipt is written
+        try (DatasetSink sink = openSink(config, roleIds, config.threads())) {
+            blobs.addRows(sink, config.end().minus(config.history()));
+        }
+        if (config.receiptsDir() != null) {
+            blobs.writeFiles(config.receiptsDir());
+            log.info("Wrote {} receipt files under {}", blobs.size(), config.receiptsDir().toAbsolutePath());
+        }
+
+        log.info("Generated {} rows in {} s", rowsWritten.get(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        if (config.csv()) {
+            for (Path script : CsvDatasetSink.writeLoadScripts(config.outputDir())) {
+                log.info("Load with: mysql --local-infile=1 -u root -p {} < {}",
+                        script.getFileName().toString().startsWith("auth") ? "ucrmp_auth_db" : "ucrmp_claim_db",
+                        script.toAbsolutePath());
+            }
+        }
+    }
+
+    private static DatasetSink openSink(DatasetConfig config, Map<String, Integer> roleIds, int part)
+            throws SQLException {
+        return config.csv()
+                ? new CsvDatasetSink(config.outputDir(), part)
+                : new JdbcDatasetSink(config, roleIds);
+    }
+}
@@ -0,0 +1,279 @@
+package com.ucrmp.loadtest.dataset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates one user with all of their claims: the users and user_roles
+ * rows, each claim with type-valid metadata, its receipts and the status
+ * history that leads to its current status, and the user's claim_summaries
+ * rows to match. Everything about user i comes from a random stream seeded
+ * by (seed, i), so a build is reproducible no matter how users are spread
+ * over threads.
+ *
+ * Statuses depend on a claim's age the way a working queue would leave them:
+ * recent claims are mostly SUBMITTED or UNDER_REVIEW, older ones mostly
+ * decided or PAID. Every step of the history is a valid transition, made by
+ * one of the reviewers, and the claim's version counts the steps.
+ */
+final class DatasetRows {
+
+    // Password of every generated user
+    static final String PASSWORD = "Dataset#2024pw";
+    static final String EMAIL_DOMAIN = "dataset.ucrmp.test";
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Ananya", "Vikram", "Sneha", "Arjun",
+            "Meera", "Karan", "Isha", "Daniel", "Sofia", "Lucas", "Emma", "Noah", "Olivia", "Mateo", "Chloe"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Kulkarni", "Nair", "Chavan",
+            "Gupta", "Singh", "Fernandes", "Smith", "Garcia", "Müller", "Rossi", "Dubois", "Kowalski"};
+    private static final String[] HOTELS = {"Taj Lands End", "Marriott Whitefield", "Hyatt Regency", "ITC Maratha",
+            "Novotel Juhu", "Holiday Inn Express", "Radisson Blu", "Ibis City Centre"};
+    private static final String[] AIRLINES = {"AI", "6E", "UK", "SG", "LH", "BA", "EK"};
+    private static final String[] HOSPITALS = {"Apollo Hospital", "Fortis Memorial", "Manipal Hospital",
+            "Ruby Hall Clinic", "Lilavati Hospital", "City Care Clinic"};
+    private static final String[] RESTAURANTS = {"Trishna", "Bombay Canteen", "Mainland China", "Barbeque Nation",
+            "Cafe Mondegar", "Social", "Toit"};
+    private static final String[] VENDORS = {"Staples", "Amazon Business", "Office Depot", "Navneet", "Classmate"};
+    private static final String[] SUPPLIES = {"A4 paper x5 reams", "Whiteboard markers", "USB-C hub",
+            "Ergonomic mouse", "Printer toner", "Notebooks and pens"};
+    private static final String[] APPROVAL_COMMENTS = {null, null, "Looks good", "Receipts verified", "Within policy"};
+    private static final String[] REJECTION_COMMENTS = {"Missing itemised receipt", "Exceeds policy limit",
+            "Duplicate of an earlier claim"};
+
+    // Relative frequency and typical amount per claim type (in ClaimType order)
+    private static final String[] TYPES = {"TRAVEL", "MEDICAL", "MEAL", "OFFICE_SUPPLIES", "OTHER"};
+    private static final int[] TYPE_WEIGHTS = {30, 20, 30, 12, 8};
+    private static final double[] TYPE_MEDIAN_AMOUNT = {450, 220, 45, 80, 120};
+
+    private static final long MAX_STEP_SECONDS = TimeUnit.DAYS.toSeconds(5);
+
+    private final DatasetConfig config;
+    private final UUID[] reviewerIds;
+    private final String passwordHash;
+    private final ReceiptBlobPool blobs;
+    private final ObjectMapper objectMapper;
+
+    DatasetRows(DatasetConfig config, String passwordHash, ReceiptBlobPool blobs, ObjectMapper objectMapper) {
+        this.config = config;
+        this.passwordHash = passwordHash;
+        this.blobs = blobs;
+        this.objectMapper = objectMapper;
+        this.reviewerIds = new UUID[config.reviewers()];
+        for (int i = 0; i < reviewerIds.length; i++) {
+            reviewerIds[i] = randomUuid(randomFor(i));
+        }
+    }
+
+    static String emailOf(int user) {
+        return "user" + user + "@" + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Writes user number {@code user} and their {@code claimCount} claims.
+     * Returns the number of rows written.
+     */
+    long writeUser(int user, long claimCount, DatasetSink sink) throws IOException, SQLException {
+        SplittableRandom random = randomFor(user);
+        UUID userId = randomUuid(random);
+        LocalDateTime end = config.end();
+        LocalDateTime historyStart = end.minus(config.history());
+
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        LocalDateTime joinedAt = historyStart.minusSeconds(random.nextLong(TimeUnit.DAYS.toSeconds(90)));
+        sink.add(DatasetTable.USERS, userId, firstName, lastName, emailOf(user), passwordHash, joinedAt, joinedAt);
+        sink.add(DatasetTable.USER_ROLES, userId, user < config.reviewers() ? "ROLE_ADMIN" : "ROLE_EMPLOYEE");
+        long rows = 2;
+
+        Map<String, SummaryTotals> summaries = new LinkedHashMap<>();
+        long historySeconds = Math.max(1, config.history().toSeconds());
+        for (long n = 0; n < claimCount; n++) {
+            LocalDateTime createdAt = historyStart.plusSeconds(random.nextLong(historySeconds));
+            rows += writeClaim(random, userId, createdAt, end, summaries, sink);
+        }
+        for (Map.Entry<String, SummaryTotals> entry : summaries.entrySet()) {
+            String[] key = entry.getKey().split("/");
+            SummaryTotals totals = entry.getValue();
+            sink.add(DatasetTable.CLAIM_SUMMARIES, userId, key[0], key[1], totals.count, totals.amount);
+            rows++;
+        }
+        return rows;
+    }
+
+    private long writeClaim(SplittableRandom random, UUID userId, LocalDateTime createdAt, LocalDateTime end,
+                            Map<String, SummaryTotals> summaries, DatasetSink sink)
+            throws IOException, SQLException {
+        UUID claimId = randomUuid(random);
+        int type = pickWeighted(random, TYPE_WEIGHTS);
+        BigDecimal amount = amount(random, type);
+        List<String> path = statusPath(random, ChronoUnit.DAYS.between(createdAt, end));
+
+        // Status steps, each a valid transition some time after the previous one
+        List<Object[]> history = new ArrayList<>(path.size());
+        LocalDateTime changedAt = createdAt;
+        for (int step = 0; step < path.size(); step++) {
+            long remaining = ChronoUnit.SECONDS.between(changedAt, end) / (path.size() - step);
+            changedAt = changedAt.plusSeconds(random.nextLong(Math.max(1, Math.min(MAX_STEP_SECONDS, remaining))));
+            String status = path.get(step);
+            String comment = switch (status) {
+                case "APPROVED" -> pick(random, APPROVAL_COMMENTS);
+                case "REJECTED" -> pick(random, REJECTION_COMMENTS);
+                default -> null;
+            };
+            history.add(new Object[]{randomUuid(random), claimId, status, changedAt, pick(random, reviewerIds), comment});
+        }
+        String status = path.isEmpty() ? "SUBMITTED" : path.get(path.size() - 1);
+
+        Map<String, Object> metadata = metadata(random, type);
+        sink.add(DatasetTable.CLAIMS, claimId, userId, TYPES[type], amount, status,
+                description(random, type, metadata), createdAt, changedAt, toJson(metadata), (long) path.size());
+        for (Object[] row : history) {
+            sink.add(DatasetTable.CLAIM_STATUS_HISTORY, row);
+        }
+        long rows = 1 + history.size();
+
+        int receipts = receiptCount(random);
+        for (int r = 0; r < receipts; r++) {
+            int blob = blobs.take(random);
+            LocalDateTime uploadedAt = createdAt.plusSeconds(random.nextLong(600));
+            sink.add(DatasetTable.RECEIPTS, randomUuid(random), claimId, "receipt-" + (r + 1) + ".pdf",
+                    "sha256:" + blobs.sha256(blob), uploadedAt.isAfter(end) ? end : uploadedAt,
+                    ReceiptBlobPool.CONTENT_TYPE, blobs.sizeBytes(blob), blobs.sha256(blob), "SKIPPED", 1);
+            rows++;
+        }
+
+        SummaryTotals totals = summaries.computeIfAbsent(status + "/" + TYPES[type], key -> new SummaryTotals());
+        totals.count++;
+        totals.amount = totals.amount.add(amount);
+        return rows;
+    }
+
+    // The statuses a claim went through after SUBMITTED, by how old it is
+    private static List<String> statusPath(SplittableRandom random, long ageDays) {
+        int roll = random.nextInt(100);
+        String status;
+        if (ageDays < 2) {
+            status = roll < 70 ? "SUBMITTED" : "UNDER_REVIEW";
+        } else if (ageDays < 14) {
+            status = roll < 15 ? "SUBMITTED" : roll < 50 ? "UNDER_REVIEW" : roll < 80 ? "APPROVED"
+                    : roll < 90 ? "REJECTED" : "PAID";
+        } else {
+            status = roll < 1 ? "SUBMITTED" : roll < 3 ? "UNDER_REVIEW" : roll < 13 ? "APPROVED"
+                    : roll < 28 ? "REJECTED" : "PAID";
+        }
+        return switch (status) {
+            case "SUBMITTED" -> List.of();
+            case "UNDER_REVIEW" -> List.of("UNDER_REVIEW");
+            case "APPROVED" -> List.of("UNDER_REVIEW", "APPROVED");
+            case "REJECTED" -> List.of("UNDER_REVIEW", "REJECTED");
+            default -> List.of("UNDER_REVIEW", "APPROVED", "PAID");
+        };
+    }
+
+    // Log-normal around the type's typical amount, within DECIMAL(10, 2)
+    private static BigDecimal amount(SplittableRandom random, int type) {
+        double value = TYPE_MEDIAN_AMOUNT[type] * Math.exp(random.nextGaussian() * 0.7);
+        return BigDecimal.valueOf(Math.min(Math.max(value, 1), 99_999_999.99)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Valid against the ClaimMetadata record of each type
+    private static Map<String, Object> metadata(SplittableRandom random, int type) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        switch (TYPES[type]) {
+            case "TRAVEL" -> {
+                fields.put("hotelName", pick(random, HOTELS));
+                fields.put("flightNumber", pick(random, AIRLINES) + (100 + random.nextInt(900)));
+            }
+            case "MEDICAL" -> {
+                fields.put("hospitalName", pick(random, HOSPITALS));
+                fields.put("prescriptionNumber", "RX-" + (100000 + random.nextInt(900000)));
+            }
+            case "MEAL" -> {
+                fields.put("restaurantName", pick(random, RESTAURANTS));
+                fields.put("attendees", 1 + random.nextInt(8));
+            }
+            case "OFFICE_SUPPLIES" -> {
+                fields.put("vendorName", pick(random, VENDORS));
+                fields.put("items", pick(random, SUPPLIES));
+            }
+            default -> fields.put("notes", random.nextInt(3) == 0 ? null : "Miscellaneous business expense");
+        }
+        return fields;
+    }
+
+    // Mentions the same hotel, restaurant or items as the metadata
+    private static String description(SplittableRandom random, int type, Map<String, Object> metadata) {
+        if (random.nextInt(5) == 0) {
+            return null;
+        }
+        return switch (TYPES[type]) {
+            case "TRAVEL" -> "Client visit, stayed at " + metadata.get("hotelName");
+            case "MEDICAL" -> "Consultation at " + metadata.get("hospitalName");
+            case "MEAL" -> "Team meal at " + metadata.get("restaurantName");
+            case "OFFICE_SUPPLIES" -> (String) metadata.get("items");
+            default -> "Other business expense";
+        };
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int receiptCount(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 15 ? 0 : roll < 75 ? 1 : roll < 95 ? 2 : 3;
+    }
+
+    private SplittableRandom randomFor(int user) {
+        return new SplittableRandom(config.seed() * 0x9E3779B97F4A7C15L + user);
+    }
+
+    private static UUID randomUuid(SplittableRandom random) {
+        // Version 4, IETF variant, like UUID.randomUUID()
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static int pickWeighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static final class SummaryTotals {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Where generated rows go. One sink per generator thread, so implementations
+ * need not be thread-safe. Values follow DatasetTable's column order; UUIDs
+ * are java.util.UUID, timestamps LocalDateTime and nulls are allowed.
+ */
+interface DatasetSink extends AutoCloseable {
+
+    void add(DatasetTable table, Object... row) throws IOException, SQLException;
+
+    // Writes whatever is still buffered
+    @Override
+    void close() throws IOException, SQLException;
+}
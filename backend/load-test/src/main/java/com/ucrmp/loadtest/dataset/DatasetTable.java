@@ -0,0 +1,75 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.util.List;
+
+/**
+ * The tables the generator fills and the columns it writes, in row order.
+ * Columns left out keep their schema default (lease columns, processing
+ * retry state, ...). Both schemas must already be migrated: start
+ * auth-service and claim-service once against the target database so Flyway
+ * creates the tables and DataSeeder the roles.
+ */
+enum DatasetTable {
+
+    USERS(Schema.AUTH, "users",
+            uuid("id"), value("first_name"), value("last_name"), value("email"), value("password_hash"),
+            value("created_at"), value("updated_at")),
+    USER_ROLES(Schema.AUTH, "user_roles",
+            uuid("user_id"), role("role_id")),
+
+    CLAIMS(Schema.CLAIM, "claims",
+            uuid("id"), uuid("user_id"), value("claim_type"), value("amount"), value("status"),
+            value("description"), value("created_at"), value("updated_at"), value("metadata"), value("version")),
+    CLAIM_STATUS_HISTORY(Schema.CLAIM, "claim_status_history",
+            uuid("id"), uuid("claim_id"), value("status"), value("changed_at"), uuid("changed_by_id"),
+            value("comment")),
+    RECEIPTS(Schema.CLAIM, "receipts",
+            uuid("id"), uuid("claim_id"), value("file_name"), value("file_url"), value("uploaded_at"),
+            value("content_type"), value("size_bytes"), value("sha256"), value("processing_status"),
+            value("processing_attempts")),
+    RECEIPT_BLOBS(Schema.CLAIM, "receipt_blobs",
+            value("sha256"), value("size_bytes"), value("ref_count"), value("created_at")),
+    CLAIM_SUMMARIES(Schema.CLAIM, "claim_summaries",
+            uuid("user_id"), value("status"), value("claim_type"), value("claim_count"), value("total_amount"));
+
+    enum Schema { AUTH, CLAIM }
+
+    // VALUE is written as is; UUID as BINARY(16); ROLE is a role name resolved to roles.id
+    enum Kind { VALUE, UUID, ROLE }
+
+    record Column(String name, Kind kind) {}
+
+    private final Schema schema;
+    private final String tableName;
+    private final List<Column> columns;
+
+    DatasetTable(Schema schema, String tableName, Column... columns) {
+        this.schema = schema;
+        this.tableName = tableName;
+        this.columns = List.of(columns);
+    }
+
+    Schema schema() {
+        return schema;
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    List<Column> columns() {
+        return columns;
+    }
+
+    private static Column value(String name) {
+        return new Column(name, Kind.VALUE);
+    }
+
+    private static Column uuid(String name) {
+        return new Column(name, Kind.UUID);
+    }
+
+    private static Column role(String name) {
+        return new Column(name, Kind.ROLE);
+    }
+}
@@ -0,0 +1,144 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts rows in JDBC batches of --batch-size. The URLs get
+ * rewriteBatchedStatements=true, so Connector/J sends each batch as a few
+ * multi-row INSERTs (split at max_allowed_packet) instead of one round trip
+ * per row. Every batch is its own transaction, and the session skips
+ * foreign-key and unique checks: the generator guarantees both, and tables
+ * can then be flushed in any order.
+ */
+final class JdbcDatasetSink implements DatasetSink {
+
+    private final Map<DatasetTable.Schema, Connection> connections = new EnumMap<>(DatasetTable.Schema.class);
+    private final Map<DatasetTable, PreparedStatement> statements = new EnumMap<>(DatasetTable.class);
+    private final Map<DatasetTable, Integer> pending = new EnumMap<>(DatasetTable.class);
+    private final Map<String, Integer> roleIds;
+    private final int batchSize;
+
+    JdbcDatasetSink(DatasetConfig config, Map<String, Integer> roleIds) throws SQLException {
+        this.roleIds = roleIds;
+        this.batchSize = config.batchSize();
+        try {
+            connections.put(DatasetTable.Schema.AUTH, open(config, config.authUrl()));
+            connections.put(DatasetTable.Schema.CLAIM, open(config, config.claimUrl()));
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    static Connection open(DatasetConfig config, String url) throws SQLException {
+        String batchedUrl = url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        Connection connection = DriverManager.getConnection(batchedUrl, config.dbUser(), config.dbPassword());
+        try (Statement session = connection.createStatement()) {
+            session.execute("SET SESSION foreign_key_checks = 0");
+            session.execute("SET SESSION unique_checks = 0");
+        }
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    // Role name to roles.id, as created by auth-service's DataSeeder
+    static Map<String, Integer> loadRoleIds(DatasetConfig config) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(config.authUrl(), config.dbUser(), config.dbPassword());
+             Statement query = connection.createStatement();
+             ResultSet roles = query.executeQuery("SELECT id, name FROM roles")) {
+            Map<String, Integer> ids = new HashMap<>();
+            while (roles.next()) {
+                ids.put(roles.getString("name"), roles.getInt("id"));
+            }
+            return Collections.unmodifiableMap(ids);
+        }
+    }
+
+    @Override
+    public void add(DatasetTable table, Object... row) throws SQLException {
+        PreparedStatement statement = statements.get(table);
+        if (statement == null) {
+            statement = connections.get(table.schema()).prepareStatement(insertSql(table));
+            statements.put(table, statement);
+        }
+        List<DatasetTable.Column> columns = table.columns();
+        for (int i = 0; i < columns.size(); i++) {
+            statement.setObject(i + 1, toJdbc(columns.get(i), row[i]));
+        }
+        statement.addBatch();
+        if (pending.merge(table, 1, Integer::sum) >= batchSize) {
+            flush(table);
+        }
+    }
+
+    private void flush(DatasetTable table) throws SQLException {
+        PreparedStatement statement = statements.get(table);
+        if (statement == null || pending.getOrDefault(table, 0) == 0) {
+            return;
+        }
+        statement.executeBatch();
+        connections.get(table.schema()).commit();
+        pending.put(table, 0);
+    }
+
+    private Object toJdbc(DatasetTable.Column column, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (column.kind()) {
+            case VALUE -> value;
+            case UUID -> toBytes((UUID) value);
+            case ROLE -> {
+                Integer id = roleIds.get((String) value);
+                if (id == null) {
+                    throw new IllegalStateException("Role " + value + " not found; start auth-service once to seed roles");
+                }
+                yield id;
+            }
+        };
+    }
+
+    // Same layout Hibernate uses for UUID in a BINARY(16) column
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String insertSql(DatasetTable table) {
+        List<DatasetTable.Column> columns = table.columns();
+        return "INSERT INTO " + table.tableName()
+                + " (" + columns.stream().map(DatasetTable.Column::name).collect(Collectors.joining(", ")) + ")"
+                + " VALUES (" + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            for (DatasetTable table : statements.keySet()) {
+                flush(table);
+            }
+        } finally {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            for (Connection connection : connections.values()) {
+                connection.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ucrmp.loadtest.dataset;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed set of small PDF receipts that every generated receipt row points
+ * at, the way claim-service stores them: content-addressed by SHA-256
+ * (file_url "sha256:...") with one receipt_blobs row counting references.
+ * PDFs because the thumbnail pipeline skips them, so a fresh dataset does
+ * not start a rendering backlog.
+ */
+final class ReceiptBlobPool {
+
+    static final String CONTENT_TYPE = "application/pdf";
+
+    private final byte[][] contents;
+    private final String[] sha256;
+    private final AtomicLongArray refCounts;
+
+    ReceiptBlobPool(int size) {
+        this.contents = new byte[size][];
+        this.sha256 = new String[size];
+        this.refCounts = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            contents[i] = pdf(i);
+            sha256[i] = HexFormat.of().formatHex(digest(contents[i]));
+        }
+    }
+
+    // Picks a blob for a new receipt and counts the reference
+    int take(SplittableRandom random) {
+        int blob = random.nextInt(contents.length);
+        refCounts.incrementAndGet(blob);
+        return blob;
+    }
+
+    int size() {
+        return contents.length;
+    }
+
+    String sha256(int blob) {
+        return sha256[blob];
+    }
+
+    long sizeBytes(int blob) {
+        return contents[blob].length;
+    }
+
+    long refCount(int blob) {
+        return refCounts.get(blob);
+    }
+
+    // Same layout as LocalReceiptStorage: <root>/sha256/ab/cd/abcd...
+    void writeFiles(Path storageRoot) throws IOException {
+        for (int blob = 0; blob < contents.length; blob++) {
+            String hash = sha256[blob];
+            Path file = storageRoot.resolve("sha256").resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                    .resolve(hash);
+            Files.createDirectories(file.getParent());
+            Files.write(file, contents[blob]);
+        }
+    }
+
+    void addRows(DatasetSink sink, LocalDateTime createdAt) throws IOException, SQLException {
+        for (int blob = 0; blob < contents.length; blob++) {
+            if (refCount(blob) > 0) {
+                sink.add(DatasetTable.RECEIPT_BLOBS, sha256[blob], sizeBytes(blob), refCount(blob), createdAt);
+            }
+        }
+    }
+
+    private static byte[] pdf(int number) {
+        String text = "Receipt " + (10000 + number);
+        String stream = "BT /F1 18 Tf 72 720 Td (" + text + ") Tj ET";
+        String pdf = "%PDF-1.4\n"
+                + "1 0 obj << /Type /Catalog /Pages 2 0 R >> endobj\n"
+                + "2 0 obj << /Type /Pages /Kids [3 0 R] /Count 1 >> endobj\n"
+                + "3 0 obj << /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R"
+                + " /Resources << /Font << /F1 << /Type /Font /Subtype /Type1 /BaseFont /Helvetica >> >> >> >> endobj\n"
+                + "4 0 obj << /Length " + stream.length() + " >> stream\n" + stream + "\nendstream endobj\n"
+                + "trailer << /Root 1 0 R >>\n%%EOF\n";
+        return pdf.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
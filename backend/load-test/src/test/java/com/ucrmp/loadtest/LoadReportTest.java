@@ -0,0 +1,91 @@
+package com.ucrmp.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compare_FlagsP99GrowthBeyondTheThreshold() {
+        // --- Arrange ---
+        LoadReport.Summary baseline = summary(endpoint(1000, 0, 0, 40.0));
+        LoadReport.Summary current = summary(endpoint(1000, 0, 0, 50.0));
+
+        // --- Act ---
+        List<String> lines = LoadReport.compare(baseline, current, 0.20);
+
+        // --- Assert ---
+        assertTrue(LoadReport.hasRegression(lines));
+        assertTrue(lines.get(1).startsWith("REGRESSION POST /api/v1/claims"));
+    }
+
+    @Test
+    void compare_AllowsP99GrowthWithinTheThreshold() {
+        // --- Arrange ---
+        LoadReport.Summary baseline = summary(endpoint(1000, 0, 0, 40.0));
+        LoadReport.Summary current = summary(endpoint(1000, 0, 0, 46.0));
+
+        // --- Act ---
+        List<String> lines = LoadReport.compare(baseline, current, 0.20);
+
+        // --- Assert ---
+        assertFalse(LoadReport.hasRegression(lines));
+    }
+
+    @Test
+    void compare_CountsDroppedArrivalsAsErrors() {
+        // --- Arrange ---
+        LoadReport.Summary baseline = summary(endpoint(1000, 0, 0, 40.0));
+        LoadReport.Summary current = summary(endpoint(980, 0, 20, 40.0));
+
+        // --- Act ---
+        List<String> lines = LoadReport.compare(baseline, current, 0.20);
+
+        // --- Assert ---
+        assertTrue(LoadReport.hasRegression(lines));
+    }
+
+    @Test
+    void read_ReturnsWhatWriteProduced() throws Exception {
+        // --- Arrange ---
+        LoadReport.Summary summary = summary(endpoint(1000, 3, 0, 40.0));
+        LoadGenerator.RunResult result = new LoadGenerator.RunResult(Instant.now(), Map.of());
+
+        // --- Act ---
+        LoadReport.write(tempDir, summary, result);
+        LoadReport.Summary read = LoadReport.read(tempDir.resolve("summary.json"));
+
+        // --- Assert ---
+        assertEquals(summary.label(), read.label());
+        assertEquals(summary.endpoints(), read.endpoints());
+    }
+
+    @Test
+    void parseMix_RejectsUnknownOperationsAndAllZeroWeights() {
+        // --- Act & Assert ---
+        assertEquals(Map.of(Operation.CREATE_CLAIM, 30, Operation.LIST_CLAIMS, 70),
+                LoadTestConfig.parseMix("create:30, list:70"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("delete:10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("create:0,list:0"));
+    }
+
+    private static LoadReport.EndpointSummary endpoint(long count, long errors, long dropped, double p99) {
+        return new LoadReport.EndpointSummary(count, errors, dropped, Map.of(201, count - errors), count / 60.0,
+                Map.of("p50", p99 / 4, "p99", p99));
+    }
+
+    private static LoadReport.Summary summary(LoadReport.EndpointSummary createClaim) {
+        return new LoadReport.Summary("build", "2024-01-01T00:00:00Z", Map.of("rate", 100.0),
+                Map.of(Operation.CREATE_CLAIM.endpoint(), createClaim));
+    }
+}
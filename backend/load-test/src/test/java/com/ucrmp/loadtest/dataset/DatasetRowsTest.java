@@ -0,0 +1,144 @@
+package com.ucrmp.loadtest.dataset;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetRowsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatasetConfig config = DatasetConfig.fromArgs(new String[]{
+            "--users=200", "--claims=5000", "--reviewers=5", "--end=2024-06-30T00:00:00", "--mode=csv"});
+
+    @Test
+    void zipf_AssignsExactlyTheRequestedClaimsWithASkew() {
+        // --- Act ---
+        ClaimCountPlan plan = ClaimCountPlan.zipf(1000, 100_000, 1.0, 7);
+
+        // --- Assert ---
+        long total = IntStream.range(0, plan.users()).mapToLong(plan::claimsOf).sum();
+        assertEquals(100_000, total);
+        assertTrue(plan.max() > 20 * plan.median(), "heaviest user should dwarf the median");
+    }
+
+    @Test
+    void zipf_WithSkewZero_IsUniform() {
+        // --- Act ---
+        ClaimCountPlan plan = ClaimCountPlan.zipf(100, 1000, 0, 7);
+
+        // --- Assert ---
+        IntStream.range(0, 100).forEach(user -> assertEquals(10, plan.claimsOf(user)));
+    }
+
+    @Test
+    void writeUser_IsReproducibleForTheSameSeed() throws Exception {
+        // --- Arrange ---
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+
+        // --- Act ---
+        rows().writeUser(42, 30, first);
+        rows().writeUser(42, 30, second);
+
+        // --- Assert ---
+        assertEquals(first.rows.size(), second.rows.size());
+        for (int i = 0; i < first.rows.size(); i++) {
+            assertArrayEquals(first.rows.get(i).values(), second.rows.get(i).values());
+        }
+    }
+
+    @Test
+    void writeUser_WritesValidHistoriesMetadataAndMatchingSummaries() throws Exception {
+        // --- Arrange ---
+        RecordingSink sink = new RecordingSink();
+
+        // --- Act ---
+        long written = rows().writeUser(7, 500, sink);
+
+        // --- Assert ---
+        assertEquals(written, sink.rows.size());
+        List<Object[]> claims = sink.of(DatasetTable.CLAIMS);
+        assertEquals(500, claims.size());
+
+        Map<Object, List<String>> historyByClaim = new HashMap<>();
+        for (Object[] history : sink.of(DatasetTable.CLAIM_STATUS_HISTORY)) {
+            historyByClaim.computeIfAbsent(history[1], id -> new ArrayList<>()).add((String) history[2]);
+        }
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (Object[] claim : claims) {
+            List<String> path = historyByClaim.getOrDefault(claim[0], List.of());
+            String status = (String) claim[4];
+            assertTrue(List.of(List.of(), List.of("UNDER_REVIEW"), List.of("UNDER_REVIEW", "APPROVED"),
+                    List.of("UNDER_REVIEW", "REJECTED"), List.of("UNDER_REVIEW", "APPROVED", "PAID")).contains(path));
+            assertEquals(path.isEmpty() ? "SUBMITTED" : path.get(path.size() - 1), status);
+            assertEquals((long) path.size(), claim[9], "version counts the status changes");
+
+            JsonNode metadata = objectMapper.readTree((String) claim[8]);
+            switch ((String) claim[2]) {
+                case "TRAVEL" -> assertFalse(metadata.path("flightNumber").asText().isBlank());
+                case "MEDICAL" -> assertTrue(metadata.path("prescriptionNumber").asText().length() >= 5);
+                case "MEAL" -> assertTrue(metadata.path("attendees").asInt() > 0);
+                default -> { }
+            }
+            totals.merge(status + "/" + claim[2], (BigDecimal) claim[3], BigDecimal::add);
+        }
+
+        List<Object[]> summaries = sink.of(DatasetTable.CLAIM_SUMMARIES);
+        assertEquals(totals.size(), summaries.size());
+        for (Object[] summary : summaries) {
+            assertEquals(totals.get(summary[1] + "/" + summary[2]), summary[4]);
+        }
+    }
+
+    @Test
+    void writeUser_GivesReviewersTheAdminRole() throws Exception {
+        // --- Arrange ---
+        RecordingSink reviewer = new RecordingSink();
+        RecordingSink employee = new RecordingSink();
+
+        // --- Act ---
+        rows().writeUser(0, 0, reviewer);
+        rows().writeUser(config.reviewers(), 0, employee);
+
+        // --- Assert ---
+        assertEquals("ROLE_ADMIN", reviewer.of(DatasetTable.USER_ROLES).get(0)[1]);
+        assertEquals("ROLE_EMPLOYEE", employee.of(DatasetTable.USER_ROLES).get(0)[1]);
+        assertEquals(DatasetRows.emailOf(0), reviewer.of(DatasetTable.USERS).get(0)[3]);
+        assertInstanceOf(UUID.class, reviewer.of(DatasetTable.USERS).get(0)[0]);
+    }
+
+    private DatasetRows rows() {
+        return new DatasetRows(config, "hash", new ReceiptBlobPool(10), objectMapper);
+    }
+
+    private record Row(DatasetTable table, Object[] values) {}
+
+    private static final class RecordingSink implements DatasetSink {
+        private final List<Row> rows = new ArrayList<>();
+
+        @Override
+        public void add(DatasetTable table, Object... row) {
+            assertEquals(table.columns().size(), row.length, "column count of " + table);
+            rows.add(new Row(table, row));
+        }
+
+        List<Object[]> of(DatasetTable table) {
+            return rows.stream().filter(row -> row.table() == table).map(Row::values).toList();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import { useEffect, useRef } from 'react';
+import { claimService } from '../services/claimService';
+import { type ClaimEvent } from '../types/claim';
+import { logger } from '../lib/utils';
+
+const MIN_RETRY_MS = 1000;
+const MAX_RETRY_MS = 30000;
+
+// Keeps the claim event stream open while the component is mounted.
+// onEvent gets every pushed event; onReconnect runs after the stream came back
+// from a drop, since events sent while it was down are not replayed.
+export const useClaimEvents = (onEvent: (event: ClaimEvent) => void, onReconnect?: () => void) => {
+  const onEventRef = useRef(onEvent);
+  const onReconnectRef = useRef(onReconnect);
+
+  useEffect(() => {
+    onEventRef.current = onEvent;
+    onReconnectRef.current = onReconnect;
+  });
+
+  useEffect(() => {
+    const controller = new AbortController();
+    let retryMs = MIN_RETRY_MS;
+    let timer: ReturnType<typeof setTimeout> | undefined;
+
+    const connect = async (isReconnect: boolean) => {
+      try {
+        const stream = claimService.streamEvents((event) => {
+          retryMs = MIN_RETRY_MS;
+          onEventRef.current(event);
+        }, controller.signal);
+        if (isReconnect) onReconnectRef.current?.();
+        await stream;
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        logger.warn('📡 [Stream] Claim event stream dropped', err);
+        retryMs = Math.min(retryMs * 2, MAX_RETRY_MS);
+      }
+      if (!controller.signal.aborted) {
+        timer = setTimeout(() => connect(true), retryMs);
+      }
+    };
+
+    connect(false);
+    return () => {
+      controller.abort();
+      clearTimeout(timer);
+    };
+  }, []);
+};
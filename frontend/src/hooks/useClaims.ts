@@ -1,7 +1,8 @@
 import { useState, useEffect, useCallback } from 'react';
 import { claimService } from '../services/claimService';
-import { type ClaimResponse } from '../types/claim';
+import { type ClaimEvent, type ClaimResponse } from '../types/claim';
 import { logger } from '../lib/utils';
+import { useClaimEvents } from './useClaimEvents';
 
 export const useClaims = () => {
   const [claims, setClaims] = useState<ClaimResponse[]>([]);
@@ -49,5 +50,17 @@ export const useClaims = () => {
     loadClaims();
   }, [loadClaims]);
 
+  // Pushed updates replace polling: patch status changes, reload for new claims
+  const applyEvent = useCallback((event: ClaimEvent) => {
+    if (event.type === 'CLAIM_STATUS_CHANGED') {
+      setClaims((current) => current.map((claim) =>
+        claim.id === event.claimId ? { ...claim, status: event.status } : claim));
+    } else {
+      loadClaims();
+    }
+  }, [loadClaims]);
+
+  useClaimEvents(applyEvent, loadClaims);
+
   return { claims, isLoading, error, refresh: loadClaims };
 };
\ No newline at end of file
@@ -2,12 +2,13 @@ import { useEffect, useState, useCallback } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuthStore } from '../store/authStore';
 import { claimService } from '../services/claimService';
-import { type ClaimResponse } from '../types/claim';
+import { type ClaimEvent, type ClaimResponse, type ClaimStats } from '../types/claim';
 import { Button } from '../components/ui/Button';
 import { Skeleton } from '../components/ui/Skeleton'; 
 import { FileText, Clock, Plus, TrendingUp, RefreshCw } from 'lucide-react'; 
 import { formatCurrency, logger, cn } from '../lib/utils';
 import { useTitle } from '../hooks/useTitle';
+import { useClaimEvents } from '../hooks/useClaimEvents';
 import { StatCard } from '../components/dashboard/StatCard';
 import { ClaimsTable } from '../components/dashboard/ClaimsTable'; // ✅ Import Table
 
@@ -19,6 +20,7 @@ const DashboardPage = () => {
     : (user?.sub || user?.email || 'User');
 
   const [claims, setClaims] = useState<ClaimResponse[]>([]);
+  const [stats, setStats] = useState<ClaimStats | null>(null);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState('');
 
@@ -33,9 +35,15 @@ const DashboardPage = () => {
       // 🚀 PERFORMANCE FIX: Removed artificial setTimeout
       // The app will now feel instant on fast networks.
       
-      const data = await claimService.getMyClaims();
+      // Stats come pre-aggregated from the server instead of being summed here
+      const [data, statsData] = await Promise.all([
+        claimService.getMyClaims(),
+        claimService.getStats()
+      ]);
       
       if (!controller.signal.aborted) {
+          setStats(statsData);
+
           // Sort Newest First
           const sortedData = data.sort((a, b) => {
               const dateA = new Date(a.createdDate || a.createdAt || 0).getTime();
@@ -65,7 +73,22 @@ const DashboardPage = () => {
     loadData();
   }, [loadData]);
 
-  const totalAmount = claims.reduce((sum, claim) => sum + claim.amount, 0);
+  // Live updates: status changes are patched in place, new claims reload the list.
+  // Stats are re-read either way (one pre-aggregated row per user).
+  const applyEvent = useCallback((event: ClaimEvent) => {
+    if (event.type === 'CLAIM_STATUS_CHANGED') {
+      setClaims((current) => current.map((claim) =>
+        claim.id === event.claimId ? { ...claim, status: event.status } : claim));
+      claimService.getStats().then(setStats).catch((err) => logger.error("Failed to refresh stats", err));
+    } else {
+      loadData();
+    }
+  }, [loadData]);
+
+  useClaimEvents(applyEvent, loadData);
+
+  const totalCount = stats?.totalCount ?? 0;
+  const totalAmount = stats?.totalAmount ?? 0;
   
   return (
     <div className="w-full max-w-[1600px] mx-auto px-4 sm:px-6 lg:px-8 py-6 space-y-8">
@@ -111,7 +134,7 @@ const DashboardPage = () => {
            <>
             <StatCard 
                 title="Total Claims" 
-                value={claims.length.toString()} 
+                value={totalCount.toString()} 
                 icon={<FileText size={24} />} 
                 variant="brand" 
             />
@@ -123,7 +146,7 @@ const DashboardPage = () => {
             />
             <StatCard 
                 title="Avg. Value" 
-                value={claims.length > 0 ? formatCurrency(totalAmount / claims.length) : '$0.00'} 
+                value={totalCount > 0 ? formatCurrency(totalAmount / totalCount) : '$0.00'} 
                 icon={<TrendingUp size={24} />} 
                 variant="emerald" 
             />
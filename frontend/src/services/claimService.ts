@@ -1,5 +1,6 @@
 import apiClient from './apiClient';
-import type { CreateClaimRequest, ClaimResponse } from '../types/claim';
+import type { CreateClaimRequest, ClaimResponse, ClaimPage, ClaimStats, ClaimEvent } from '../types/claim';
+import { API_BASE_URL, TOKEN_KEY } from '../utils/constants';
 import { logger } from '../lib/utils'; // ✅ Import Logger
 
 export const claimService = {
@@ -17,8 +18,55 @@ export const claimService = {
     }
   },
 
+  // The list endpoint is keyset-paginated; the dashboard only needs the newest page
   getMyClaims: async (): Promise<ClaimResponse[]> => {
-    const response = await apiClient.get<ClaimResponse[]>('/claims');
+    const page = await claimService.getClaimPage();
+    return page.content;
+  },
+
+  getClaimPage: async (cursor?: string, size?: number): Promise<ClaimPage> => {
+    const response = await apiClient.get<ClaimPage>('/claims', { params: { cursor, size } });
+    return response.data;
+  },
+
+  getStats: async (): Promise<ClaimStats> => {
+    const response = await apiClient.get<ClaimStats>('/claims/stats');
     return response.data;
+  },
+
+  // Server-Sent Events. EventSource cannot send the Authorization header, so the
+  // stream is read with fetch. Resolves when the server closes the stream and
+  // rejects on network errors or when the signal aborts.
+  streamEvents: async (onEvent: (event: ClaimEvent) => void, signal: AbortSignal): Promise<void> => {
+    const token = localStorage.getItem(TOKEN_KEY);
+    const response = await fetch(`${API_BASE_URL}/claims/events`, {
+      headers: {
+        Accept: 'text/event-stream',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Claim event stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+
+      // Events are separated by a blank line; comment lines (":") are heartbeats
+      let end;
+      while ((end = buffer.indexOf('\n\n')) >= 0) {
+        const data = buffer.slice(0, end).split('\n')
+          .filter((line) => line.startsWith('data:'))
+          .map((line) => line.slice(5).trimStart())
+          .join('\n');
+        buffer = buffer.slice(end + 2);
+        if (data) onEvent(JSON.parse(data) as ClaimEvent);
+      }
+    }
   }
-};
\ No newline at end of file
+};
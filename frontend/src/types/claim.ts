@@ -38,4 +38,40 @@ export interface ClaimResponse {
   createdDate?: string;
   createdAt?: string; 
   metadata?: TravelMetadata | MedicalMetadata | EntertainmentMetadata; 
-}
\ No newline at end of file
+}
+
+// 5. One keyset page of claims (newest first)
+export interface ClaimPage {
+  content: ClaimResponse[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+// 6. Pre-aggregated dashboard statistics (GET /claims/stats)
+export interface ClaimStatsBucket {
+  count: number;
+  amount: number;
+}
+
+export interface ClaimStats {
+  totalCount: number;
+  totalAmount: number;
+  byStatus: Record<string, ClaimStatsBucket>;
+  byType: Record<string, ClaimStatsBucket>;
+}
+
+// 7. Pushed over the claim event stream (GET /claims/events)
+export type ClaimEventType = 'CLAIM_CREATED' | 'CLAIM_STATUS_CHANGED';
+
+export interface ClaimEvent {
+  sequence: number;
+  eventId: string;
+  type: ClaimEventType;
+  claimId: string;
+  userId: string;
+  claimType: ClaimType;
+  amount: number;
+  status: ClaimResponse['status'];
+  previousStatus: ClaimResponse['status'] | null;
+  occurredAt: string;
+}